@@ -1,18 +1,34 @@
 package manyWorker;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import manyWorker.service.CategoriaService;
+import manyWorker.service.TareaService;
 
 @SpringBootApplication
+@EnableScheduling
 public class ManyWorkerApplication implements CommandLineRunner {
 
 	@Autowired
 	private CategoriaService categoriaService;
 
+	@Autowired
+	private TareaService tareaService;
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private TaskExecutor taskExecutor;
+
+	@Value("${manyworker.geo.completar-al-arrancar:true}")
+	private boolean completarCoordenadas;
+
 	public static void main(String[] args) {
 		SpringApplication.run(ManyWorkerApplication.class, args);
 	}
@@ -21,5 +37,9 @@ public class ManyWorkerApplication implements CommandLineRunner {
 	public void run(String... args) throws Exception {
 		// Inicializar categorías por defecto al arrancar la aplicación
 		categoriaService.inicializarCategorias();
+		// Geocodificar en segundo plano las tareas que aún no tienen coordenadas
+		if (completarCoordenadas) {
+			taskExecutor.execute(tareaService::completarCoordenadas);
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package manyWorker.config;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+
+import jakarta.servlet.DispatcherType;
+
+// Un EntityManager por petición abierto en un filtro anterior a Spring Security, en lugar del interceptor de
+// spring.jpa.open-in-view (que solo se abre al llegar al controlador). Así el Actor que carga
+// JWTAuthenticationFilter queda en el mismo contexto de persistencia que el resto de la petición y
+// ActorActual lo obtiene de él sin otra consulta.
+@Configuration
+public class EntityManagerPorPeticionConfig {
+
+	@Bean
+	public FilterRegistrationBean<OpenEntityManagerInViewFilter> entityManagerPorPeticion() {
+		FilterRegistrationBean<OpenEntityManagerInViewFilter> registro = new FilterRegistrationBean<>(
+				new OpenEntityManagerInViewFilter());
+		registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+		registro.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+		return registro;
+	}
+}
@@ -0,0 +1,94 @@
+package manyWorker.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+// Aplica db/esquema-adicional.sql en cada arranque, después de que Hibernate actualice las tablas:
+// índices parciales, funciones, triggers... lo que ddl-auto no sabe generar.
+// Las sentencias deben ser idempotentes. Si alguna falla se avisa y se sigue arrancando, salvo las marcadas con
+// un comentario "-- OBLIGATORIA" justo encima: de ellas depende la integridad de los datos y sin ellas no se arranca.
+@Component
+public class EsquemaAdicional {
+
+	private static final Logger log = LoggerFactory.getLogger(EsquemaAdicional.class);
+
+	private static final String SCRIPT = "db/esquema-adicional.sql";
+
+	private static final String OBLIGATORIA = "-- OBLIGATORIA";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// Solo para garantizar que el esquema de Hibernate ya existe
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PostConstruct
+	public void aplicar() throws IOException {
+		String script = StreamUtils.copyToString(new ClassPathResource(SCRIPT).getInputStream(), StandardCharsets.UTF_8);
+		for (Sentencia sentencia : sentencias(script)) {
+			try {
+				jdbcTemplate.execute(sentencia.sql());
+			} catch (DataAccessException e) {
+				if (sentencia.obligatoria()) {
+					throw new IllegalStateException("No se pudo aplicar una sentencia obligatoria de " + SCRIPT + ": "
+							+ e.getMostSpecificCause().getMessage(), e);
+				}
+				log.warn("No se pudo aplicar una sentencia de {}: {}", SCRIPT, e.getMostSpecificCause().getMessage());
+			}
+		}
+	}
+
+	// Una sentencia termina en ';' a final de línea, salvo dentro de un bloque $$ ... $$
+	static List<Sentencia> sentencias(String script) {
+		List<Sentencia> sentencias = new ArrayList<>();
+		StringBuilder actual = new StringBuilder();
+		boolean enBloque = false;
+		boolean obligatoria = false;
+		for (String linea : script.split("\r?\n")) {
+			String recortada = linea.trim();
+			if (!enBloque && (recortada.isEmpty() || recortada.startsWith("--"))) {
+				if (actual.isEmpty()) {
+					// Solo cuenta la marca del último comentario antes de la sentencia
+					obligatoria = recortada.startsWith(OBLIGATORIA);
+				}
+				continue;
+			}
+			actual.append(linea).append('\n');
+			int marcas = 0;
+			for (int i = linea.indexOf("$$"); i >= 0; i = linea.indexOf("$$", i + 2)) {
+				marcas++;
+			}
+			if (marcas % 2 == 1) {
+				enBloque = !enBloque;
+			}
+			if (!enBloque && recortada.endsWith(";")) {
+				String sentencia = actual.toString().trim();
+				sentencias.add(new Sentencia(sentencia.substring(0, sentencia.length() - 1), obligatoria));
+				actual.setLength(0);
+				obligatoria = false;
+			}
+		}
+		if (!actual.toString().isBlank()) {
+			sentencias.add(new Sentencia(actual.toString().trim(), obligatoria));
+		}
+		return sentencias;
+	}
+
+	record Sentencia(String sql, boolean obligatoria) {
+	}
+}
@@ -0,0 +1,27 @@
+package manyWorker.config;
+
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import manyWorker.identificador.GeneradorIds;
+import manyWorker.identificador.GeneradorIdsAleatorio;
+import manyWorker.identificador.GeneradorIdsTemporal;
+import manyWorker.identificador.Identificadores;
+
+// Elige el generador de ids de Tarea y Categoria (manyworker.ids.generador) y lo deja en Identificadores
+@Configuration
+public class GeneradorIdsConfig {
+
+	@Bean
+	public GeneradorIds generadorIds(@Value("${manyworker.ids.generador:temporal}") String tipo,
+			@Value("${manyworker.ids.nodo:0}") int nodo) {
+		GeneradorIds generador = "aleatorio".equalsIgnoreCase(tipo)
+				? new GeneradorIdsAleatorio()
+				: new GeneradorIdsTemporal(nodo, ZoneId.systemDefault());
+		Identificadores.usar(generador);
+		return generador;
+	}
+}
@@ -0,0 +1,64 @@
+package manyWorker.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import manyWorker.monitorizacion.InterceptorSql;
+import manyWorker.monitorizacion.ListenerSql;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+// Instrumentación SQL por petición (manyworker.sql.*): envuelve el DataSource con datasource-proxy para
+// contar sentencias, filas y tiempo, y registra el interceptor que lo publica como métricas por controlador
+@Configuration
+@ConditionalOnProperty(name = "manyworker.sql.instrumentacion", havingValue = "true", matchIfMissing = true)
+public class InstrumentacionSqlConfig implements WebMvcConfigurer {
+
+	@Value("${manyworker.sql.presupuesto:0}")
+	private int presupuesto;
+
+	@Value("${manyworker.sql.presupuesto-estricto:false}")
+	private boolean estricto;
+
+	@Value("${manyworker.sql.umbral-repeticiones:5}")
+	private int umbralRepeticiones;
+
+	private final ObjectProvider<MeterRegistry> registry;
+
+	public InstrumentacionSqlConfig(ObjectProvider<MeterRegistry> registry) {
+		this.registry = registry;
+	}
+
+	// Estático para que el post-procesador exista antes que el DataSource
+	@Bean
+	public static BeanPostProcessor proxySql(@Value("${manyworker.sql.contar-filas:true}") boolean contarFilas) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String nombre) {
+				if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+					return bean;
+				}
+				ListenerSql listener = new ListenerSql();
+				ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(nombre, dataSource).listener(listener);
+				if (contarFilas) {
+					builder.methodListener(listener).proxyResultSet();
+				}
+				return builder.build();
+			}
+		};
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry interceptores) {
+		interceptores.addInterceptor(new InterceptorSql(registry.getObject(), presupuesto, estricto, umbralRepeticiones));
+	}
+}
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -23,6 +24,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import manyWorker.entity.Actor;
 import manyWorker.entity.ActorLogin;
 import manyWorker.security.JWTUtils;
+import manyWorker.security.TokenVerificado;
 
 @RestController
 @RequestMapping("/actor")
@@ -43,6 +45,7 @@ public class ActorController {
         @ApiResponse(responseCode = "400", description = "Datos de login inválidos"),
         @ApiResponse(responseCode = "403", description = "Usuario baneado"),
     })
+    @Timed("manyworker.login")
     public ResponseEntity<?> login(@RequestBody ActorLogin actorLogin) {
         try {
             if (actorLogin.getUsername() == null || actorLogin.getUsername().trim().isEmpty()) {
@@ -77,6 +80,9 @@ public class ActorController {
         } catch (org.springframework.security.authentication.BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciales inválidas");
             
+        } catch (org.springframework.security.authentication.DisabledException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Usuario baneado");
+            
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error interno del servidor: " + e.getMessage());
@@ -144,6 +150,11 @@ public class ActorController {
             Map<String, Object> response = new HashMap<>();
             response.put("valid", true);
             response.put("username", authentication.getName());
+            // Claims ya verificados por el filtro, sin volver a parsear el token
+            TokenVerificado tokenVerificado = jwtUtils.getTokenVerificado();
+            if (tokenVerificado != null) {
+                response.put("expiracion", tokenVerificado.getExpiracion());
+            }
             response.put("message", "Token válido");
 
             return ResponseEntity.ok(response);
@@ -1,9 +1,13 @@
 package manyWorker.controller;
 
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,8 +16,19 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.ActorDetalle;
+import manyWorker.dto.ActorResumen;
+import manyWorker.dto.ResultadoImportacion;
 import manyWorker.entity.Admin;
+import manyWorker.entity.Contador.TipoContador;
+import manyWorker.notificacion.RegistroPlantillas;
+import manyWorker.service.ActorService;
+import manyWorker.service.AnonimizacionService;
 import manyWorker.service.AdminService;
+import manyWorker.service.ContadorService;
+import manyWorker.service.ImportacionService;
+import manyWorker.service.ImportacionService.Formato;
+import manyWorker.service.NotificacionService;
 
 @RestController
 @RequestMapping("/admin")
@@ -23,6 +38,24 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private ActorService actorService;
+
+    @Autowired
+    private RegistroPlantillas registroPlantillas;
+
+    @Autowired
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private ContadorService contadorService;
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private AnonimizacionService anonimizacionService;
+
     @GetMapping
     @Operation(summary = "Obtener todos los administradores", description = "Devuelve una lista de todos los administradores del sistema")
     @ApiResponses(value = {
@@ -32,7 +65,7 @@ public class AdminController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Admin> admins = adminService.findAll();
+        List<ActorResumen> admins = adminService.findAll();
         if (admins.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay administradores registrados en el sistema");
         }
@@ -56,7 +89,7 @@ public class AdminController {
         Optional<Admin> oAdmin = adminService.findById(id);
         
         if (oAdmin.isPresent()) {
-            return ResponseEntity.ok(oAdmin.get());
+            return ResponseEntity.ok(ActorDetalle.de(oAdmin.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Administrador con ID " + id + " no encontrado");
         }
@@ -150,4 +183,154 @@ public class AdminController {
                     .body("Error al eliminar el administrador: " + e.getMessage());
         }
     }
+
+    @PutMapping("/banear/{id}")
+    @Operation(summary = "Banear un actor", description = "Banea a un actor del sistema e invalida su sesión cacheada")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Actor baneado correctamente"),
+        @ApiResponse(responseCode = "404", description = "Actor no encontrado"),
+        @ApiResponse(responseCode = "400", description = "ID inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> banear(@PathVariable int id) {
+        return cambiarBaneo(id, true);
+    }
+
+    @PutMapping("/desbanear/{id}")
+    @Operation(summary = "Desbanear un actor", description = "Levanta el baneo de un actor e invalida su sesión cacheada")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Actor desbaneado correctamente"),
+        @ApiResponse(responseCode = "404", description = "Actor no encontrado"),
+        @ApiResponse(responseCode = "400", description = "ID inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> desbanear(@PathVariable int id) {
+        return cambiarBaneo(id, false);
+    }
+
+    @GetMapping("/notificaciones/estadisticas")
+    @Operation(summary = "Estadísticas de notificaciones", description = "Renderizados y tiempo medio por tipo de evento, junto con el estado del outbox")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> estadisticasNotificaciones() {
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("plantillas", registroPlantillas.estadisticas());
+        respuesta.put("pendientes", notificacionService.pendientes());
+        respuesta.put("fallidas", notificacionService.fallidas());
+        return ResponseEntity.ok(respuesta);
+    }
+
+    @GetMapping("/contadores/{tipo}")
+    @Operation(summary = "Contadores de un tipo", description = "Valores distintos de cero de un contador agregado (tareas sin adjudicar por categoría o cliente, solicitudes pendientes por trabajador o cliente, mensajes no leídos por actor), de mayor a menor")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Contadores obtenidos correctamente"),
+        @ApiResponse(responseCode = "400", description = "Tipo de contador desconocido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> contadores(@PathVariable String tipo) {
+        TipoContador tipoContador = tipoContador(tipo);
+        if (tipoContador == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Tipo de contador desconocido: " + tipo);
+        }
+        return ResponseEntity.ok(contadorService.listar(tipoContador));
+    }
+
+    @GetMapping("/contadores/{tipo}/{clave}")
+    @Operation(summary = "Valor de un contador", description = "Valor de un contador agregado para una categoría, cliente, trabajador o actor concreto")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Valor obtenido correctamente"),
+        @ApiResponse(responseCode = "400", description = "Tipo de contador desconocido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> contador(@PathVariable String tipo, @PathVariable String clave) {
+        TipoContador tipoContador = tipoContador(tipo);
+        if (tipoContador == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Tipo de contador desconocido: " + tipo);
+        }
+        return ResponseEntity.ok(contadorService.get(tipoContador, clave));
+    }
+
+    @PostMapping("/contadores/recalcular")
+    @Operation(summary = "Recalcular los contadores", description = "Rehace todos los contadores agregados desde las tablas de tareas, solicitudes y mensajes")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Contadores recalculados correctamente"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> recalcularContadores() {
+        int filas = contadorService.recalcular();
+        return ResponseEntity.ok("Contadores recalculados: " + filas);
+    }
+
+    @PostMapping(value = "/importar/{tipo}", consumes = { "text/csv", "application/x-ndjson", "application/jsonl" })
+    @Operation(summary = "Importación masiva", description = "Importa clientes, trabajadores o tareas desde CSV con cabecera o NDJSON (un objeto por línea) "
+    		+ "sin cargar el fichero en memoria. Los campos son los del registro normal; las tareas llevan categoriaId y clienteId. "
+    		+ "Devuelve las filas importadas y rechazadas y el rendimiento de cada etapa")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Importación terminada; las filas inválidas aparecen como rechazadas"),
+        @ApiResponse(responseCode = "400", description = "Entrada mal formada; se conserva lo importado hasta ese punto"),
+        @ApiResponse(responseCode = "404", description = "Tipo de importación desconocido"),
+        @ApiResponse(responseCode = "415", description = "Formato no soportado"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> importar(@PathVariable String tipo,
+    		@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream cuerpo) {
+        Formato formato;
+        try {
+            formato = Formato.de(contentType);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(e.getMessage());
+        }
+        ResultadoImportacion resultado;
+        switch (tipo) {
+            case "clientes" -> resultado = importacionService.importarClientes(formato, cuerpo);
+            case "trabajadores" -> resultado = importacionService.importarTrabajadores(formato, cuerpo);
+            case "tareas" -> resultado = importacionService.importarTareas(formato, cuerpo);
+            default -> {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tipo de importación desconocido: " + tipo);
+            }
+        }
+        return ResponseEntity.status(resultado.error() == null ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(resultado);
+    }
+
+    @GetMapping("/anonimizaciones/{actorId}")
+    @Operation(summary = "Estado de una anonimización", description = "Fase, filas anonimizadas y último error del trabajo de anonimización de un actor dado de baja")
+    @ApiResponses(value = { 
+        @ApiResponse(responseCode = "200", description = "Estado obtenido correctamente"),
+        @ApiResponse(responseCode = "404", description = "El actor no tiene ninguna anonimización"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> anonimizacion(@PathVariable int actorId) {
+        return anonimizacionService.findByActorId(actorId).<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("No hay ninguna anonimización del actor " + actorId));
+    }
+
+    private TipoContador tipoContador(String tipo) {
+        try {
+            return TipoContador.valueOf(tipo.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ResponseEntity<?> cambiarBaneo(int id, boolean baneado) {
+        if (id <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de actor inválido");
+        }
+        try {
+            actorService.cambiarBaneo(id, baneado);
+            return ResponseEntity.ok(baneado ? "Actor baneado correctamente" : "Actor desbaneado correctamente");
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Actor con ID " + id + " no encontrado");
+        }
+    }
 }
\ No newline at end of file
@@ -4,15 +4,20 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.CategoriaDatos;
+import manyWorker.dto.RecuentoCategoria;
 import manyWorker.entity.Categoria;
+import manyWorker.service.CatalogoCategorias;
 import manyWorker.service.CategoriaService;
 
 @RestController
@@ -28,35 +33,67 @@ public class CategoriaController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de categorías obtenida correctamente"),
         @ApiResponse(responseCode = "204", description = "No hay categorías registradas"),
+        @ApiResponse(responseCode = "304", description = "El catálogo no ha cambiado desde el ETag enviado en If-None-Match"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> findAll() {
-        List<Categoria> categorias = categoriaService.findAll();
+    public ResponseEntity<?> findAll(WebRequest request) {
+        CatalogoCategorias catalogo = categoriaService.catalogo();
+        if (request.checkNotModified(catalogo.getEtag())) {
+            return noModificado(catalogo);
+        }
+        List<CategoriaDatos> categorias = catalogo.getCategorias();
         if (categorias.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay categorías registradas en el sistema");
         }
-        return ResponseEntity.ok(categorias);
+        return ResponseEntity.ok().eTag(catalogo.getEtag()).cacheControl(CacheControl.noCache()).body(categorias);
+    }
+
+    @GetMapping("/recuentos")
+    @Operation(summary = "Número de tareas por categoría", description = "Devuelve cuántas tareas tiene cada categoría, sin recorrer las tareas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recuentos obtenidos correctamente"),
+    })
+    public ResponseEntity<?> recuentos() {
+        return ResponseEntity.ok(categoriaService.recuentos());
+    }
+
+    @PostMapping("/recuentos/recalcular")
+    @Operation(summary = "Recalcular el número de tareas por categoría", description = "Vuelve a contar las tareas de cada categoría desde cero")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recuentos recalculados correctamente"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> recalcularRecuentos() {
+        List<RecuentoCategoria> recuentos = categoriaService.recalcularRecuentos();
+        return ResponseEntity.ok(recuentos);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Buscar categoría por ID", description = "Busca una categoría específica utilizando su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Categoría encontrada"),
+        @ApiResponse(responseCode = "304", description = "El catálogo no ha cambiado desde el ETag enviado en If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Categoría no encontrada"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> findById(@PathVariable String id) {
+    public ResponseEntity<?> findById(@PathVariable String id, WebRequest request) {
         if (id == null || id.trim().isEmpty()) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de categoría no puede estar vacío");
         }
         
-        Optional<Categoria> oCategoria = categoriaService.findById(id);
+        CatalogoCategorias catalogo = categoriaService.catalogo();
+        Optional<CategoriaDatos> oCategoria = catalogo.get(id);
         
         if (oCategoria.isPresent()) {
-            return ResponseEntity.ok(oCategoria.get());
+            // El ETag es el del catálogo completo: cambia con cualquier categoría, nunca se queda atrás
+            if (request.checkNotModified(catalogo.getEtag())) {
+                return noModificado(catalogo);
+            }
+            return ResponseEntity.ok().eTag(catalogo.getEtag()).cacheControl(CacheControl.noCache()).body(oCategoria.get());
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Categoría con ID '" + id + "' no encontrada");
         }
@@ -153,4 +190,8 @@ public class CategoriaController {
                     .body("Error interno al eliminar la categoría: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> noModificado(CatalogoCategorias catalogo) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(catalogo.getEtag()).cacheControl(CacheControl.noCache()).build();
+    }
+}
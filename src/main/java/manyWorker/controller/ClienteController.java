@@ -1,18 +1,26 @@
 package manyWorker.controller;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.ActorDetalle;
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Cliente;
 import manyWorker.security.JWTUtils;
 import manyWorker.service.ClienteService;
@@ -37,7 +45,7 @@ public class ClienteController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Cliente> clientes = clienteService.findAll();
+        List<ActorResumen> clientes = clienteService.findAll();
         if (clientes.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay clientes registrados en el sistema");
         }
@@ -67,7 +75,7 @@ public class ClienteController {
         Optional<Cliente> oCliente = clienteService.findById(id);
         
         if (oCliente.isPresent()) {
-            return ResponseEntity.ok(oCliente.get());
+            return ResponseEntity.ok(ActorDetalle.de(oCliente.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Cliente con ID " + id + " no encontrado");
         }
@@ -140,9 +148,10 @@ public class ClienteController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Eliminar un cliente", description = "Elimina un cliente existente del sistema")
+    @Operation(summary = "Eliminar un cliente", description = "Da de baja al cliente: la cuenta queda bloqueada al momento "
+    		+ "y sus datos personales se anonimizan en segundo plano")
     @ApiResponses(value = { 
-        @ApiResponse(responseCode = "200", description = "Cliente eliminado correctamente"),
+        @ApiResponse(responseCode = "202", description = "Baja aceptada, anonimización en curso"),
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
@@ -166,7 +175,7 @@ public class ClienteController {
             }
             
             clienteService.delete(id);
-            return ResponseEntity.ok("Cliente eliminado correctamente");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Cliente dado de baja; sus datos se anonimizarán en segundo plano");
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -175,29 +184,54 @@ public class ClienteController {
     }
     
     @GetMapping("/exportar/{id}")
-    @Operation(summary = "Exportar datos del cliente", description = "Exporta todos los datos de un cliente en formato estructurado")
+    @Operation(summary = "Exportar datos del cliente", description = "Exporta todos los datos del cliente (perfil, perfiles sociales, tareas, "
+    		+ "solicitudes recibidas y mensajes) en NDJSON, una línea por registro y una línea final \"resumen\" con los totales. "
+    		+ "Con comprimido=true se descarga el mismo NDJSON dentro de un ZIP")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Datos del cliente exportados correctamente"),
         @ApiResponse(responseCode = "404", description = "Cliente no encontrado"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
-        @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> exportarDatos(@PathVariable int id) {
-        try {
-            if (id <= 0) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de cliente inválido");
-            }
-            
-            Map<String, Object> datos = clienteService.exportarDatos(id);
-            return ResponseEntity.ok(datos);
-            
-        } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error al exportar datos del cliente: " + e.getMessage());
+    public ResponseEntity<StreamingResponseBody> exportarDatos(@PathVariable int id, @RequestParam(defaultValue = "false") boolean comprimido) {
+    	Cliente clienteLogueado = jwtUtils.userLogin();
+
+        if (clienteLogueado == null || clienteLogueado.getId() != id) {
+            return texto(HttpStatus.FORBIDDEN, "No tienes permiso para exportar estos datos");
+        }
+        if (id <= 0) {
+            return texto(HttpStatus.BAD_REQUEST, "ID de cliente inválido");
+        }
+        if (!clienteService.existsById(id)) {
+            return texto(HttpStatus.NOT_FOUND, "Cliente con ID " + id + " no encontrado");
         }
+
+        // Una vez empezada la respuesta ya no se puede cambiar el código de estado: si la exportación falla
+        // a mitad, el fichero queda sin la línea "resumen"
+        String nombre = "cliente-" + id + ".ndjson";
+        StreamingResponseBody cuerpo = salida -> {
+            if (comprimido) {
+                ZipOutputStream zip = new ZipOutputStream(salida);
+                zip.putNextEntry(new ZipEntry(nombre));
+                clienteService.exportarDatos(id, zip);
+                zip.closeEntry();
+                zip.finish();
+            } else {
+                clienteService.exportarDatos(id, salida);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(comprimido ? MediaType.parseMediaType("application/zip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(comprimido ? nombre + ".zip" : nombre).build().toString())
+                .body(cuerpo);
+    }
+
+    // StreamingResponseBody solo se reconoce con el tipo declarado en el ResponseEntity, así que los errores
+    // de la exportación también se escriben como cuerpo en streaming
+    private static ResponseEntity<StreamingResponseBody> texto(HttpStatus estado, String mensaje) {
+        return ResponseEntity.status(estado).contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(salida -> salida.write(mensaje.getBytes(StandardCharsets.UTF_8)));
     }
 }
\ No newline at end of file
@@ -6,17 +6,24 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.MensajeDetalle;
+import manyWorker.dto.MensajeResumen;
+import manyWorker.dto.PaginaCursor;
+import manyWorker.dto.ProgresoBroadcast;
 import manyWorker.entity.Actor;
+import manyWorker.entity.Broadcast;
+import manyWorker.entity.Contador.TipoContador;
 import manyWorker.entity.Mensaje;
 import manyWorker.repository.ActorRepository;
-import manyWorker.repository.MensajeRepository;
+import manyWorker.security.ActorActual;
+import manyWorker.service.BroadcastService;
+import manyWorker.service.ContadorService;
 import manyWorker.service.MensajeService;
 
 //DTO para enviar mensajes usando username
@@ -40,12 +47,18 @@ public class MensajeController {
     @Autowired
     private MensajeService mensajeService;
 
-    @Autowired
-    private MensajeRepository mensajeRepository;
-    
     @Autowired
     private ActorRepository actorRepository;
 
+    @Autowired
+    private ActorActual actorActual;
+
+    @Autowired
+    private BroadcastService broadcastService;
+
+    @Autowired
+    private ContadorService contadorService;
+
     @GetMapping
     @Operation(summary = "Obtener todos los mensajes", description = "Devuelve una lista de todos los mensajes del sistema")
     @ApiResponses(value = {
@@ -55,13 +68,24 @@ public class MensajeController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Mensaje> mensajes = mensajeService.findAll();
+        List<MensajeResumen> mensajes = mensajeService.findAll();
         if (mensajes.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay mensajes registrados en el sistema");
         }
         return ResponseEntity.ok(mensajes);
     }
 
+    @GetMapping("/no-leidos")
+    @Operation(summary = "Número de mensajes no leídos", description = "Devuelve cuántos mensajes personales tiene sin leer el usuario logueado (no incluye los broadcasts compartidos)")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Recuento obtenido correctamente"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+    })
+    public ResponseEntity<?> noLeidos() {
+        Actor actor = actorActual.get();
+        return ResponseEntity.ok(contadorService.get(TipoContador.MENSAJES_NO_LEIDOS_ACTOR, String.valueOf(actor.getId())));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar mensaje por ID", description = "Busca un mensaje específico utilizando su ID")
     @ApiResponses(value = {
@@ -79,7 +103,14 @@ public class MensajeController {
         Optional<Mensaje> mensaje = mensajeService.findById(id);
         
         if (mensaje.isPresent()) {
-            return ResponseEntity.ok(mensaje.get());
+            return ResponseEntity.ok(MensajeDetalle.de(mensaje.get()));
+        }
+        
+        // Los broadcasts compartidos comparten espacio de ids con los mensajes; abrirlo lo marca como leído
+        Optional<Broadcast> broadcast = broadcastService.findCompartido(id);
+        if (broadcast.isPresent()) {
+            broadcastService.marcarLeido(broadcast.get(), actorActual.get());
+            return ResponseEntity.ok(MensajeDetalle.de(broadcast.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Mensaje con ID " + id + " no encontrado");
         }
@@ -97,7 +128,7 @@ public class MensajeController {
     })
     public ResponseEntity<?> enviarMensaje(@RequestBody EnviarMensajeRequest request) {
     	try {
-            Actor remitente = (Actor) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Actor remitente = actorActual.get();
             
             if (remitente == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuario no autenticado");
@@ -119,7 +150,7 @@ public class MensajeController {
             }
             
             Mensaje nuevo = mensajeService.enviarMensaje(remitente.getId(), destinatario.getId(), request.asunto, request.cuerpo);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevo);
+            return ResponseEntity.status(HttpStatus.CREATED).body(MensajeDetalle.de(nuevo));
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -128,9 +159,9 @@ public class MensajeController {
     }
 
     @PostMapping("/broadcast")
-    @Operation(summary = "Enviar mensaje broadcast", description = "Envía un mensaje a todos los usuarios del sistema (excepto al remitente)")
+    @Operation(summary = "Enviar mensaje broadcast", description = "Lanza en segundo plano el envío de un mensaje a todos los usuarios del sistema (excepto al remitente) y devuelve el identificador del trabajo")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "201", description = "Mensajes broadcast enviados correctamente"),
+        @ApiResponse(responseCode = "202", description = "Broadcast aceptado, se está enviando en segundo plano"),
         @ApiResponse(responseCode = "400", description = "Datos del mensaje inválidos"),
         @ApiResponse(responseCode = "403", description = "No autorizado para enviar broadcast"),
         @ApiResponse(responseCode = "404", description = "Remitente no encontrado"),
@@ -140,7 +171,7 @@ public class MensajeController {
     })
     public ResponseEntity<?> enviarBroadcast(@RequestBody BroadcastRequest request) {
     	try {
-            Actor remitente = (Actor) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+            Actor remitente = actorActual.get();
             
             if (remitente == null || !"ADMINISTRADOR".equals(remitente.getRol().name())) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Solo administradores pueden enviar broadcast");
@@ -153,8 +184,8 @@ public class MensajeController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("El cuerpo del mensaje es obligatorio");
             }
             
-            List<Mensaje> enviados = mensajeService.enviarBroadcast(remitente.getId(), request.asunto, request.cuerpo);
-            return ResponseEntity.status(HttpStatus.CREATED).body(enviados);
+            ProgresoBroadcast progreso = broadcastService.iniciar(remitente.getId(), request.asunto, request.cuerpo);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(progreso);
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -162,6 +193,23 @@ public class MensajeController {
         }
     }
 
+    @GetMapping("/broadcast/{jobId}")
+    @Operation(summary = "Consultar progreso de un broadcast", description = "Devuelve el estado y el número de mensajes enviados de un broadcast en segundo plano")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Progreso del broadcast obtenido correctamente"),
+        @ApiResponse(responseCode = "404", description = "Broadcast no encontrado"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> progresoBroadcast(@PathVariable String jobId) {
+        Optional<ProgresoBroadcast> progreso = broadcastService.progreso(jobId);
+        if (progreso.isPresent()) {
+            return ResponseEntity.ok(progreso.get());
+        } else {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Broadcast '" + jobId + "' no encontrado");
+        }
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Eliminar un mensaje", description = "Elimina un mensaje existente del sistema")
     @ApiResponses(value = {
@@ -179,6 +227,12 @@ public class MensajeController {
             }
             
             if (!mensajeService.existsById(id)) {
+                // Un broadcast compartido solo se elimina de la bandeja de quien lo borra
+                Optional<Broadcast> broadcast = broadcastService.findCompartido(id);
+                if (broadcast.isPresent()) {
+                    broadcastService.ocultar(broadcast.get(), actorActual.get());
+                    return ResponseEntity.ok("Mensaje eliminado correctamente");
+                }
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Mensaje con ID " + id + " no encontrado");
             }
             
@@ -192,44 +246,56 @@ public class MensajeController {
     }
 
     @GetMapping("/remitente/{remitenteId}")
-    @Operation(summary = "Buscar mensajes por remitente", description = "Busca todos los mensajes enviados por un remitente específico")
+    @Operation(summary = "Buscar mensajes por remitente", description = "Devuelve una página de los mensajes enviados por un remitente, del más reciente al más antiguo. Para la página siguiente se envía el cursor devuelto")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de mensajes obtenida correctamente"),
+        @ApiResponse(responseCode = "200", description = "Página de mensajes obtenida correctamente"),
         @ApiResponse(responseCode = "204", description = "El remitente no tiene mensajes enviados"),
-        @ApiResponse(responseCode = "400", description = "ID de remitente inválido"),
+        @ApiResponse(responseCode = "400", description = "ID de remitente o cursor inválido"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> findByRemitenteId(@PathVariable int remitenteId) {
+    public ResponseEntity<?> findByRemitenteId(@PathVariable int remitenteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
         if (remitenteId <= 0) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de remitente inválido");
         }
         
-        List<Mensaje> mensajes = mensajeRepository.findByRemitenteId(remitenteId);
-        if (mensajes.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).body("El remitente con ID " + remitenteId + " no tiene mensajes enviados");
+        try {
+            PaginaCursor<MensajeResumen> pagina = mensajeService.bandejaSalida(remitenteId, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("El remitente con ID " + remitenteId + " no tiene mensajes enviados");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
-        return ResponseEntity.ok(mensajes);
     }
 
     @GetMapping("/destinatario/{destinatarioId}")
-    @Operation(summary = "Buscar mensajes por destinatario", description = "Busca todos los mensajes recibidos por un destinatario específico")
+    @Operation(summary = "Buscar mensajes por destinatario", description = "Devuelve una página de los mensajes recibidos por un destinatario, del más reciente al más antiguo. Para la página siguiente se envía el cursor devuelto")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de mensajes obtenida correctamente"),
+        @ApiResponse(responseCode = "200", description = "Página de mensajes obtenida correctamente"),
         @ApiResponse(responseCode = "204", description = "El destinatario no tiene mensajes recibidos"),
-        @ApiResponse(responseCode = "400", description = "ID de destinatario inválido"),
+        @ApiResponse(responseCode = "400", description = "ID de destinatario o cursor inválido"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> findByDestinatarioId(@PathVariable int destinatarioId) {
+    public ResponseEntity<?> findByDestinatarioId(@PathVariable int destinatarioId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
         if (destinatarioId <= 0) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de destinatario inválido");
         }
         
-        List<Mensaje> mensajes = mensajeRepository.findByDestinatarioId(destinatarioId);
-        if (mensajes.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NO_CONTENT).body("El destinatario con ID " + destinatarioId + " no tiene mensajes recibidos");
+        try {
+            PaginaCursor<MensajeResumen> pagina = mensajeService.bandejaEntrada(destinatarioId, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("El destinatario con ID " + destinatarioId + " no tiene mensajes recibidos");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
-        return ResponseEntity.ok(mensajes);
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.PerfilSocialDatos;
 import manyWorker.entity.PerfilSocial;
 import manyWorker.service.PerfilSocialService;
 
@@ -32,7 +33,7 @@ public class PerfilSocialController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<PerfilSocial> perfiles = perfilSocialService.findAll();
+        List<PerfilSocialDatos> perfiles = perfilSocialService.findAll();
         if (perfiles.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay perfiles sociales registrados en el sistema");
         }
@@ -56,7 +57,7 @@ public class PerfilSocialController {
         Optional<PerfilSocial> oPerfilSocial = perfilSocialService.findById(id);
         
         if (oPerfilSocial.isPresent()) {
-            return ResponseEntity.ok(oPerfilSocial.get());
+            return ResponseEntity.ok(PerfilSocialDatos.de(oPerfilSocial.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Perfil social con ID " + id + " no encontrado");
         }
@@ -12,6 +12,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.SolicitudDetalle;
+import manyWorker.dto.SolicitudResumen;
 import manyWorker.entity.Solicitud;
 import manyWorker.service.SolicitudService;
 
@@ -32,7 +34,7 @@ public class SolicitudController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Solicitud> solicitudes = solicitudService.findAll();
+        List<SolicitudResumen> solicitudes = solicitudService.findAll();
         if (solicitudes.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay solicitudes registradas en el sistema");
         }
@@ -56,7 +58,7 @@ public class SolicitudController {
         Optional<Solicitud> solicitud = solicitudService.findById(id);
         
         if (solicitud.isPresent()) {
-            return ResponseEntity.ok(solicitud.get());
+            return ResponseEntity.ok(SolicitudDetalle.de(solicitud.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Solicitud con ID " + id + " no encontrada");
         }
@@ -99,24 +101,27 @@ public class SolicitudController {
     }
 
     @PutMapping("/{id}/aceptar")
-    @Operation(summary = "Aceptar una solicitud", description = "Cambia el estado de la solicitud a ACEPTADO y envía notificaciones automáticas")
+    @Operation(summary = "Aceptar una solicitud", description = "Cambia el estado de la solicitud a ACEPTADO, rechaza las demás solicitudes pendientes de la tarea y envía notificaciones automáticas. Con el parámetro version solo se aplica si la solicitud no ha cambiado")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Solicitud aceptada correctamente"),
         @ApiResponse(responseCode = "404", description = "Solicitud no encontrada"),
+        @ApiResponse(responseCode = "409", description = "La solicitud ya no está pendiente, ha cambiado de versión o la tarea ya tiene una solicitud aceptada"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> aceptar(@PathVariable int id) {
+    public ResponseEntity<?> aceptar(@PathVariable int id, @RequestParam(required = false) Integer version) {
         try {
             if (id <= 0) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de solicitud inválido");
             }
             
-            solicitudService.aceptar(id);
+            solicitudService.aceptar(id, version);
             return ResponseEntity.ok("Solicitud aceptada correctamente. Se han enviado notificaciones al cliente y trabajador.");
             
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
@@ -126,24 +131,27 @@ public class SolicitudController {
     }
 
     @PutMapping("/{id}/rechazar")
-    @Operation(summary = "Rechazar una solicitud", description = "Cambia el estado de la solicitud a RECHAZADO y envía notificaciones automáticas")
+    @Operation(summary = "Rechazar una solicitud", description = "Cambia el estado de la solicitud a RECHAZADO y envía notificaciones automáticas. Con el parámetro version solo se aplica si la solicitud no ha cambiado")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Solicitud rechazada correctamente"),
         @ApiResponse(responseCode = "404", description = "Solicitud no encontrada"),
+        @ApiResponse(responseCode = "409", description = "La solicitud ya no está pendiente, ha cambiado de versión o la tarea ya tiene una solicitud aceptada"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
         @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
-    public ResponseEntity<?> rechazar(@PathVariable int id) {
+    public ResponseEntity<?> rechazar(@PathVariable int id, @RequestParam(required = false) Integer version) {
         try {
             if (id <= 0) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de solicitud inválido");
             }
             
-            solicitudService.rechazar(id);
+            solicitudService.rechazar(id, version);
             return ResponseEntity.ok("Solicitud rechazada correctamente. Se han enviado notificaciones al cliente y trabajador.");
             
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
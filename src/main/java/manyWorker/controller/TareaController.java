@@ -1,9 +1,11 @@
 package manyWorker.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,8 +14,16 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.FiltroTareas;
+import manyWorker.dto.PaginaCursor;
+import manyWorker.dto.TareaCercana;
+import manyWorker.dto.TareaDetalle;
+import manyWorker.dto.TareaEncontrada;
+import manyWorker.dto.TareaResumen;
 import manyWorker.entity.Actor;
 import manyWorker.entity.Tarea;
+import manyWorker.geo.Coordenadas;
+import manyWorker.geo.Geocodificador;
 import manyWorker.service.TareaService;
 
 @RestController
@@ -27,6 +37,9 @@ public class TareaController {
     @Autowired
     private manyWorker.security.JWTUtils jwtUtils;
 
+    @Autowired
+    private Geocodificador geocodificador;
+
     @GetMapping
     @Operation(summary = "Obtener todas las tareas", description = "Devuelve una lista de todas las tareas del sistema")
     @ApiResponses(value = {
@@ -36,13 +49,112 @@ public class TareaController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Tarea> tareas = tareaService.findAll();
+        List<TareaResumen> tareas = tareaService.findAll();
         if (tareas.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay tareas registradas en el sistema");
         }
         return ResponseEntity.ok(tareas);
     }
 
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar tareas", description = "Devuelve una página de tareas filtradas por categoría, rango de precio, fechas de publicación y fin, y cliente, de la más reciente a la más antigua. Sin filtro de fecha fin solo se devuelven las tareas abiertas. Para la página siguiente se envía el cursor devuelto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tareas obtenida correctamente"),
+        @ApiResponse(responseCode = "204", description = "Ninguna tarea cumple los filtros"),
+        @ApiResponse(responseCode = "400", description = "Filtros o cursor inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> buscar(@RequestParam(required = false) String categoria,
+            @RequestParam(required = false) Double precioMin,
+            @RequestParam(required = false) Double precioMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate finDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate finHasta,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publicadaDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate publicadaHasta,
+            @RequestParam(required = false) Integer cliente,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            FiltroTareas filtro = new FiltroTareas(categoria, precioMin, precioMax, finDesde, finHasta,
+                    publicadaDesde, publicadaHasta, cliente);
+            PaginaCursor<TareaResumen> pagina = tareaService.buscar(filtro, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Ninguna tarea cumple los filtros indicados");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/texto")
+    @Operation(summary = "Buscar tareas por texto", description = "Búsqueda de texto completo en la descripción de las tareas abiertas (en español, admite \"frases\", OR y -exclusiones), de más a menos relevante. Para la página siguiente se envía el cursor devuelto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tareas obtenida correctamente"),
+        @ApiResponse(responseCode = "204", description = "Ninguna tarea coincide con el texto"),
+        @ApiResponse(responseCode = "400", description = "Texto o cursor inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> buscarTexto(@RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            PaginaCursor<TareaEncontrada> pagina = tareaService.buscarTexto(q, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Ninguna tarea coincide con el texto indicado");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/cercanas")
+    @Operation(summary = "Buscar tareas cercanas", description = "Devuelve las tareas abiertas a menos de radioKm kilómetros, de la más cercana a la más lejana. Sin lat y lon se usa la dirección del usuario logueado. Para la página siguiente se envía el cursor devuelto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tareas obtenida correctamente"),
+        @ApiResponse(responseCode = "204", description = "No hay tareas abiertas en el radio indicado"),
+        @ApiResponse(responseCode = "400", description = "Radio, coordenadas o cursor inválidos, o el usuario no tiene una dirección localizable"),
+        @ApiResponse(responseCode = "401", description = "No autenticado token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
+    })
+    public ResponseEntity<?> buscarCercanas(@RequestParam(defaultValue = "10") double radioKm,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            Coordenadas centro;
+            if (lat != null && lon != null) {
+                centro = new Coordenadas(lat, lon);
+            } else {
+                Actor usuarioLogueado = jwtUtils.userLogin();
+                if (usuarioLogueado == null) {
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Usuario no autenticado");
+                }
+                if (usuarioLogueado.getLatitud() != null && usuarioLogueado.getLongitud() != null) {
+                    centro = new Coordenadas(usuarioLogueado.getLatitud(), usuarioLogueado.getLongitud());
+                } else {
+                    Optional<Coordenadas> oCentro = geocodificador.geocodificar(usuarioLogueado.getDireccion());
+                    if (oCentro.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .body("No se puede localizar tu dirección; indica lat y lon");
+                    }
+                    centro = oCentro.get();
+                }
+            }
+            PaginaCursor<TareaCercana> pagina = tareaService.buscarCercanas(centro, radioKm, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay tareas abiertas en el radio indicado");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar tarea por ID", description = "Busca una tarea específica utilizando su ID")
     @ApiResponses(value = { 
@@ -77,7 +189,7 @@ public class TareaController {
             }
             
             if (puedeVer) {
-                return ResponseEntity.ok(tarea);
+                return ResponseEntity.ok(TareaDetalle.de(tarea));
             } else {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("No tienes permiso para ver esta tarea");
             }
@@ -12,6 +12,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.ActorDetalle;
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Trabajador;
 import manyWorker.security.JWTUtils;
 import manyWorker.service.TrabajadorService;
@@ -38,7 +40,7 @@ public class TrabajadorController {
     
     // Devuelve un response entity de cualquier tipo
     public ResponseEntity<?> findAll() {
-        List<Trabajador> trabajadores = trabajadorService.findAll();
+        List<ActorResumen> trabajadores = trabajadorService.findAll();
         if (trabajadores.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay trabajadores registrados en el sistema");
         }
@@ -68,7 +70,7 @@ public class TrabajadorController {
         Optional<Trabajador> oTrabajador = trabajadorService.findById(id);
         
         if (oTrabajador.isPresent()) {
-            return ResponseEntity.ok(oTrabajador.get());
+            return ResponseEntity.ok(ActorDetalle.de(oTrabajador.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Trabajador con ID " + id + " no encontrado");
         }
@@ -132,9 +134,10 @@ public class TrabajadorController {
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Eliminar un trabajador", description = "Elimina un trabajador existente de la base de datos utilizando su ID.")
+    @Operation(summary = "Eliminar un trabajador", description = "Da de baja al trabajador: la cuenta queda bloqueada al momento "
+    		+ "y sus datos personales se anonimizan en segundo plano.")
     @ApiResponses(value = { 
-        @ApiResponse(responseCode = "200", description = "Trabajador eliminado correctamente"),
+        @ApiResponse(responseCode = "202", description = "Baja aceptada, anonimización en curso"),
         @ApiResponse(responseCode = "404", description = "Trabajador no encontrado"),
         @ApiResponse(responseCode = "400", description = "ID inválido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor"),
@@ -152,7 +155,7 @@ public class TrabajadorController {
             }
             
             trabajadorService.delete(id);
-            return ResponseEntity.ok("Trabajador eliminado correctamente");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body("Trabajador dado de baja; sus datos se anonimizarán en segundo plano");
             
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -12,6 +12,10 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import manyWorker.dto.PaginaCursor;
+import manyWorker.dto.TutorialDetalle;
+import manyWorker.dto.TutorialEncontrado;
+import manyWorker.dto.TutorialResumen;
 import manyWorker.entity.Tutorial;
 import manyWorker.service.TutorialService;
 
@@ -32,13 +36,34 @@ public class TutorialController {
         @ApiResponse(responseCode = "403", description = "No autorizado, permisos insuficientes"),
     })
     public ResponseEntity<?> findAll() {
-        List<Tutorial> tutoriales = tutorialService.findAll();
+        List<TutorialResumen> tutoriales = tutorialService.findAll();
         if (tutoriales.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("No hay tutoriales registrados en el sistema");
         }
         return ResponseEntity.ok(tutoriales);
     }
 
+    @GetMapping("/texto")
+    @Operation(summary = "Buscar tutoriales por texto", description = "Búsqueda de texto completo en el título, resumen y texto de los tutoriales (en español, admite \"frases\", OR y -exclusiones), de más a menos relevante. Para la página siguiente se envía el cursor devuelto")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de tutoriales obtenida correctamente"),
+        @ApiResponse(responseCode = "204", description = "Ningún tutorial coincide con el texto"),
+        @ApiResponse(responseCode = "400", description = "Texto o cursor inválidos"),
+    })
+    public ResponseEntity<?> buscarTexto(@RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamano) {
+        try {
+            PaginaCursor<TutorialEncontrado> pagina = tutorialService.buscarTexto(q, cursor, tamano);
+            if (pagina.contenido().isEmpty() && cursor == null) {
+                return ResponseEntity.status(HttpStatus.NO_CONTENT).body("Ningún tutorial coincide con el texto indicado");
+            }
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar un tutorial por ID", description = "Busca un tutorial específico utilizando su ID")
     @ApiResponses(value = {
@@ -56,7 +81,7 @@ public class TutorialController {
         Optional<Tutorial> oTutorial = tutorialService.findById(id);
 
         if (oTutorial.isPresent()) {
-            return ResponseEntity.ok(oTutorial.get());
+            return ResponseEntity.ok(TutorialDetalle.de(oTutorial.get()));
         } else {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Tutorial con ID " + id + " no encontrado");
         }
@@ -165,7 +190,7 @@ public class TutorialController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de autor inválido");
         }
         
-        List<Tutorial> tutoriales = tutorialService.findByAutorId(autorId);
+        List<TutorialResumen> tutoriales = tutorialService.findByAutorId(autorId);
         if (tutoriales.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NO_CONTENT).body("El autor con ID " + autorId + " no tiene tutoriales");
         }
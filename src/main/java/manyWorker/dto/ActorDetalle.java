@@ -0,0 +1,23 @@
+package manyWorker.dto;
+
+import java.util.List;
+
+import manyWorker.entity.Actor;
+import manyWorker.entity.Roles;
+import manyWorker.entity.Trabajador;
+
+// Ficha completa de un actor para él mismo o un administrador (nunca la contraseña ni las coordenadas).
+// nombreComercial solo lo tienen los trabajadores
+public record ActorDetalle(int id, String username, Roles rol, String nombre, String apellido, String apellido2,
+		String foto, String correo, String telefono, String direccion, String idioma, String nombreComercial, boolean baneado,
+		List<PerfilSocialDatos> perfiles) {
+
+	public static ActorDetalle de(Actor actor) {
+		String nombreComercial = actor instanceof Trabajador t ? t.getNombreComercial() : null;
+		List<PerfilSocialDatos> perfiles = actor.getNumeroPerfiles() == null ? List.of()
+				: actor.getNumeroPerfiles().stream().map(PerfilSocialDatos::de).toList();
+		return new ActorDetalle(actor.getId(), actor.getUsername(), actor.getRol(), actor.getNombre(), actor.getApellido(),
+				actor.getApellido2(), actor.getFoto(), actor.getCorreo(), actor.getTelefono(), actor.getDireccion(),
+				actor.getIdioma(), nombreComercial, actor.isBaneado(), perfiles);
+	}
+}
@@ -0,0 +1,14 @@
+package manyWorker.dto;
+
+import manyWorker.entity.Actor;
+import manyWorker.entity.Roles;
+
+// Referencia pública a un actor (listados y actor anidado en otras respuestas): sin datos de contacto,
+// contraseña ni perfiles sociales
+public record ActorResumen(int id, String username, String nombre, String apellido, Roles rol) {
+
+	public static ActorResumen de(Actor actor) {
+		return actor == null ? null
+				: new ActorResumen(actor.getId(), actor.getUsername(), actor.getNombre(), actor.getApellido(), actor.getRol());
+	}
+}
@@ -0,0 +1,5 @@
+package manyWorker.dto;
+
+// Categoría sin sus tareas, tal como se guarda en el catálogo en memoria
+public record CategoriaDatos(String id, String titulo, String leyesAplicables, boolean esReparacion) {
+}
@@ -0,0 +1,14 @@
+package manyWorker.dto;
+
+// Datos de perfil del cliente en la exportación (sin contraseña ni campos internos)
+public record ClienteExportado(
+		int id,
+		String username,
+		String nombre,
+		String apellido,
+		String apellido2,
+		String foto,
+		String correo,
+		String telefono,
+		String direccion) {
+}
@@ -0,0 +1,5 @@
+package manyWorker.dto;
+
+// Dirección de una tarea pendiente de geocodificar
+public record DireccionTarea(String id, String direccion) {
+}
@@ -0,0 +1,4 @@
+package manyWorker.dto;
+
+public record EstadisticaPlantilla(String tipo, long renderizados, long nanosTotales, double microsMedios) {
+}
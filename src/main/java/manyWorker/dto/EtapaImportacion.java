@@ -0,0 +1,9 @@
+package manyWorker.dto;
+
+// Rendimiento de una etapa de la importación (lectura, preparación o escritura)
+public record EtapaImportacion(
+		String nombre,
+		long filas,
+		long milisegundos,
+		double filasPorSegundo) {
+}
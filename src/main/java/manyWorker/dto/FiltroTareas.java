@@ -0,0 +1,8 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+// Filtros opcionales de la búsqueda de tareas; los null no filtran. Los rangos incluyen los extremos.
+public record FiltroTareas(String categoriaId, Double precioMin, Double precioMax, LocalDate finDesde,
+		LocalDate finHasta, LocalDate publicadaDesde, LocalDate publicadaHasta, Integer clienteId) {
+}
@@ -0,0 +1,8 @@
+package manyWorker.dto;
+
+// Una línea del NDJSON de exportación: el tipo de registro (cliente, perfilSocial, tarea, solicitud, mensaje, resumen)
+// y sus datos
+public record LineaExportacion(
+		String tipo,
+		Object datos) {
+}
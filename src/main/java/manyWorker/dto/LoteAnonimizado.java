@@ -0,0 +1,9 @@
+package manyWorker.dto;
+
+// Resultado de anonimizar un lote: filas modificadas y cursor de la última (nulo si no quedaba ninguna)
+public interface LoteAnonimizado {
+
+	long getFilas();
+
+	String getCursor();
+}
@@ -0,0 +1,22 @@
+package manyWorker.dto;
+
+import java.util.Date;
+
+import manyWorker.entity.Broadcast;
+import manyWorker.entity.Mensaje;
+
+// Mensaje completo con referencias a remitente y destinatario. Un broadcast compartido no tiene destinatario
+public record MensajeDetalle(int id, String asunto, String cuerpo, Date fechaEnvio, boolean leido,
+		ActorResumen remitente, ActorResumen destinatario, boolean broadcast) {
+
+	public static MensajeDetalle de(Mensaje mensaje) {
+		return new MensajeDetalle(mensaje.getId(), mensaje.getAsunto(), mensaje.getCuerpo(), mensaje.getFechaEnvio(),
+				mensaje.isLeido(), ActorResumen.de(mensaje.getRemitente()), ActorResumen.de(mensaje.getDestinatario()), false);
+	}
+
+	// Se devuelve al abrirlo, que es cuando queda leído
+	public static MensajeDetalle de(Broadcast broadcast) {
+		return new MensajeDetalle(broadcast.getId(), broadcast.getAsunto(), broadcast.getCuerpo(), broadcast.getFechaEnvio(),
+				true, ActorResumen.de(broadcast.getRemitente()), null, true);
+	}
+}
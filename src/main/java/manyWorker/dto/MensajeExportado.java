@@ -0,0 +1,14 @@
+package manyWorker.dto;
+
+import java.util.Date;
+
+// Mensaje enviado o recibido por el actor que exporta sus datos
+public record MensajeExportado(
+		int id,
+		Integer remitenteId,
+		Integer destinatarioId,
+		Date fechaEnvio,
+		String asunto,
+		String cuerpo,
+		boolean leido) {
+}
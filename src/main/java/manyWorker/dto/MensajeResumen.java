@@ -0,0 +1,16 @@
+package manyWorker.dto;
+
+import java.util.Date;
+
+// Proyección ligera de un mensaje para los listados de bandeja (sin cuerpo ni entidades Actor).
+// broadcast indica que es un aviso general guardado una sola vez y no un mensaje personal.
+public record MensajeResumen(
+		int id,
+		String asunto,
+		Date fechaEnvio,
+		int remitenteId,
+		String remitenteUsername,
+		int destinatarioId,
+		String destinatarioUsername,
+		boolean broadcast) {
+}
@@ -0,0 +1,7 @@
+package manyWorker.dto;
+
+import java.util.List;
+
+// Página de resultados con paginación keyset; siguienteCursor es null en la última página
+public record PaginaCursor<T>(List<T> contenido, String siguienteCursor) {
+}
@@ -0,0 +1,10 @@
+package manyWorker.dto;
+
+import manyWorker.entity.PerfilSocial;
+
+public record PerfilSocialDatos(int id, String apodo, String nombreRedSocial, String enlace) {
+
+	public static PerfilSocialDatos de(PerfilSocial perfil) {
+		return new PerfilSocialDatos(perfil.getId(), perfil.getApodo(), perfil.getNombreRedSocial(), perfil.getEnlace());
+	}
+}
@@ -0,0 +1,8 @@
+package manyWorker.dto;
+
+public record PerfilSocialExportado(
+		int id,
+		String apodo,
+		String nombreRedSocial,
+		String enlace) {
+}
@@ -0,0 +1,14 @@
+package manyWorker.dto;
+
+import java.util.Date;
+
+// Estado de un broadcast asíncrono: destinatarios totales, mensajes ya insertados y resultado
+public record ProgresoBroadcast(
+		String jobId,
+		String estado,
+		long total,
+		long enviados,
+		Date inicio,
+		Date fin,
+		String error) {
+}
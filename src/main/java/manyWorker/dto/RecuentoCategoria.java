@@ -0,0 +1,4 @@
+package manyWorker.dto;
+
+public record RecuentoCategoria(String categoriaId, long tareas) {
+}
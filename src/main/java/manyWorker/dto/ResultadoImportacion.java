@@ -0,0 +1,16 @@
+package manyWorker.dto;
+
+import java.util.List;
+
+// Resumen de una importación masiva: filas leídas, importadas y rechazadas (con los primeros errores),
+// rendimiento por etapa y, si se interrumpió, el motivo
+public record ResultadoImportacion(
+		String tipo,
+		String formato,
+		long leidas,
+		long importadas,
+		long rechazadas,
+		List<String> errores,
+		List<EtapaImportacion> etapas,
+		String error) {
+}
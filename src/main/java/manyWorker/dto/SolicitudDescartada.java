@@ -0,0 +1,16 @@
+package manyWorker.dto;
+
+// Solicitud rechazada automáticamente al aceptar otra de la misma tarea
+public interface SolicitudDescartada {
+
+	Integer getId();
+
+	Integer getTrabajadorId();
+
+	Double getPrecioOfrecido();
+
+	String getComentario();
+
+	// Idioma del trabajador para la notificación (Actor.idioma)
+	String getIdiomaTrabajador();
+}
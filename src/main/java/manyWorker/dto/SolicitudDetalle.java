@@ -0,0 +1,17 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+
+import manyWorker.entity.Solicitud;
+import manyWorker.entity.Solicitud.EstadoSolicitud;
+
+public record SolicitudDetalle(int id, int version, EstadoSolicitud estado, Double precioOfrecido, String comentario,
+		LocalDateTime fechaRegistro, TareaResumen tarea, ActorResumen trabajador) {
+
+	public static SolicitudDetalle de(Solicitud solicitud) {
+		return new SolicitudDetalle(solicitud.getId(), solicitud.getVersion(), solicitud.getEstado(),
+				solicitud.getPrecioOfrecido(), solicitud.getComentario(), solicitud.getFechaRegistro(),
+				solicitud.getTarea() == null ? null : TareaResumen.de(solicitud.getTarea()),
+				ActorResumen.de(solicitud.getTrabajador()));
+	}
+}
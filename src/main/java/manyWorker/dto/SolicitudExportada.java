@@ -0,0 +1,16 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+
+import manyWorker.entity.Solicitud.EstadoSolicitud;
+
+// Solicitud recibida en una tarea del cliente
+public record SolicitudExportada(
+		int id,
+		String tareaId,
+		Integer trabajadorId,
+		LocalDateTime fechaRegistro,
+		EstadoSolicitud estado,
+		Double precioOfrecido,
+		String comentario) {
+}
@@ -0,0 +1,10 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+
+import manyWorker.entity.Solicitud.EstadoSolicitud;
+
+// Solicitud sin las entidades Tarea y Trabajador, para listados. La versión es la que admiten aceptar y rechazar
+public record SolicitudResumen(int id, int version, EstadoSolicitud estado, Double precioOfrecido, String comentario,
+		LocalDateTime fechaRegistro, String tareaId, Integer trabajadorId) {
+}
@@ -0,0 +1,9 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+// Tarea abierta cercana a un punto, con su distancia en kilómetros
+public record TareaCercana(String id, String descripcion, String direccion, Double precioMax,
+		LocalDate fechaPublicacion, LocalDate fechaFin, String categoriaId, String categoriaTitulo, int clienteId,
+		double distanciaKm) {
+}
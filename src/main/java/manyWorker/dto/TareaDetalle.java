@@ -0,0 +1,19 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+import manyWorker.entity.Categoria;
+import manyWorker.entity.Tarea;
+
+// Tarea con su categoría y una referencia al cliente, sin el grafo de entidades
+public record TareaDetalle(String id, String descripcion, String direccion, Double precioMax, LocalDate fechaPublicacion,
+		LocalDate fechaFin, CategoriaDatos categoria, ActorResumen cliente) {
+
+	public static TareaDetalle de(Tarea tarea) {
+		Categoria c = tarea.getCategoria();
+		CategoriaDatos categoria = c == null ? null
+				: new CategoriaDatos(c.getId(), c.getTitulo(), c.getLeyesAplicables(), c.isEsReparacion());
+		return new TareaDetalle(tarea.getId(), tarea.getDescripcion(), tarea.getDireccion(), tarea.getPrecioMax(),
+				tarea.getFechaPublicacion(), tarea.getFechaFin(), categoria, ActorResumen.de(tarea.getCliente()));
+	}
+}
@@ -0,0 +1,28 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+// Tarea de la búsqueda de texto con su relevancia (mayor es mejor).
+// Es una proyección de interfaz porque sale de una consulta nativa.
+public interface TareaEncontrada {
+
+	String getId();
+
+	String getDescripcion();
+
+	String getDireccion();
+
+	Double getPrecioMax();
+
+	LocalDate getFechaPublicacion();
+
+	LocalDate getFechaFin();
+
+	String getCategoriaId();
+
+	String getCategoriaTitulo();
+
+	Integer getClienteId();
+
+	Float getRelevancia();
+}
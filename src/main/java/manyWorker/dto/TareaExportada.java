@@ -0,0 +1,13 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+public record TareaExportada(
+		String id,
+		LocalDate fechaPublicacion,
+		String descripcion,
+		String direccion,
+		Double precioMax,
+		LocalDate fechaFin,
+		String categoriaId) {
+}
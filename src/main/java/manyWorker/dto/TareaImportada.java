@@ -0,0 +1,13 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+// Fila de importación de tareas: la categoría y el cliente van por id para que CSV y NDJSON tengan la misma forma
+public record TareaImportada(
+		String descripcion,
+		String direccion,
+		Double precioMax,
+		LocalDate fechaFin,
+		String categoriaId,
+		Integer clienteId) {
+}
@@ -0,0 +1,18 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+
+import manyWorker.entity.Categoria;
+import manyWorker.entity.Tarea;
+
+// Tarea sin el grafo de Categoria y Cliente, para listados y búsquedas
+public record TareaResumen(String id, String descripcion, String direccion, Double precioMax,
+		LocalDate fechaPublicacion, LocalDate fechaFin, String categoriaId, String categoriaTitulo, int clienteId) {
+
+	public static TareaResumen de(Tarea tarea) {
+		Categoria categoria = tarea.getCategoria();
+		return new TareaResumen(tarea.getId(), tarea.getDescripcion(), tarea.getDireccion(), tarea.getPrecioMax(),
+				tarea.getFechaPublicacion(), tarea.getFechaFin(), categoria == null ? null : categoria.getId(),
+				categoria == null ? null : categoria.getTitulo(), tarea.getCliente().getId());
+	}
+}
@@ -0,0 +1,16 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import manyWorker.entity.Tutorial;
+
+public record TutorialDetalle(int id, String titulo, String resumen, String texto, List<String> imagenes,
+		LocalDateTime fechaCreacion, LocalDateTime fechaActualizacion, ActorResumen autor) {
+
+	public static TutorialDetalle de(Tutorial tutorial) {
+		return new TutorialDetalle(tutorial.getId(), tutorial.getTitulo(), tutorial.getResumen(), tutorial.getTexto(),
+				tutorial.getImagenes() == null ? List.of() : List.copyOf(tutorial.getImagenes()),
+				tutorial.getFechaCreacion(), tutorial.getFechaActualizacion(), ActorResumen.de(tutorial.getAutor()));
+	}
+}
@@ -0,0 +1,20 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+
+// Tutorial de la búsqueda de texto, sin el texto completo, con su relevancia (mayor es mejor).
+// Es una proyección de interfaz porque sale de una consulta nativa.
+public interface TutorialEncontrado {
+
+	Integer getId();
+
+	String getTitulo();
+
+	String getResumen();
+
+	LocalDateTime getFechaCreacion();
+
+	Integer getAutorId();
+
+	Float getRelevancia();
+}
@@ -0,0 +1,8 @@
+package manyWorker.dto;
+
+import java.time.LocalDateTime;
+
+// Tutorial sin el texto, las imágenes ni la entidad del autor, para listados
+public record TutorialResumen(int id, String titulo, String resumen, LocalDateTime fechaCreacion,
+		LocalDateTime fechaActualizacion, int autorId, String autorUsername) {
+}
@@ -4,6 +4,9 @@ import java.util.List;
 
 import org.hibernate.validator.constraints.URL;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Inheritance;
@@ -11,9 +14,10 @@ import jakarta.persistence.InheritanceType;
 import jakarta.persistence.OneToMany;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import manyWorker.geo.Coordenadas;
 
 @Entity
-@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 public class Actor extends DomainEntity{
 	
 	@NotBlank
@@ -35,6 +39,17 @@ public class Actor extends DomainEntity{
 	
 	private String direccion;
 	
+	// Idioma de las notificaciones (etiqueta BCP 47: "es", "en", "en-GB"...); null = manyworker.notificaciones.locale
+	@Pattern(regexp = "^[a-zA-Z]{2,3}(-[a-zA-Z0-9]{2,8})*$")
+	private String idioma;
+	
+	// Coordenadas de la dirección; null si no se pudo geocodificar
+	@JsonIgnore
+	private Double latitud;
+	
+	@JsonIgnore
+	private Double longitud;
+	
 	@OneToMany
 	private List<PerfilSocial> numeroPerfiles;
 	
@@ -42,7 +57,9 @@ public class Actor extends DomainEntity{
 	@Column(unique = true)
 	private String username;
 	
+	// Se admite en las peticiones (registro) pero nunca se serializa en una respuesta
 	@NotBlank
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
 	
 	private Roles rol;
@@ -166,4 +183,25 @@ public class Actor extends DomainEntity{
 	public void setBaneado(boolean baneado) {
 		this.baneado = baneado;
 	}
-}
\ No newline at end of file
+
+	public String getIdioma() {
+		return idioma;
+	}
+
+	public void setIdioma(String idioma) {
+		this.idioma = idioma;
+	}
+
+	public Double getLatitud() {
+		return latitud;
+	}
+
+	public Double getLongitud() {
+		return longitud;
+	}
+
+	public void setCoordenadas(Coordenadas coordenadas) {
+		this.latitud = coordenadas == null ? null : coordenadas.latitud();
+		this.longitud = coordenadas == null ? null : coordenadas.longitud();
+	}
+}
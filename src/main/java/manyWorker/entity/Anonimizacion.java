@@ -0,0 +1,177 @@
+package manyWorker.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Trabajo de anonimización de un actor dado de baja. Se procesa en segundo plano por fases y lotes;
+// fase y cursor son el punto de control: cada lote los actualiza en su misma transacción, así que
+// tras un fallo o un reinicio se continúa justo donde se quedó.
+@Entity
+@Table(indexes = @Index(name = "idx_anonimizacion_estado", columnList = "estado, id"))
+public class Anonimizacion extends DomainEntity {
+
+    public enum EstadoAnonimizacion {
+        PENDIENTE,
+        COMPLETADA,
+        FALLIDA
+    }
+
+    public enum FaseAnonimizacion {
+        MENSAJES,
+        SOLICITUDES,
+        TAREAS,
+        PERFILES,
+        ACTOR,
+        TERMINADA;
+
+        // Solicitudes solo las tiene un trabajador y tareas solo un cliente
+        public FaseAnonimizacion siguiente(Roles rol) {
+            if (this == TERMINADA) {
+                return TERMINADA;
+            }
+            FaseAnonimizacion siguiente = values()[ordinal() + 1];
+            if ((siguiente == SOLICITUDES && rol != Roles.TRABAJADOR) || (siguiente == TAREAS && rol != Roles.CLIENTE)) {
+                return siguiente.siguiente(rol);
+            }
+            return siguiente;
+        }
+    }
+
+    @Column(unique = true)
+    private int actorId;
+
+    @Enumerated(EnumType.STRING)
+    private Roles rol;
+
+    @Enumerated(EnumType.STRING)
+    private EstadoAnonimizacion estado;
+
+    @Enumerated(EnumType.STRING)
+    private FaseAnonimizacion fase;
+
+    // Última fila tratada en la fase actual; nulo al empezar una fase
+    private String cursor;
+
+    private long filas;
+
+    private int intentos;
+
+    private Date fechaSolicitud;
+
+    private Date fechaFin;
+
+    @Column(length = 1000)
+    private String ultimoError;
+
+    public Anonimizacion(int actorId, Roles rol) {
+        super();
+        this.actorId = actorId;
+        this.rol = rol;
+        this.estado = EstadoAnonimizacion.PENDIENTE;
+        this.fase = FaseAnonimizacion.MENSAJES;
+        this.fechaSolicitud = new Date();
+    }
+
+    public Anonimizacion() {
+        super();
+    }
+
+    // Guarda el avance de un lote; sin cursor la fase ha terminado y se pasa a la siguiente
+    public void avanzar(String cursor, long filas) {
+        this.filas += filas;
+        this.cursor = cursor;
+        if (cursor == null) {
+            this.fase = this.fase.siguiente(this.rol);
+            if (this.fase == FaseAnonimizacion.TERMINADA) {
+                this.estado = EstadoAnonimizacion.COMPLETADA;
+                this.fechaFin = new Date();
+            }
+        }
+    }
+
+    public int getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(int actorId) {
+        this.actorId = actorId;
+    }
+
+    public Roles getRol() {
+        return rol;
+    }
+
+    public void setRol(Roles rol) {
+        this.rol = rol;
+    }
+
+    public EstadoAnonimizacion getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoAnonimizacion estado) {
+        this.estado = estado;
+    }
+
+    public FaseAnonimizacion getFase() {
+        return fase;
+    }
+
+    public void setFase(FaseAnonimizacion fase) {
+        this.fase = fase;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public void setFilas(long filas) {
+        this.filas = filas;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public Date getFechaSolicitud() {
+        return fechaSolicitud;
+    }
+
+    public void setFechaSolicitud(Date fechaSolicitud) {
+        this.fechaSolicitud = fechaSolicitud;
+    }
+
+    public Date getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(Date fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+}
@@ -0,0 +1,77 @@
+package manyWorker.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+// Broadcast guardado una sola vez; el estado por destinatario vive en LecturaBroadcast
+@Entity
+@Table(indexes = {
+    @Index(name = "idx_broadcast_fecha", columnList = "fechaEnvio, id"),
+    @Index(name = "idx_broadcast_remitente_fecha", columnList = "remitente_id, fechaEnvio, id")
+})
+public class Broadcast extends DomainEntity {
+
+    @NotNull
+    @ManyToOne
+    private Actor remitente;
+
+    private Date fechaEnvio;
+
+    @NotBlank
+    private String asunto;
+
+    @NotBlank
+    @Column(columnDefinition = "TEXT")
+    private String cuerpo;
+
+    public Broadcast(@NotNull Actor remitente, Date fechaEnvio, @NotBlank String asunto, @NotBlank String cuerpo) {
+        super();
+        this.remitente = remitente;
+        this.fechaEnvio = fechaEnvio;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+    }
+
+    public Broadcast() {
+        super();
+    }
+
+    public Actor getRemitente() {
+        return remitente;
+    }
+
+    public void setRemitente(Actor remitente) {
+        this.remitente = remitente;
+    }
+
+    public Date getFechaEnvio() {
+        return fechaEnvio;
+    }
+
+    public void setFechaEnvio(Date fechaEnvio) {
+        this.fechaEnvio = fechaEnvio;
+    }
+
+    public String getAsunto() {
+        return asunto;
+    }
+
+    public void setAsunto(String asunto) {
+        this.asunto = asunto;
+    }
+
+    public String getCuerpo() {
+        return cuerpo;
+    }
+
+    public void setCuerpo(String cuerpo) {
+        this.cuerpo = cuerpo;
+    }
+}
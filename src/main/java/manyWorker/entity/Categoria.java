@@ -2,21 +2,25 @@ package manyWorker.entity;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
+import manyWorker.identificador.Identificadores;
 
 @Entity
 public class Categoria {
 	
 	//Comprobamos que el formato sea correcto por si se introduce manualmente
 	@Id
-	@Pattern(regexp = "\\d{6}-[A-Z0-9]{6}", message = "Formato de ID inválido (yyMMdd-XXXXXX)")
+	// yyMMdd-XXXXXX (ids antiguos) o yyMMdd- y 13 caracteres (GeneradorIdsTemporal)
+	@Pattern(regexp = "\\d{6}-[A-Z0-9]{6}([A-Z0-9]{7})?", message = "Formato de ID inválido (yyMMdd-XXXXXX)")
 	private String id;
 	
 	@NotBlank
@@ -26,16 +30,22 @@ public class Categoria {
 
     private boolean esReparacion;
 
-    @OneToMany
+    // Lado inverso de Tarea.categoria: perezoso y fuera del JSON, para saber si hay tareas usar
+    // TareaRepository.existsByCategoria_Id y para contarlas numeroTareas
+    @JsonIgnore
+    @OneToMany(mappedBy = "categoria")
     private List<Tarea> tareas = new ArrayList<>();
 
+    // Lo mantiene un trigger sobre tarea (db/esquema-adicional.sql); JPA nunca lo escribe
+    @JsonIgnore
+    @Column(insertable = false, updatable = false, columnDefinition = "bigint not null default 0")
+    private long numeroTareas;
+
     // Generador automático de ID antes de persistir si no está asignado
     @PrePersist
     public void generarId() {
         if (this.id == null || this.id.trim().isEmpty()) {
-            String fecha = java.time.LocalDate.now().format(java.time.format.DateTimeFormatter.ofPattern("yyMMdd"));
-            String random = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-            this.id = fecha + "-" + random;
+            this.id = Identificadores.nuevo();
         }
     }
 
@@ -84,6 +94,10 @@ public class Categoria {
 		this.esReparacion = esReparacion;
 	}
 
+	public long getNumeroTareas() {
+		return numeroTareas;
+	}
+
 	public List<Tarea> getTareas() {
 		return tareas;
 	}
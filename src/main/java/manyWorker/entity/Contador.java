@@ -0,0 +1,78 @@
+package manyWorker.entity;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+
+// Agregado mantenido por triggers de la base de datos (db/esquema-adicional.sql) en la misma
+// transacción que el cambio que lo altera. Desde Java solo se lee; para rehacerlos, ContadorService.recalcular.
+@Entity
+@IdClass(Contador.Clave.class)
+public class Contador {
+
+    public enum TipoContador {
+        // Tareas sin solicitud aceptada, hayan vencido o no
+        TAREAS_SIN_ADJUDICAR_CATEGORIA,
+        TAREAS_SIN_ADJUDICAR_CLIENTE,
+        SOLICITUDES_PENDIENTES_TRABAJADOR,
+        SOLICITUDES_PENDIENTES_CLIENTE,
+        MENSAJES_NO_LEIDOS_ACTOR
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private TipoContador tipo;
+
+    // Id de la categoría, cliente, trabajador o actor según el tipo
+    @Id
+    private String clave;
+
+    private long valor;
+
+    public Contador() {
+        super();
+    }
+
+    public TipoContador getTipo() {
+        return tipo;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+
+    public long getValor() {
+        return valor;
+    }
+
+    public static class Clave implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private TipoContador tipo;
+        private String clave;
+
+        public Clave() {
+        }
+
+        public Clave(TipoContador tipo, String clave) {
+            this.tipo = tipo;
+            this.clave = clave;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave otra && tipo == otra.tipo && Objects.equals(clave, otra.clave);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tipo, clave);
+        }
+    }
+}
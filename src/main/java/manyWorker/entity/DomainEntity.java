@@ -1,19 +1,17 @@
 package manyWorker.entity;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.Inheritance;
-import jakarta.persistence.InheritanceType;
+import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.Version;
+import manyWorker.identificador.IdPorEntidad;
 
-@Entity
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+// Cada entidad es su propia tabla con su propia secuencia (ver SecuenciaPorEntidad); solo la jerarquía
+// de Actor comparte tabla por clase y secuencia, porque se consulta de forma polimórfica.
+@MappedSuperclass
 public class DomainEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@IdPorEntidad
 	private int id;
 	
 	@Version
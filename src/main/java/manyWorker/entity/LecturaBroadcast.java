@@ -0,0 +1,70 @@
+package manyWorker.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+
+// Estado de un broadcast para un destinatario concreto.
+// Solo existe fila cuando el destinatario lo ha leído o lo ha eliminado de su bandeja.
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_lectura_broadcast_actor", columnNames = { "broadcast_id", "actor_id" }))
+public class LecturaBroadcast extends DomainEntity {
+
+    @NotNull
+    @ManyToOne
+    private Broadcast broadcast;
+
+    @NotNull
+    @ManyToOne
+    private Actor actor;
+
+    private Date fechaLectura;
+
+    private boolean eliminado;
+
+    public LecturaBroadcast(@NotNull Broadcast broadcast, @NotNull Actor actor) {
+        super();
+        this.broadcast = broadcast;
+        this.actor = actor;
+    }
+
+    public LecturaBroadcast() {
+        super();
+    }
+
+    public Broadcast getBroadcast() {
+        return broadcast;
+    }
+
+    public void setBroadcast(Broadcast broadcast) {
+        this.broadcast = broadcast;
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public void setActor(Actor actor) {
+        this.actor = actor;
+    }
+
+    public Date getFechaLectura() {
+        return fechaLectura;
+    }
+
+    public void setFechaLectura(Date fechaLectura) {
+        this.fechaLectura = fechaLectura;
+    }
+
+    public boolean isEliminado() {
+        return eliminado;
+    }
+
+    public void setEliminado(boolean eliminado) {
+        this.eliminado = eliminado;
+    }
+}
@@ -2,15 +2,20 @@ package manyWorker.entity;
 
 import java.util.Date;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.Inheritance;
-import jakarta.persistence.InheritanceType;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+// Índices compuestos para la paginación keyset de las bandejas de entrada y salida
+@Table(indexes = {
+    @Index(name = "idx_mensaje_destinatario_fecha", columnList = "destinatario_id, fechaEnvio, id"),
+    @Index(name = "idx_mensaje_remitente_fecha", columnList = "remitente_id, fechaEnvio, id")
+})
 public class Mensaje extends DomainEntity {
 
     @NotNull
@@ -29,6 +34,11 @@ public class Mensaje extends DomainEntity {
     @NotBlank
     private String cuerpo;
 
+    // Lo marca el destinatario al abrir el mensaje. Con valor por defecto en la columna para que
+    // los INSERT ... SELECT del broadcast no tengan que indicarlo
+    @Column(columnDefinition = "boolean not null default false")
+    private boolean leido;
+
     public Mensaje(@NotNull Actor remitente, @NotNull Actor destinatario, Date fechaEnvio, 
                    @NotBlank String asunto, @NotBlank String cuerpo) {
         super();
@@ -82,4 +92,12 @@ public class Mensaje extends DomainEntity {
     public void setCuerpo(String cuerpo) {
         this.cuerpo = cuerpo;
     }
-}
\ No newline at end of file
+
+    public boolean isLeido() {
+        return leido;
+    }
+
+    public void setLeido(boolean leido) {
+        this.leido = leido;
+    }
+}
@@ -0,0 +1,133 @@
+package manyWorker.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+
+// Outbox de notificaciones: se escribe en la misma transacción que el cambio que la provoca
+// y un proceso en segundo plano la convierte en Mensaje. Las entregadas se borran.
+@Entity
+@Table(indexes = @Index(name = "idx_notificacion_estado_intento", columnList = "estado, proximoIntento, id"))
+public class NotificacionPendiente extends DomainEntity {
+
+    public enum EstadoNotificacion {
+        PENDIENTE,
+        FALLIDA
+    }
+
+    private int remitenteId;
+
+    private int destinatarioId;
+
+    @NotBlank
+    private String asunto;
+
+    @NotBlank
+    @Column(columnDefinition = "TEXT")
+    private String cuerpo;
+
+    private Date fechaCreacion;
+
+    @Enumerated(EnumType.STRING)
+    private EstadoNotificacion estado;
+
+    private int intentos;
+
+    private Date proximoIntento;
+
+    @Column(length = 1000)
+    private String ultimoError;
+
+    public NotificacionPendiente(int remitenteId, int destinatarioId, String asunto, String cuerpo) {
+        super();
+        this.remitenteId = remitenteId;
+        this.destinatarioId = destinatarioId;
+        this.asunto = asunto;
+        this.cuerpo = cuerpo;
+        this.fechaCreacion = new Date();
+        this.proximoIntento = this.fechaCreacion;
+        this.estado = EstadoNotificacion.PENDIENTE;
+    }
+
+    public NotificacionPendiente() {
+        super();
+    }
+
+    public int getRemitenteId() {
+        return remitenteId;
+    }
+
+    public void setRemitenteId(int remitenteId) {
+        this.remitenteId = remitenteId;
+    }
+
+    public int getDestinatarioId() {
+        return destinatarioId;
+    }
+
+    public void setDestinatarioId(int destinatarioId) {
+        this.destinatarioId = destinatarioId;
+    }
+
+    public String getAsunto() {
+        return asunto;
+    }
+
+    public void setAsunto(String asunto) {
+        this.asunto = asunto;
+    }
+
+    public String getCuerpo() {
+        return cuerpo;
+    }
+
+    public void setCuerpo(String cuerpo) {
+        this.cuerpo = cuerpo;
+    }
+
+    public Date getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(Date fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public EstadoNotificacion getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoNotificacion estado) {
+        this.estado = estado;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public Date getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(Date proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+}
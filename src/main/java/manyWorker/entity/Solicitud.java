@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 import jakarta.persistence.*;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_solicitud_tarea_estado", columnList = "tarea_id, estado"),
+    @Index(name = "idx_solicitud_trabajador", columnList = "trabajador_id, id")
+})
 public class Solicitud extends DomainEntity{
 
     private LocalDateTime fechaRegistro;
@@ -11,7 +15,12 @@ public class Solicitud extends DomainEntity{
     public enum EstadoSolicitud { //Solo hay tres posibles estados
         PENDIENTE,
         ACEPTADO,
-        RECHAZADO
+        RECHAZADO;
+
+        // Solo una solicitud pendiente puede aceptarse o rechazarse; ACEPTADO y RECHAZADO son finales
+        public boolean permiteTransicionA(EstadoSolicitud destino) {
+            return this == PENDIENTE && destino != PENDIENTE;
+        }
     }
 
     @Enumerated(EnumType.STRING) //Enumerada
@@ -1,17 +1,33 @@
 package manyWorker.entity;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
+import manyWorker.geo.Coordenadas;
+import manyWorker.geo.GeoCelda;
+import manyWorker.identificador.Identificadores;
 
 @Entity
+@Table(indexes = {
+    // Búsqueda de tareas: orden (fechaPublicacion, id) sin filtro, por categoría o por cliente
+    @Index(name = "idx_tarea_publicacion", columnList = "fechaPublicacion, id"),
+    @Index(name = "idx_tarea_categoria_publicacion", columnList = "categoria_id, fechaPublicacion, id"),
+    @Index(name = "idx_tarea_cliente_publicacion", columnList = "cliente_id, fechaPublicacion, id"),
+    // Rangos de fecha límite y precio
+    @Index(name = "idx_tarea_fecha_fin", columnList = "fechaFin"),
+    @Index(name = "idx_tarea_precio", columnList = "precioMax"),
+    // Búsqueda por cercanía: rangos de celdas geohash
+    @Index(name = "idx_tarea_geocelda", columnList = "geocelda")
+})
 public class Tarea {
     @Id
     private String id;
@@ -26,6 +42,14 @@ public class Tarea {
     @Future
     private LocalDate fechaFin;
     
+    // Coordenadas de la dirección y su celda geohash (GeoCelda); null si no se pudo geocodificar
+    @JsonIgnore
+    private Double latitud;
+    @JsonIgnore
+    private Double longitud;
+    @JsonIgnore
+    private Long geocelda;
+    
     @ManyToOne
     private Categoria categoria;
     
@@ -33,11 +57,10 @@ public class Tarea {
     @NotNull
     private Cliente cliente;
     
+    // El id lo asigna siempre el servidor: POST /tareas enlaza la entidad desde el cuerpo de la petición
     @PrePersist
     public void generarId() {
-        String fecha = LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
-        String random = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        this.id = fecha + "-" + random;
+        this.id = Identificadores.nuevo();
         this.fechaPublicacion = LocalDate.now();
     }
     
@@ -121,4 +144,23 @@ public class Tarea {
     public void setCliente(Cliente cliente) {
         this.cliente = cliente;
     }
-}
\ No newline at end of file
+
+    public Double getLatitud() {
+        return latitud;
+    }
+
+    public Double getLongitud() {
+        return longitud;
+    }
+
+    public Long getGeocelda() {
+        return geocelda;
+    }
+
+    // Se asignan juntas para que la celda nunca quede desfasada respecto a las coordenadas
+    public void setCoordenadas(Coordenadas coordenadas) {
+        this.latitud = coordenadas == null ? null : coordenadas.latitud();
+        this.longitud = coordenadas == null ? null : coordenadas.longitud();
+        this.geocelda = coordenadas == null ? null : GeoCelda.codificar(coordenadas);
+    }
+}
@@ -0,0 +1,22 @@
+package manyWorker.geo;
+
+public record Coordenadas(double latitud, double longitud) {
+
+	public static final double RADIO_TIERRA_KM = 6371.0088;
+
+	public Coordenadas {
+		if (latitud < -90 || latitud > 90 || longitud < -180 || longitud > 180
+				|| Double.isNaN(latitud) || Double.isNaN(longitud)) {
+			throw new IllegalArgumentException("Coordenadas fuera de rango");
+		}
+	}
+
+	// Distancia ortodrómica (haversine) en kilómetros
+	public double distanciaKm(Coordenadas otra) {
+		double dLat = Math.toRadians(otra.latitud - latitud);
+		double dLon = Math.toRadians(otra.longitud - longitud);
+		double a = Math.pow(Math.sin(dLat / 2), 2)
+				+ Math.cos(Math.toRadians(latitud)) * Math.cos(Math.toRadians(otra.latitud)) * Math.pow(Math.sin(dLon / 2), 2);
+		return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+}
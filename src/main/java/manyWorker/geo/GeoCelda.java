@@ -0,0 +1,94 @@
+package manyWorker.geo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Geohash numérico: los bits de longitud y latitud intercalados (curva Z) en un long de 52 bits.
+// Dos puntos en la misma celda comparten prefijo de bits, así que una celda de cualquier tamaño es
+// un rango contiguo de valores y se busca con un BETWEEN sobre un índice B-tree normal.
+public final class GeoCelda {
+
+	// Bits por eje: 2^26 divisiones dan celdas de menos de un metro
+	public static final int BITS_POR_EJE = 26;
+
+	private static final double KM_POR_GRADO = Math.PI * Coordenadas.RADIO_TIERRA_KM / 180;
+
+	private GeoCelda() {
+	}
+
+	public static long codificar(Coordenadas c) {
+		return intercalar(indiceLatitud(c.latitud(), BITS_POR_EJE), indiceLongitud(c.longitud(), BITS_POR_EJE), BITS_POR_EJE);
+	}
+
+	// Rangos [desde, hasta] de celdas que cubren el círculo: la celda del centro y sus 8 vecinas,
+	// con el mayor nivel de detalle en el que una celda mide al menos el radio en ambos ejes
+	public static List<long[]> rangosCercanos(Coordenadas centro, double radioKm) {
+		int bits = bitsParaRadio(centro, radioKm);
+		int desplazamiento = 2 * (BITS_POR_EJE - bits);
+		long celdas = 1L << bits;
+		long lat = indiceLatitud(centro.latitud(), bits);
+		long lon = indiceLongitud(centro.longitud(), bits);
+
+		List<long[]> rangos = new ArrayList<>();
+		for (long dLat = -1; dLat <= 1; dLat++) {
+			long vLat = lat + dLat;
+			if (vLat < 0 || vLat >= celdas) {
+				continue;
+			}
+			for (long dLon = -1; dLon <= 1; dLon++) {
+				// La longitud da la vuelta en el antimeridiano
+				long vLon = Math.floorMod(lon + dLon, celdas);
+				long prefijo = intercalar(vLat, vLon, bits);
+				rangos.add(new long[] { prefijo << desplazamiento, ((prefijo + 1) << desplazamiento) - 1 });
+			}
+		}
+		return fusionar(rangos);
+	}
+
+	private static int bitsParaRadio(Coordenadas centro, double radioKm) {
+		// Latitud más alejada del ecuador que toca el círculo, donde los grados de longitud son más cortos
+		double latExtrema = Math.min(90, Math.abs(centro.latitud()) + radioKm / KM_POR_GRADO);
+		double kmPorGradoLon = KM_POR_GRADO * Math.cos(Math.toRadians(latExtrema));
+		for (int bits = BITS_POR_EJE; bits > 0; bits--) {
+			double altoKm = 180.0 / (1L << bits) * KM_POR_GRADO;
+			double anchoKm = 360.0 / (1L << bits) * kmPorGradoLon;
+			if (altoKm >= radioKm && anchoKm >= radioKm) {
+				return bits;
+			}
+		}
+		return 0;
+	}
+
+	private static List<long[]> fusionar(List<long[]> rangos) {
+		rangos.sort(Comparator.comparingLong(r -> r[0]));
+		List<long[]> fusionados = new ArrayList<>();
+		for (long[] rango : rangos) {
+			long[] ultimo = fusionados.isEmpty() ? null : fusionados.get(fusionados.size() - 1);
+			if (ultimo != null && rango[0] <= ultimo[1] + 1) {
+				ultimo[1] = Math.max(ultimo[1], rango[1]);
+			} else {
+				fusionados.add(rango);
+			}
+		}
+		return fusionados;
+	}
+
+	private static long indiceLatitud(double latitud, int bits) {
+		return Math.min((1L << bits) - 1, (long) ((latitud + 90) / 180 * (1L << bits)));
+	}
+
+	private static long indiceLongitud(double longitud, int bits) {
+		return Math.min((1L << bits) - 1, (long) ((longitud + 180) / 360 * (1L << bits)));
+	}
+
+	// Longitud en los bits altos de cada par, como en el geohash clásico
+	private static long intercalar(long lat, long lon, int bits) {
+		long resultado = 0;
+		for (int i = bits - 1; i >= 0; i--) {
+			resultado = (resultado << 1) | ((lon >> i) & 1);
+			resultado = (resultado << 1) | ((lat >> i) & 1);
+		}
+		return resultado;
+	}
+}
@@ -0,0 +1,10 @@
+package manyWorker.geo;
+
+import java.util.Optional;
+
+// Convierte una dirección de texto libre en coordenadas. La implementación se elige con
+// manyworker.geo.geocodificador; "local" (por defecto) funciona sin red con una tabla de municipios.
+public interface Geocodificador {
+
+	Optional<Coordenadas> geocodificar(String direccion);
+}
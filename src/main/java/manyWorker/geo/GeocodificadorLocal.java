@@ -0,0 +1,107 @@
+package manyWorker.geo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Geocodificador sin red para desarrollo, pruebas y como respaldo. Resuelve, por este orden:
+// 1. coordenadas escritas en la dirección, p. ej. "Calle Mayor 1 (40.4168, -3.7038)"
+// 2. el municipio de geo/municipios.csv que aparece más al final de la dirección
+//    (si hay código postal, solo se consideran municipios de esa provincia)
+// 3. la capital de la provincia del código postal
+// La precisión es la del centro del municipio, suficiente para ordenar tareas por cercanía.
+@Component
+@ConditionalOnProperty(name = "manyworker.geo.geocodificador", havingValue = "local", matchIfMissing = true)
+public class GeocodificadorLocal implements Geocodificador {
+
+	private static final Pattern COORDENADAS = Pattern.compile("(-?\\d{1,2}\\.\\d+)\\s*,\\s*(-?\\d{1,3}\\.\\d+)");
+	private static final Pattern CODIGO_POSTAL = Pattern.compile("\\b(\\d{2})\\d{3}\\b");
+	private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+	private static final Pattern NO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+
+	private final List<Municipio> municipios = new ArrayList<>();
+	private final Map<String, Coordenadas> capitales = new HashMap<>();
+
+	@PostConstruct
+	public void cargar() throws IOException {
+		try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+				new ClassPathResource("geo/municipios.csv").getInputStream(), StandardCharsets.UTF_8))) {
+			String linea;
+			while ((linea = lector.readLine()) != null) {
+				if (linea.isBlank() || linea.startsWith("#")) {
+					continue;
+				}
+				String[] campos = linea.split(";");
+				Coordenadas coordenadas = new Coordenadas(Double.parseDouble(campos[2]), Double.parseDouble(campos[3]));
+				municipios.add(new Municipio(" " + normalizar(campos[0]) + " ", campos[1], coordenadas));
+				// La primera aparición de cada provincia es su capital
+				capitales.putIfAbsent(campos[1], coordenadas);
+			}
+		}
+	}
+
+	@Override
+	public Optional<Coordenadas> geocodificar(String direccion) {
+		if (direccion == null || direccion.isBlank()) {
+			return Optional.empty();
+		}
+		Matcher coordenadas = COORDENADAS.matcher(direccion);
+		if (coordenadas.find()) {
+			try {
+				return Optional.of(new Coordenadas(Double.parseDouble(coordenadas.group(1)),
+						Double.parseDouble(coordenadas.group(2))));
+			} catch (IllegalArgumentException e) {
+				// Números que no son coordenadas válidas: se sigue con el municipio
+			}
+		}
+		Matcher cp = CODIGO_POSTAL.matcher(direccion);
+		String provincia = cp.find() && capitales.containsKey(cp.group(1)) ? cp.group(1) : null;
+
+		String texto = " " + normalizar(direccion) + " ";
+		Municipio mejor = null;
+		int mejorFin = -1;
+		for (Municipio m : municipios) {
+			if (provincia != null && !provincia.equals(m.provincia)) {
+				continue;
+			}
+			int inicio = texto.lastIndexOf(m.nombre);
+			if (inicio < 0) {
+				continue;
+			}
+			int fin = inicio + m.nombre.length();
+			if (fin > mejorFin || (fin == mejorFin && m.nombre.length() > mejor.nombre.length())) {
+				mejor = m;
+				mejorFin = fin;
+			}
+		}
+		if (mejor != null) {
+			return Optional.of(mejor.coordenadas);
+		}
+		return provincia == null ? Optional.empty() : Optional.of(capitales.get(provincia));
+	}
+
+	// Minúsculas, sin tildes y con los separadores reducidos a un espacio
+	private static String normalizar(String texto) {
+		String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+		return NO_ALFANUMERICO.matcher(sinTildes.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+	}
+
+	private record Municipio(String nombre, String provincia, Coordenadas coordenadas) {
+	}
+}
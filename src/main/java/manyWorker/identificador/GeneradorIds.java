@@ -0,0 +1,7 @@
+package manyWorker.identificador;
+
+// Genera los ids de texto de Tarea y Categoria (se eligen con manyworker.ids.generador)
+public interface GeneradorIds {
+
+	String siguiente();
+}
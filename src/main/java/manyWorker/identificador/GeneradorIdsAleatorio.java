@@ -0,0 +1,19 @@
+package manyWorker.identificador;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+// Esquema original "yyMMdd-XXXXXX": 6 caracteres hexadecimales de un UUID aleatorio (24 bits por día).
+// Se conserva solo para comparar en los benchmarks y como alternativa configurable.
+public class GeneradorIdsAleatorio implements GeneradorIds {
+
+	private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyMMdd");
+
+	@Override
+	public String siguiente() {
+		String fecha = LocalDate.now().format(FORMATO_FECHA);
+		String random = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+		return fecha + "-" + random;
+	}
+}
@@ -0,0 +1,108 @@
+package manyWorker.identificador;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Ids "yyMMdd-" + 13 caracteres Crockford base32 (sin I, L, O ni U) de un valor de 63 bits al estilo Snowflake:
+// 41 bits de milisegundos desde 2024-01-01, 10 de nodo y 12 de secuencia dentro del milisegundo.
+// - Monótonos: un único AtomicLong con CAS; si el reloj retrocede o se agotan las 4096 secuencias de un
+//   milisegundo se sigue con el siguiente valor en lugar de esperar, así nunca se repite ni se bloquea.
+// - Con ancho fijo el orden de texto es el orden temporal, así que los INSERT van al final del índice.
+// - La fecha del prefijo sale del mismo instante que el valor, y deja el id legible a simple vista.
+public class GeneradorIdsTemporal implements GeneradorIds {
+
+	public static final long EPOCA_MS = 1704067200000L;
+
+	static final int BITS_NODO = 10;
+	static final int BITS_SECUENCIA = 12;
+	public static final int MAX_NODO = (1 << BITS_NODO) - 1;
+
+	private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+	private static final int CARACTERES_VALOR = 13;
+
+	private final long nodo;
+	private final ZoneId zona;
+
+	// Milisegundos desde 1970; los tests lo sustituyen para simular un reloj que retrocede
+	private final LongSupplier reloj;
+
+	// (milisegundos desde EPOCA_MS << BITS_SECUENCIA) | secuencia del último id entregado
+	private final AtomicLong ultimo = new AtomicLong();
+
+	private volatile Dia dia;
+
+	public GeneradorIdsTemporal(int nodo, ZoneId zona) {
+		this(nodo, zona, System::currentTimeMillis);
+	}
+
+	GeneradorIdsTemporal(int nodo, ZoneId zona, LongSupplier reloj) {
+		if (nodo < 0 || nodo > MAX_NODO) {
+			throw new IllegalArgumentException("El nodo debe estar entre 0 y " + MAX_NODO);
+		}
+		this.nodo = nodo;
+		this.zona = zona;
+		this.reloj = reloj;
+	}
+
+	@Override
+	public String siguiente() {
+		long actual;
+		long siguiente;
+		do {
+			actual = ultimo.get();
+			siguiente = Math.max((reloj.getAsLong() - EPOCA_MS) << BITS_SECUENCIA, actual + 1);
+		} while (!ultimo.compareAndSet(actual, siguiente));
+
+		long ms = siguiente >>> BITS_SECUENCIA;
+		long valor = (ms << (BITS_NODO + BITS_SECUENCIA)) | (nodo << BITS_SECUENCIA) | (siguiente & ((1 << BITS_SECUENCIA) - 1));
+		return formatear(diaDe(ms + EPOCA_MS), valor);
+	}
+
+	// Instante codificado en un id de este generador
+	public static Instant instante(String id) {
+		long valor = 0;
+		for (int i = id.length() - CARACTERES_VALOR; i < id.length(); i++) {
+			valor = (valor << 5) | indiceBase32(id.charAt(i));
+		}
+		return Instant.ofEpochMilli((valor >>> (BITS_NODO + BITS_SECUENCIA)) + EPOCA_MS);
+	}
+
+	private static String formatear(Dia dia, long valor) {
+		char[] id = new char[7 + CARACTERES_VALOR];
+		System.arraycopy(dia.prefijo, 0, id, 0, 7);
+		for (int i = id.length - 1; i >= 7; i--) {
+			id[i] = BASE32[(int) (valor & 31)];
+			valor >>>= 5;
+		}
+		return new String(id);
+	}
+
+	// El prefijo solo se recalcula al cambiar de día
+	private Dia diaDe(long ms) {
+		Dia d = dia;
+		if (d == null || ms < d.desde || ms >= d.hasta) {
+			LocalDate fecha = Instant.ofEpochMilli(ms).atZone(zona).toLocalDate();
+			long desde = fecha.atStartOfDay(zona).toInstant().toEpochMilli();
+			long hasta = fecha.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+			String prefijo = String.format("%02d%02d%02d-", fecha.getYear() % 100, fecha.getMonthValue(), fecha.getDayOfMonth());
+			d = new Dia(desde, hasta, prefijo.toCharArray());
+			dia = d;
+		}
+		return d;
+	}
+
+	private static int indiceBase32(char c) {
+		for (int i = 0; i < BASE32.length; i++) {
+			if (BASE32[i] == c) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Carácter no válido en el id: " + c);
+	}
+
+	private record Dia(long desde, long hasta, char[] prefijo) {
+	}
+}
@@ -0,0 +1,15 @@
+package manyWorker.identificador;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// Id asignado desde la secuencia de su entidad (SecuenciaPorEntidad)
+@IdGeneratorType(SecuenciaPorEntidad.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.METHOD })
+public @interface IdPorEntidad {
+}
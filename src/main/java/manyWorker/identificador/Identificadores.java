@@ -0,0 +1,21 @@
+package manyWorker.identificador;
+
+import java.time.ZoneId;
+
+// Punto de acceso para los @PrePersist de las entidades, que no pasan por Spring.
+// GeneradorIdsConfig instala al arrancar el generador configurado; hasta entonces se usa el temporal con nodo 0.
+public final class Identificadores {
+
+	private static volatile GeneradorIds generador = new GeneradorIdsTemporal(0, ZoneId.systemDefault());
+
+	private Identificadores() {
+	}
+
+	public static String nuevo() {
+		return generador.siguiente();
+	}
+
+	public static void usar(GeneradorIds nuevo) {
+		generador = nuevo;
+	}
+}
@@ -0,0 +1,40 @@
+package manyWorker.identificador;
+
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+// Una secuencia por entidad (<tabla>_seq) con el tamaño de bloque de manyworker.ids.bloque.<Entidad>
+// (o manyworker.ids.bloque.defecto) pasado a Hibernate con spring.jpa.properties.
+// Con el optimizador pooled-lo cada nextval reserva un bloque entero de ids, así que las entidades que se
+// insertan en ráfagas (Mensaje, Solicitud) piden bloques grandes y hacen un viaje a la secuencia cada muchas filas.
+public class SecuenciaPorEntidad extends SequenceStyleGenerator {
+
+	public static final String PREFIJO_BLOQUE = "manyworker.ids.bloque.";
+
+	// Entidades que toman los ids de la secuencia (y el bloque) de otra. Broadcast y Mensaje se mezclan en la
+	// bandeja de entrada y se abren por el mismo GET /mensajes/{id}: necesitan un único espacio de ids.
+	private static final Map<String, String> SECUENCIA_COMPARTIDA = Map.of("Broadcast", "Mensaje");
+
+	private static final int BLOQUE_POR_DEFECTO = 50;
+
+	@Override
+	public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+		String entidad = params.getProperty(JPA_ENTITY_NAME);
+		entidad = SECUENCIA_COMPARTIDA.getOrDefault(entidad, entidad);
+		Map<String, Object> ajustes = serviceRegistry.requireService(ConfigurationService.class).getSettings();
+		Object bloque = ajustes.get(PREFIJO_BLOQUE + entidad);
+		if (bloque == null) {
+			bloque = ajustes.getOrDefault(PREFIJO_BLOQUE + "defecto", BLOQUE_POR_DEFECTO);
+		}
+		// Nombre lógico; la estrategia de nombres física lo deja en minúsculas con guiones bajos
+		params.setProperty(SEQUENCE_PARAM, entidad + "_seq");
+		params.setProperty(INCREMENT_PARAM, bloque.toString().trim());
+		super.configure(type, params, serviceRegistry);
+	}
+}
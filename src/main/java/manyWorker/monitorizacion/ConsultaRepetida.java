@@ -0,0 +1,5 @@
+package manyWorker.monitorizacion;
+
+// SELECT ejecutada varias veces con el mismo texto (solo cambian los parámetros) dentro de una misma medición
+public record ConsultaRepetida(String sql, int veces) {
+}
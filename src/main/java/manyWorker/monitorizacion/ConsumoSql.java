@@ -0,0 +1,90 @@
+package manyWorker.monitorizacion;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Sentencias, filas y tiempo de base de datos acumulados en una medición (una petición HTTP o un bloque
+// medido con MedidorSql). Solo lo usa el hilo que lo creó.
+public class ConsumoSql {
+
+	private final ConsumoSql padre;
+
+	// Máximo de sentencias; 0 = sin límite. Si es estricto, la sentencia que lo supera falla
+	private final int presupuesto;
+
+	private final boolean estricto;
+
+	private int sentencias;
+
+	private long filas;
+
+	private long nanos;
+
+	// Ejecuciones de cada SELECT por su texto con los parámetros sin sustituir
+	private final Map<String, Integer> consultas = new HashMap<>();
+
+	ConsumoSql(ConsumoSql padre, int presupuesto, boolean estricto) {
+		this.padre = padre;
+		this.presupuesto = presupuesto;
+		this.estricto = estricto;
+	}
+
+	void antesDeEjecutar() {
+		if (estricto && presupuesto > 0 && sentencias >= presupuesto) {
+			throw new IllegalStateException("Presupuesto SQL excedido: más de " + presupuesto + " sentencias en una misma medición");
+		}
+	}
+
+	void registrar(String sql, boolean consulta, long nanos) {
+		sentencias++;
+		this.nanos += nanos;
+		if (consulta) {
+			consultas.merge(sql, 1, Integer::sum);
+		}
+	}
+
+	void sumarFilas(long filas) {
+		this.filas += filas;
+	}
+
+	ConsumoSql getPadre() {
+		return padre;
+	}
+
+	// Al cerrar una medición anidada su consumo cuenta también en la que la contiene
+	void acumular(ConsumoSql hijo) {
+		sentencias += hijo.sentencias;
+		filas += hijo.filas;
+		nanos += hijo.nanos;
+		hijo.consultas.forEach((sql, veces) -> consultas.merge(sql, veces, Integer::sum));
+	}
+
+	public int getSentencias() {
+		return sentencias;
+	}
+
+	public long getFilas() {
+		return filas;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public int getPresupuesto() {
+		return presupuesto;
+	}
+
+	public boolean excedePresupuesto() {
+		return presupuesto > 0 && sentencias > presupuesto;
+	}
+
+	// La SELECT más repetida si llega al umbral: indicio de N+1 (una consulta por cada fila de otra)
+	public Optional<ConsultaRepetida> masRepetida(int umbral) {
+		return consultas.entrySet().stream()
+				.filter(e -> e.getValue() >= umbral)
+				.max(Map.Entry.comparingByValue())
+				.map(e -> new ConsultaRepetida(e.getKey(), e.getValue()));
+	}
+}
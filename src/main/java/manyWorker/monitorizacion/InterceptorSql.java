@@ -0,0 +1,86 @@
+package manyWorker.monitorizacion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Mide el SQL de cada petición que llega a un controlador y lo publica por método de controlador:
+// - manyworker.sql.sentencias, manyworker.sql.filas (resúmenes por petición) y manyworker.sql.tiempo
+// - manyworker.sql.n-mas-1: peticiones en las que una misma SELECT se repite umbralRepeticiones veces o más
+// - manyworker.sql.presupuesto.excedido: peticiones con más sentencias que el presupuesto
+// Las respuestas asíncronas (StreamingResponseBody) solo cuentan lo ejecutado en el hilo de la petición.
+public class InterceptorSql implements AsyncHandlerInterceptor {
+
+	private static final Logger log = LoggerFactory.getLogger(InterceptorSql.class);
+
+	private final MeterRegistry registry;
+
+	private final int presupuesto;
+
+	private final boolean estricto;
+
+	private final int umbralRepeticiones;
+
+	public InterceptorSql(MeterRegistry registry, int presupuesto, boolean estricto, int umbralRepeticiones) {
+		this.registry = registry;
+		this.presupuesto = presupuesto;
+		this.estricto = estricto;
+		this.umbralRepeticiones = umbralRepeticiones;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handler instanceof HandlerMethod) {
+			MedidorSql.iniciar(presupuesto, estricto);
+		}
+		return true;
+	}
+
+	@Override
+	public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (handler instanceof HandlerMethod) {
+			MedidorSql.terminar();
+		}
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		if (!(handler instanceof HandlerMethod metodo)) {
+			return;
+		}
+		ConsumoSql consumo = MedidorSql.terminar();
+		if (consumo == null) {
+			return;
+		}
+		String controlador = metodo.getBeanType().getSimpleName();
+		String nombre = metodo.getMethod().getName();
+		Tags tags = Tags.of("controlador", controlador, "metodo", nombre);
+		DistributionSummary.builder("manyworker.sql.sentencias").baseUnit("sentencias").tags(tags)
+				.register(registry).record(consumo.getSentencias());
+		DistributionSummary.builder("manyworker.sql.filas").baseUnit("filas").tags(tags)
+				.register(registry).record(consumo.getFilas());
+		Timer.builder("manyworker.sql.tiempo").tags(tags).register(registry)
+				.record(consumo.getNanos(), TimeUnit.NANOSECONDS);
+
+		consumo.masRepetida(umbralRepeticiones).ifPresent(repetida -> {
+			registry.counter("manyworker.sql.n-mas-1", tags).increment();
+			log.warn("{}.{} ejecutó {} veces la misma consulta (posible N+1): {}", controlador, nombre,
+					repetida.veces(), repetida.sql());
+		});
+		if (consumo.excedePresupuesto()) {
+			registry.counter("manyworker.sql.presupuesto.excedido", tags).increment();
+			log.warn("{}.{} ejecutó {} sentencias SQL, por encima del presupuesto de {}", controlador, nombre,
+					consumo.getSentencias(), consumo.getPresupuesto());
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package manyWorker.monitorizacion;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+// Listener de datasource-proxy que anota cada sentencia en la medición del hilo (MedidorSql).
+// Un lote JDBC cuenta como una sentencia: es un solo viaje a la base de datos.
+// Las filas son las afectadas por INSERT/UPDATE/DELETE más las leídas de cada ResultSet (ResultSet.next),
+// esto último solo si el DataSource se envuelve con proxyResultSet.
+public class ListenerSql implements QueryExecutionListener, MethodExecutionListener {
+
+	private static final String INICIO = "manyworker.inicio";
+
+	@Override
+	public void beforeQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+		ConsumoSql consumo = MedidorSql.actual();
+		if (consumo != null) {
+			consumo.antesDeEjecutar();
+			info.addCustomValue(INICIO, System.nanoTime());
+		}
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo info, List<QueryInfo> consultas) {
+		ConsumoSql consumo = MedidorSql.actual();
+		Long inicio = info.getCustomValue(INICIO, Long.class);
+		if (consumo == null || inicio == null || consultas.isEmpty()) {
+			return;
+		}
+		String sql = consultas.get(0).getQuery();
+		consumo.registrar(sql, QueryUtils.getQueryType(sql) == QueryType.SELECT, System.nanoTime() - inicio);
+		Object resultado = info.getResult();
+		if (resultado instanceof Integer afectadas && afectadas > 0) {
+			consumo.sumarFilas(afectadas);
+		} else if (resultado instanceof int[] lote) {
+			for (int afectadas : lote) {
+				// Statement.SUCCESS_NO_INFO (-2) cuando el driver no sabe cuántas filas cambió
+				consumo.sumarFilas(Math.max(afectadas, 0));
+			}
+		}
+	}
+
+	@Override
+	public void beforeMethod(MethodExecutionContext contexto) {
+	}
+
+	@Override
+	public void afterMethod(MethodExecutionContext contexto) {
+		if (contexto.getTarget() instanceof ResultSet && Boolean.TRUE.equals(contexto.getResult())
+				&& "next".equals(contexto.getMethod().getName())) {
+			ConsumoSql consumo = MedidorSql.actual();
+			if (consumo != null) {
+				consumo.sumarFilas(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package manyWorker.monitorizacion;
+
+// Medición del SQL ejecutado por el hilo actual. InterceptorSql abre una por petición; también se puede usar
+// directamente, por ejemplo en un test:
+//   ConsumoSql consumo = MedidorSql.iniciar(10, true);
+//   try { ... } finally { MedidorSql.terminar(); }
+// Las mediciones se pueden anidar: al terminar, la interior se suma a la exterior.
+public final class MedidorSql {
+
+	private static final ThreadLocal<ConsumoSql> ACTUAL = new ThreadLocal<>();
+
+	private MedidorSql() {
+	}
+
+	public static ConsumoSql iniciar(int presupuesto, boolean estricto) {
+		ConsumoSql consumo = new ConsumoSql(ACTUAL.get(), presupuesto, estricto);
+		ACTUAL.set(consumo);
+		return consumo;
+	}
+
+	// Null fuera de una medición (tareas programadas, arranque...)
+	public static ConsumoSql actual() {
+		return ACTUAL.get();
+	}
+
+	public static ConsumoSql terminar() {
+		ConsumoSql consumo = ACTUAL.get();
+		if (consumo == null) {
+			return null;
+		}
+		ConsumoSql padre = consumo.getPadre();
+		if (padre == null) {
+			ACTUAL.remove();
+		} else {
+			padre.acumular(consumo);
+			ACTUAL.set(padre);
+		}
+		return consumo;
+	}
+}
@@ -0,0 +1,40 @@
+package manyWorker.monitorizacion;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import manyWorker.security.PrincipalCache;
+import manyWorker.service.NotificacionService;
+
+// Indicadores de capacidad que no salen de un método cronometrado:
+// - manyworker.notificaciones.pendientes / fallidas: tamaño del outbox (un count por lectura, con índice por estado)
+// - cache.gets{cache=principal,result=hit|miss} y cache.size de PrincipalCache, con los mismos nombres que
+//   Micrometer usa para las caches de Spring; la tasa de aciertos es hit / (hit + miss)
+// Las del pool de conexiones (hikaricp.connections.*) las registra Spring Boot.
+@Component
+public class MetricasAplicacion implements MeterBinder {
+
+	@Autowired
+	private NotificacionService notificacionService;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("manyworker.notificaciones.pendientes", notificacionService, NotificacionService::pendientes)
+				.description("Notificaciones del outbox pendientes de entregar").register(registry);
+		Gauge.builder("manyworker.notificaciones.fallidas", notificacionService, NotificacionService::fallidas)
+				.description("Notificaciones descartadas tras agotar los reintentos").register(registry);
+
+		FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getAciertos)
+				.tags("cache", "principal", "result", "hit").register(registry);
+		FunctionCounter.builder("cache.gets", principalCache, PrincipalCache::getFallos)
+				.tags("cache", "principal", "result", "miss").register(registry);
+		Gauge.builder("cache.size", principalCache, PrincipalCache::size).tags("cache", "principal").register(registry);
+	}
+}
@@ -0,0 +1,83 @@
+package manyWorker.notificacion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Plantilla ya compilada: texto literal y variables alternados en arrays.
+// Se parsea una sola vez al arrancar; renderizar solo recorre los segmentos y añade al builder.
+public final class Plantilla {
+
+	private final String fuente;
+	// literales[i] va antes de variables[i]; el último literal cierra la plantilla
+	private final String[] literales;
+	private final int[] variables;
+	private final int longitudLiterales;
+
+	private Plantilla(String fuente, String[] literales, int[] variables) {
+		this.fuente = fuente;
+		this.literales = literales;
+		this.variables = variables;
+		int longitud = 0;
+		for (String literal : literales) {
+			longitud += literal.length();
+		}
+		this.longitudLiterales = longitud;
+	}
+
+	// Sintaxis: {variable} se sustituye; {{ y }} escriben una llave literal
+	public static Plantilla compilar(String fuente) {
+		List<String> literales = new ArrayList<>();
+		List<Integer> variables = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		int i = 0;
+		while (i < fuente.length()) {
+			char c = fuente.charAt(i);
+			if ((c == '{' || c == '}') && i + 1 < fuente.length() && fuente.charAt(i + 1) == c) {
+				literal.append(c);
+				i += 2;
+			} else if (c == '{') {
+				int fin = fuente.indexOf('}', i);
+				if (fin < 0) {
+					throw new IllegalArgumentException("Llave sin cerrar en la plantilla: " + fuente);
+				}
+				String clave = fuente.substring(i + 1, fin).trim();
+				VariablePlantilla variable = VariablePlantilla.porClave(clave);
+				if (variable == null) {
+					throw new IllegalArgumentException("Variable desconocida {" + clave + "} en la plantilla: " + fuente);
+				}
+				literales.add(literal.toString());
+				variables.add(variable.ordinal());
+				literal.setLength(0);
+				i = fin + 1;
+			} else {
+				literal.append(c);
+				i++;
+			}
+		}
+		literales.add(literal.toString());
+		return new Plantilla(fuente, literales.toArray(new String[0]),
+				variables.stream().mapToInt(Integer::intValue).toArray());
+	}
+
+	public void renderizar(StringBuilder destino, String[] valores) {
+		for (int i = 0; i < variables.length; i++) {
+			destino.append(literales[i]);
+			String valor = valores[variables[i]];
+			destino.append(valor == null ? "" : valor);
+		}
+		destino.append(literales[variables.length]);
+	}
+
+	// Orientativo para dimensionar el builder la primera vez
+	public int longitudEstimada() {
+		return longitudLiterales + variables.length * 16;
+	}
+
+	public boolean tieneVariables() {
+		return variables.length > 0;
+	}
+
+	public String getFuente() {
+		return fuente;
+	}
+}
@@ -0,0 +1,16 @@
+package manyWorker.notificacion;
+
+public enum ReceptorNotificacion {
+	CLIENTE("cliente"),
+	TRABAJADOR("trabajador");
+
+	private final String clave;
+
+	ReceptorNotificacion(String clave) {
+		this.clave = clave;
+	}
+
+	public String getClave() {
+		return clave;
+	}
+}
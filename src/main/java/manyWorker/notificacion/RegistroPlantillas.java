@@ -0,0 +1,183 @@
+package manyWorker.notificacion;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import manyWorker.dto.EstadisticaPlantilla;
+
+// Plantillas de notificación por evento, receptor e idioma.
+// Se leen de classpath:plantillas/notificaciones[_idioma].properties y se compilan al arrancar;
+// para un evento nuevo basta con añadirlo a TipoNotificacion y escribir sus plantillas.
+// El fichero sin sufijo es el idioma por defecto (manyworker.notificaciones.locale) y debe estar completo.
+@Component
+public class RegistroPlantillas {
+
+	private static final String PATRON = "classpath*:plantillas/notificaciones*.properties";
+
+	// Un builder por hilo; si alguno crece demasiado se descarta para no retener memoria
+	private static final int CAPACIDAD_MAXIMA_BUILDER = 16 * 1024;
+	private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+	private final Map<Locale, Map<TipoNotificacion, Plantilla[]>> plantillas = new HashMap<>();
+
+	private final Map<TipoNotificacion, Contadores> contadores = new EnumMap<>(TipoNotificacion.class);
+
+	@Value("${manyworker.notificaciones.locale:es}")
+	private String localePorDefecto;
+
+	private Locale porDefecto;
+
+	@PostConstruct
+	public void cargar() throws IOException {
+		porDefecto = Locale.forLanguageTag(localePorDefecto);
+		for (TipoNotificacion tipo : TipoNotificacion.values()) {
+			contadores.put(tipo, new Contadores());
+		}
+		for (Resource recurso : new PathMatchingResourcePatternResolver().getResources(PATRON)) {
+			Properties propiedades = PropertiesLoaderUtils
+					.loadProperties(new EncodedResource(recurso, StandardCharsets.UTF_8));
+			plantillas.put(localeDe(recurso.getFilename()), compilar(propiedades, recurso.getFilename()));
+		}
+		Map<TipoNotificacion, Plantilla[]> base = plantillas.get(porDefecto);
+		if (base == null) {
+			throw new IllegalStateException("No se encontró plantillas/notificaciones.properties");
+		}
+		// Cada receptor lleva asunto y cuerpo, o ninguno de los dos si el evento no le llega
+		base.forEach((tipo, partes) -> {
+			boolean alguna = false;
+			for (int i = 0; i < partes.length; i += 2) {
+				if ((partes[i] == null) != (partes[i + 1] == null)) {
+					int falta = partes[i] == null ? i : i + 1;
+					throw new IllegalStateException("Falta la plantilla " + clave(tipo, falta) + " para el idioma por defecto");
+				}
+				alguna |= partes[i] != null;
+			}
+			if (!alguna) {
+				throw new IllegalStateException("El evento " + tipo + " no tiene plantillas para el idioma por defecto");
+			}
+		});
+	}
+
+	public boolean tiene(TipoNotificacion tipo, ReceptorNotificacion receptor) {
+		return plantillas.get(porDefecto).get(tipo)[indice(receptor, false)] != null;
+	}
+
+	public String asunto(TipoNotificacion tipo, ReceptorNotificacion receptor, Locale locale, String[] valores) {
+		return renderizar(tipo, indice(receptor, false), locale, valores);
+	}
+
+	public String cuerpo(TipoNotificacion tipo, ReceptorNotificacion receptor, Locale locale, String[] valores) {
+		return renderizar(tipo, indice(receptor, true), locale, valores);
+	}
+
+	public List<EstadisticaPlantilla> estadisticas() {
+		List<EstadisticaPlantilla> resultado = new ArrayList<>();
+		contadores.forEach((tipo, c) -> {
+			long renderizados = c.renderizados.sum();
+			long nanos = c.nanos.sum();
+			resultado.add(new EstadisticaPlantilla(tipo.name(), renderizados, nanos,
+					renderizados == 0 ? 0 : nanos / 1000.0 / renderizados));
+		});
+		return resultado;
+	}
+
+	private String renderizar(TipoNotificacion tipo, int indice, Locale locale, String[] valores) {
+		long inicio = System.nanoTime();
+		Plantilla plantilla = buscar(tipo, indice, locale);
+		String texto;
+		if (!plantilla.tieneVariables()) {
+			texto = plantilla.getFuente();
+		} else {
+			StringBuilder builder = BUILDERS.get();
+			builder.setLength(0);
+			builder.ensureCapacity(plantilla.longitudEstimada());
+			plantilla.renderizar(builder, valores);
+			texto = builder.toString();
+			if (builder.capacity() > CAPACIDAD_MAXIMA_BUILDER) {
+				BUILDERS.remove();
+			}
+		}
+		Contadores c = contadores.get(tipo);
+		c.renderizados.increment();
+		c.nanos.add(System.nanoTime() - inicio);
+		return texto;
+	}
+
+	// Idioma exacto, después solo el idioma (es-MX -> es) y por último el idioma por defecto
+	private Plantilla buscar(TipoNotificacion tipo, int indice, Locale locale) {
+		if (locale != null) {
+			Plantilla plantilla = buscarEn(plantillas.get(locale), tipo, indice);
+			if (plantilla == null && !locale.getCountry().isEmpty()) {
+				plantilla = buscarEn(plantillas.get(Locale.forLanguageTag(locale.getLanguage())), tipo, indice);
+			}
+			if (plantilla != null) {
+				return plantilla;
+			}
+		}
+		return plantillas.get(porDefecto).get(tipo)[indice];
+	}
+
+	private static Plantilla buscarEn(Map<TipoNotificacion, Plantilla[]> porTipo, TipoNotificacion tipo, int indice) {
+		if (porTipo == null) {
+			return null;
+		}
+		Plantilla[] partes = porTipo.get(tipo);
+		return partes == null ? null : partes[indice];
+	}
+
+	private Map<TipoNotificacion, Plantilla[]> compilar(Properties propiedades, String fichero) {
+		Map<TipoNotificacion, Plantilla[]> porTipo = new EnumMap<>(TipoNotificacion.class);
+		for (TipoNotificacion tipo : TipoNotificacion.values()) {
+			Plantilla[] partes = new Plantilla[ReceptorNotificacion.values().length * 2];
+			for (int i = 0; i < partes.length; i++) {
+				String fuente = propiedades.getProperty(clave(tipo, i));
+				if (fuente != null) {
+					try {
+						partes[i] = Plantilla.compilar(fuente);
+					} catch (IllegalArgumentException e) {
+						throw new IllegalStateException(fichero + ": " + e.getMessage(), e);
+					}
+				}
+			}
+			porTipo.put(tipo, partes);
+		}
+		return porTipo;
+	}
+
+	// notificaciones.properties -> idioma por defecto; notificaciones_pt_BR.properties -> pt-BR
+	private Locale localeDe(String fichero) {
+		String nombre = fichero.substring(0, fichero.length() - ".properties".length());
+		int separador = nombre.indexOf('_');
+		return separador < 0 ? porDefecto : Locale.forLanguageTag(nombre.substring(separador + 1).replace('_', '-'));
+	}
+
+	private static int indice(ReceptorNotificacion receptor, boolean cuerpo) {
+		return receptor.ordinal() * 2 + (cuerpo ? 1 : 0);
+	}
+
+	private static String clave(TipoNotificacion tipo, int indice) {
+		ReceptorNotificacion receptor = ReceptorNotificacion.values()[indice / 2];
+		return tipo.name() + "." + receptor.getClave() + (indice % 2 == 0 ? ".asunto" : ".cuerpo");
+	}
+
+	private static final class Contadores {
+		private final LongAdder renderizados = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+	}
+}
@@ -0,0 +1,11 @@
+package manyWorker.notificacion;
+
+// Eventos que generan notificaciones. Cada receptor que deba recibirla necesita asunto y cuerpo
+// en plantillas/notificaciones.properties (clave: EVENTO.receptor.asunto / EVENTO.receptor.cuerpo).
+public enum TipoNotificacion {
+	SOLICITUD_CREADA,
+	SOLICITUD_ACEPTADA,
+	SOLICITUD_RECHAZADA,
+	// Rechazada automáticamente porque se aceptó otra solicitud de la misma tarea
+	SOLICITUD_DESCARTADA
+}
@@ -0,0 +1,34 @@
+package manyWorker.notificacion;
+
+// Variables disponibles en las plantillas ({nombreCliente}, {precio}...).
+// Al renderizar los valores se pasan en un array indexado por ordinal, sin mapas intermedios.
+public enum VariablePlantilla {
+	NOMBRE_CLIENTE("nombreCliente"),
+	NOMBRE_TRABAJADOR("nombreTrabajador"),
+	DESCRIPCION_TAREA("descripcionTarea"),
+	PRECIO("precio"),
+	COMENTARIO("comentario");
+
+	private final String clave;
+
+	VariablePlantilla(String clave) {
+		this.clave = clave;
+	}
+
+	public String getClave() {
+		return clave;
+	}
+
+	public static String[] valores() {
+		return new String[values().length];
+	}
+
+	static VariablePlantilla porClave(String clave) {
+		for (VariablePlantilla v : values()) {
+			if (v.clave.equals(clave)) {
+				return v;
+			}
+		}
+		return null;
+	}
+}
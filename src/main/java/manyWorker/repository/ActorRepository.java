@@ -1,6 +1,9 @@
 package manyWorker.repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,4 +14,16 @@ import manyWorker.entity.Actor;
 public interface ActorRepository extends JpaRepository<Actor, Integer>{
 	@Query("SELECT a FROM Actor a WHERE a.username=?1")
 	Optional<Actor> findByUsername(String username);
+
+	// Ids de actores en orden ascendente a partir de uno dado, para recorrer la tabla por lotes
+	@Query("SELECT a.id FROM Actor a WHERE a.id > ?1 ORDER BY a.id")
+	List<Integer> findIdsDespues(int id, Limit limit);
+
+	// Comprueba en una sola consulta qué ids de un lote siguen existiendo
+	@Query("SELECT a.id FROM Actor a WHERE a.id IN ?1")
+	List<Integer> findIdsExistentes(Collection<Integer> ids);
+
+	// Usernames de un lote que ya usa algún actor de cualquier tipo
+	@Query("SELECT a.username FROM Actor a WHERE a.username IN ?1")
+	List<String> findUsernamesExistentes(Collection<String> usernames);
 }
@@ -1,10 +1,13 @@
 package manyWorker.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Admin;
 
 @Repository
@@ -12,4 +15,7 @@ public interface AdminRepository extends JpaRepository<Admin, Integer>{
 
 	Optional<Admin> findByUsername(String username);
 
+	@Query("SELECT new manyWorker.dto.ActorResumen(a.id, a.username, a.nombre, a.apellido, a.rol) FROM Admin a ORDER BY a.id")
+	List<ActorResumen> findAllResumen();
+
 }
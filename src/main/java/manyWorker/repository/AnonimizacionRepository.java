@@ -0,0 +1,31 @@
+package manyWorker.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import manyWorker.entity.Anonimizacion;
+import manyWorker.entity.Anonimizacion.EstadoAnonimizacion;
+
+@Repository
+public interface AnonimizacionRepository extends JpaRepository<Anonimizacion, Integer> {
+
+	Optional<Anonimizacion> findByActorId(int actorId);
+
+	@Query("SELECT a.id FROM Anonimizacion a WHERE a.estado = ?1 ORDER BY a.id")
+	List<Integer> findIdsPorEstado(EstadoAnonimizacion estado, Limit limit);
+
+	// Reserva el trabajo para un lote; vacía si ya terminó o lo está procesando otra instancia (SKIP LOCKED)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT a FROM Anonimizacion a WHERE a.id = ?1 AND a.estado = ?2")
+	List<Anonimizacion> reservar(int id, EstadoAnonimizacion estado);
+}
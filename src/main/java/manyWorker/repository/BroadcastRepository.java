@@ -0,0 +1,45 @@
+package manyWorker.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import manyWorker.dto.MensajeResumen;
+import manyWorker.entity.Broadcast;
+
+@Repository
+public interface BroadcastRepository extends JpaRepository<Broadcast, Integer> {
+
+	// Broadcasts visibles en la bandeja de un actor: todos salvo los propios y los que ha eliminado.
+	// Misma paginación keyset sobre (fechaEnvio, id) que los mensajes personales para poder mezclarlos.
+	@Query("SELECT new manyWorker.dto.MensajeResumen(b.id, b.asunto, b.fechaEnvio, r.id, r.username, d.id, d.username, true) "
+			+ "FROM Broadcast b JOIN b.remitente r, Actor d "
+			+ "WHERE d.id = ?1 AND r.id <> ?1 "
+			+ "AND NOT EXISTS (SELECT l.id FROM LecturaBroadcast l WHERE l.broadcast = b AND l.actor.id = ?1 AND l.eliminado = true) "
+			+ "ORDER BY b.fechaEnvio DESC, b.id DESC")
+	List<MensajeResumen> findBandejaEntrada(int actorId, Limit limit);
+
+	@Query("SELECT new manyWorker.dto.MensajeResumen(b.id, b.asunto, b.fechaEnvio, r.id, r.username, d.id, d.username, true) "
+			+ "FROM Broadcast b JOIN b.remitente r, Actor d "
+			+ "WHERE d.id = ?1 AND r.id <> ?1 "
+			+ "AND (b.fechaEnvio < ?2 OR (b.fechaEnvio = ?2 AND b.id < ?3)) "
+			+ "AND NOT EXISTS (SELECT l.id FROM LecturaBroadcast l WHERE l.broadcast = b AND l.actor.id = ?1 AND l.eliminado = true) "
+			+ "ORDER BY b.fechaEnvio DESC, b.id DESC")
+	List<MensajeResumen> findBandejaEntradaDespues(int actorId, Date fechaEnvio, int id, Limit limit);
+
+	// En la bandeja de salida un broadcast no tiene un destinatario concreto
+	@Query("SELECT new manyWorker.dto.MensajeResumen(b.id, b.asunto, b.fechaEnvio, r.id, r.username, 0, cast(null as String), true) "
+			+ "FROM Broadcast b JOIN b.remitente r "
+			+ "WHERE r.id = ?1 ORDER BY b.fechaEnvio DESC, b.id DESC")
+	List<MensajeResumen> findBandejaSalida(int remitenteId, Limit limit);
+
+	@Query("SELECT new manyWorker.dto.MensajeResumen(b.id, b.asunto, b.fechaEnvio, r.id, r.username, 0, cast(null as String), true) "
+			+ "FROM Broadcast b JOIN b.remitente r "
+			+ "WHERE r.id = ?1 AND (b.fechaEnvio < ?2 OR (b.fechaEnvio = ?2 AND b.id < ?3)) "
+			+ "ORDER BY b.fechaEnvio DESC, b.id DESC")
+	List<MensajeResumen> findBandejaSalidaDespues(int remitenteId, Date fechaEnvio, int id, Limit limit);
+}
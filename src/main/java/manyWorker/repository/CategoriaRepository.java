@@ -1,10 +1,28 @@
 package manyWorker.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import manyWorker.dto.CategoriaDatos;
+import manyWorker.dto.RecuentoCategoria;
 import manyWorker.entity.Categoria;
 
 @Repository
 public interface CategoriaRepository extends JpaRepository<Categoria, String> {
-}
\ No newline at end of file
+
+	// Carga completa del catálogo sin tocar la colección de tareas
+	@Query("SELECT new manyWorker.dto.CategoriaDatos(c.id, c.titulo, c.leyesAplicables, c.esReparacion) FROM Categoria c ORDER BY c.titulo, c.id")
+	List<CategoriaDatos> findAllDatos();
+
+	@Query("SELECT new manyWorker.dto.RecuentoCategoria(c.id, c.numeroTareas) FROM Categoria c ORDER BY c.id")
+	List<RecuentoCategoria> findRecuentos();
+
+	// Misma sentencia que la inicialización de db/esquema-adicional.sql
+	@Modifying
+	@Query(value = "UPDATE categoria c SET numero_tareas = (SELECT count(*) FROM tarea t WHERE t.categoria_id = c.id)", nativeQuery = true)
+	int recalcularRecuentos();
+}
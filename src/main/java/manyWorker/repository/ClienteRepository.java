@@ -1,13 +1,43 @@
 package manyWorker.repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import manyWorker.dto.ActorResumen;
+import manyWorker.dto.ClienteExportado;
+import manyWorker.dto.PerfilSocialExportado;
 import manyWorker.entity.Cliente;
 
 @Repository
-public interface ClienteRepository extends JpaRepository<Cliente, Integer>{
+public interface ClienteRepository extends JpaRepository<Cliente, Integer>, InsercionMasiva<Cliente> {
 	Optional<Cliente> findByUsername(String username);
+
+	@Query("SELECT new manyWorker.dto.ActorResumen(c.id, c.username, c.nombre, c.apellido, c.rol) FROM Cliente c ORDER BY c.id")
+	List<ActorResumen> findAllResumen();
+
+	@Query("SELECT new manyWorker.dto.ClienteExportado(c.id, c.username, c.nombre, c.apellido, c.apellido2, c.foto, "
+			+ "c.correo, c.telefono, c.direccion) FROM Cliente c WHERE c.id = ?1")
+	Optional<ClienteExportado> findExportacion(int id);
+
+	// Las consultas de exportación devuelven un cursor (fetchSize) de proyecciones que no se quedan en el
+	// contexto de persistencia; deben consumirse dentro de una transacción y cerrarse al terminar
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("SELECT new manyWorker.dto.PerfilSocialExportado(p.id, p.apodo, p.nombreRedSocial, p.enlace) "
+			+ "FROM Cliente c JOIN c.numeroPerfiles p WHERE c.id = ?1")
+	Stream<PerfilSocialExportado> streamPerfilesExportacion(int clienteId);
+
+	// Último paso de la anonimización: sustituye los datos personales y deja la cuenta baneada y sin clave utilizable
+	@Modifying
+	@Query("UPDATE Cliente c SET c.nombre = 'Anónimo', c.apellido = 'Anónimo', c.apellido2 = NULL, c.foto = NULL, "
+			+ "c.correo = NULL, c.telefono = NULL, c.direccion = NULL, c.latitud = NULL, c.longitud = NULL, "
+			+ "c.username = ?2, c.password = ?3, c.baneado = true, c.version = c.version + 1 WHERE c.id = ?1")
+	int anonimizar(int id, String username, String password);
 }
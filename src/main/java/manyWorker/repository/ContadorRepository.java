@@ -0,0 +1,26 @@
+package manyWorker.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import manyWorker.entity.Contador;
+import manyWorker.entity.Contador.TipoContador;
+
+@Repository
+public interface ContadorRepository extends JpaRepository<Contador, Contador.Clave> {
+
+	@Query("SELECT c.valor FROM Contador c WHERE c.tipo = ?1 AND c.clave = ?2")
+	Optional<Long> findValor(TipoContador tipo, String clave);
+
+	// Las claves a cero se conservan: se omiten para no listar todo lo que alguna vez tuvo valor
+	@Query("SELECT c FROM Contador c WHERE c.tipo = ?1 AND c.valor <> 0 ORDER BY c.valor DESC, c.clave")
+	List<Contador> findByTipo(TipoContador tipo);
+
+	// Función definida en db/esquema-adicional.sql
+	@Query(value = "SELECT recalcular_contadores()", nativeQuery = true)
+	Integer recalcular();
+}
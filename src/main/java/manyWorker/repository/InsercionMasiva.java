@@ -0,0 +1,12 @@
+package manyWorker.repository;
+
+import java.util.Collection;
+
+// Fragmento común a los repositorios que admiten importaciones masivas
+public interface InsercionMasiva<T> {
+
+	// Inserta las entidades nuevas con persist en lotes JDBC (hibernate.jdbc.batch_size) y vacía el contexto de
+	// persistencia al terminar, para que una importación larga no acumule entidades gestionadas.
+	// Debe llamarse dentro de una transacción propia: el clear también desvincula las entidades del llamante.
+	int insertarEnLote(Collection<? extends T> entidades);
+}
@@ -0,0 +1,23 @@
+package manyWorker.repository;
+
+import java.util.Collection;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// persist en lugar de save: save hace merge (un SELECT por fila) cuando la entidad ya trae id, como Tarea
+public class InsercionMasivaImpl<T> implements InsercionMasiva<T> {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int insertarEnLote(Collection<? extends T> entidades) {
+		for (T entidad : entidades) {
+			entityManager.persist(entidad);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		return entidades.size();
+	}
+}
@@ -0,0 +1,34 @@
+package manyWorker.repository;
+
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import manyWorker.entity.LecturaBroadcast;
+
+@Repository
+public interface LecturaBroadcastRepository extends JpaRepository<LecturaBroadcast, Integer> {
+
+	Optional<LecturaBroadcast> findByBroadcastIdAndActorId(int broadcastId, int actorId);
+
+	// Crear la fila o actualizar la existente en una sola sentencia: dos peticiones simultáneas del mismo actor
+	// no chocan con uk_lectura_broadcast_actor. El id sale de la secuencia de la entidad; las filas de esta tabla
+	// solo se insertan desde aquí, así que no se cruzan con los bloques que reserva Hibernate.
+	@Modifying
+	@Query(value = "INSERT INTO lectura_broadcast (id, version, broadcast_id, actor_id, fecha_lectura, eliminado) "
+			+ "VALUES (nextval('lectura_broadcast_seq'), 0, ?1, ?2, ?3, false) "
+			+ "ON CONFLICT (broadcast_id, actor_id) DO UPDATE SET fecha_lectura = EXCLUDED.fecha_lectura, "
+			+ "version = lectura_broadcast.version + 1 WHERE lectura_broadcast.fecha_lectura IS NULL", nativeQuery = true)
+	int marcarLeido(int broadcastId, int actorId, Date fechaLectura);
+
+	@Modifying
+	@Query(value = "INSERT INTO lectura_broadcast (id, version, broadcast_id, actor_id, fecha_lectura, eliminado) "
+			+ "VALUES (nextval('lectura_broadcast_seq'), 0, ?1, ?2, NULL, true) "
+			+ "ON CONFLICT (broadcast_id, actor_id) DO UPDATE SET eliminado = true, "
+			+ "version = lectura_broadcast.version + 1 WHERE NOT lectura_broadcast.eliminado", nativeQuery = true)
+	int ocultar(int broadcastId, int actorId);
+}
@@ -1,10 +1,21 @@
 package manyWorker.repository;
 
+import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import manyWorker.dto.LoteAnonimizado;
+import manyWorker.dto.MensajeExportado;
+import manyWorker.dto.MensajeResumen;
 import manyWorker.entity.Mensaje;
 
 @Repository
@@ -13,4 +24,65 @@ public interface MensajeRepository extends JpaRepository<Mensaje, Integer> {
 	List<Mensaje> findByRemitenteId(int remitenteId);
 
     List<Mensaje> findByDestinatarioId(int destinatarioId);
-}
\ No newline at end of file
+
+    @Query("SELECT new manyWorker.dto.MensajeResumen(m.id, m.asunto, m.fechaEnvio, r.id, r.username, d.id, d.username, false) "
+    		+ "FROM Mensaje m JOIN m.remitente r JOIN m.destinatario d ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeResumen> findAllResumen();
+
+    // Paginación keyset sobre (fechaEnvio, id), de más reciente a más antiguo.
+    // Las consultas "...Despues" continúan desde el último mensaje de la página anterior.
+    @Query("SELECT new manyWorker.dto.MensajeResumen(m.id, m.asunto, m.fechaEnvio, r.id, r.username, d.id, d.username, false) "
+    		+ "FROM Mensaje m JOIN m.remitente r JOIN m.destinatario d "
+    		+ "WHERE d.id = ?1 ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeResumen> findBandejaEntrada(int destinatarioId, Limit limit);
+
+    @Query("SELECT new manyWorker.dto.MensajeResumen(m.id, m.asunto, m.fechaEnvio, r.id, r.username, d.id, d.username, false) "
+    		+ "FROM Mensaje m JOIN m.remitente r JOIN m.destinatario d "
+    		+ "WHERE d.id = ?1 AND (m.fechaEnvio < ?2 OR (m.fechaEnvio = ?2 AND m.id < ?3)) "
+    		+ "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeResumen> findBandejaEntradaDespues(int destinatarioId, Date fechaEnvio, int id, Limit limit);
+
+    @Query("SELECT new manyWorker.dto.MensajeResumen(m.id, m.asunto, m.fechaEnvio, r.id, r.username, d.id, d.username, false) "
+    		+ "FROM Mensaje m JOIN m.remitente r JOIN m.destinatario d "
+    		+ "WHERE r.id = ?1 ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeResumen> findBandejaSalida(int remitenteId, Limit limit);
+
+    @Query("SELECT new manyWorker.dto.MensajeResumen(m.id, m.asunto, m.fechaEnvio, r.id, r.username, d.id, d.username, false) "
+    		+ "FROM Mensaje m JOIN m.remitente r JOIN m.destinatario d "
+    		+ "WHERE r.id = ?1 AND (m.fechaEnvio < ?2 OR (m.fechaEnvio = ?2 AND m.id < ?3)) "
+    		+ "ORDER BY m.fechaEnvio DESC, m.id DESC")
+    List<MensajeResumen> findBandejaSalidaDespues(int remitenteId, Date fechaEnvio, int id, Limit limit);
+
+    // Fan-out de un broadcast en la propia base de datos (INSERT ... SELECT) para los actores con id en (desde, hasta].
+    // Hibernate asigna los ids desde la secuencia respetando su optimizador.
+    @Modifying
+    @Query("INSERT INTO Mensaje (version, remitente, destinatario, fechaEnvio, asunto, cuerpo) "
+    		+ "SELECT 0, r, a, ?2, ?3, ?4 FROM Actor a, Actor r "
+    		+ "WHERE r.id = ?1 AND a.id <> ?1 AND a.id > ?5 AND a.id <= ?6")
+    int insertarBroadcast(int remitenteId, Date fechaEnvio, String asunto, String cuerpo, int desde, int hasta);
+
+    // Condicional para que dos lecturas simultáneas no choquen por la versión de la entidad
+    @Transactional
+    @Modifying
+    @Query("UPDATE Mensaje m SET m.leido = true WHERE m.id = ?1 AND m.leido = false")
+    int marcarLeido(int id);
+
+    // Mensajes enviados y recibidos por un actor, para la exportación de sus datos.
+    // Solo las claves foráneas: un JOIN con Actor sería la unión de las cuatro tablas de la jerarquía
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new manyWorker.dto.MensajeExportado(m.id, m.remitente.id, m.destinatario.id, m.fechaEnvio, m.asunto, "
+    		+ "m.cuerpo, m.leido) FROM Mensaje m WHERE m.remitente.id = ?1 OR m.destinatario.id = ?1")
+    Stream<MensajeExportado> streamExportacionActor(int actorId);
+
+    // Anonimiza el siguiente lote de mensajes enviados por el actor, recorriendo idx_mensaje_remitente_fecha
+    // a partir del cursor "fechaEnvio|id" (nulo para empezar); devuelve el cursor de la última fila del lote.
+    // Sin @Modifying, como todos los lotes de AnonimizacionService
+    @Query(value = "WITH lote AS (SELECT id FROM mensaje WHERE remitente_id = ?1 "
+    		+ "AND (fecha_envio, id) > (CAST(COALESCE(split_part(?2, '|', 1), '-infinity') AS timestamp), CAST(COALESCE(split_part(?2, '|', 2), '0') AS integer)) "
+    		+ "ORDER BY fecha_envio, id LIMIT ?3 FOR UPDATE), "
+    		+ "anonimizados AS (UPDATE mensaje m SET asunto = 'Mensaje eliminado', cuerpo = 'Mensaje eliminado', version = m.version + 1 "
+    		+ "FROM lote WHERE m.id = lote.id RETURNING m.id, m.fecha_envio) "
+    		+ "SELECT count(*) AS filas, (array_agg(fecha_envio || '|' || id ORDER BY fecha_envio DESC, id DESC))[1] AS cursor "
+    		+ "FROM anonimizados", nativeQuery = true)
+    LoteAnonimizado anonimizarEnviados(int remitenteId, String cursor, int limite);
+}
@@ -0,0 +1,38 @@
+package manyWorker.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import manyWorker.entity.NotificacionPendiente;
+import manyWorker.entity.NotificacionPendiente.EstadoNotificacion;
+
+@Repository
+public interface NotificacionPendienteRepository extends JpaRepository<NotificacionPendiente, Integer> {
+
+	// Reserva un lote de notificaciones listas para enviar. SKIP LOCKED (timeout -2) permite
+	// que varias instancias despachen a la vez sin repartirse la misma fila.
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT n FROM NotificacionPendiente n WHERE n.estado = ?1 AND n.proximoIntento <= ?2 ORDER BY n.id")
+	List<NotificacionPendiente> reservarLote(EstadoNotificacion estado, Date ahora, Limit limit);
+
+	// Reserva una sola notificación pendiente; vacía si ya se entregó o la tiene otra instancia
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("SELECT n FROM NotificacionPendiente n WHERE n.id = ?1 AND n.estado = ?2")
+	List<NotificacionPendiente> reservar(int id, EstadoNotificacion estado);
+
+	@Query("SELECT n.id FROM NotificacionPendiente n WHERE n.estado = ?1 AND n.proximoIntento <= ?2 ORDER BY n.id")
+	List<Integer> findIdsListos(EstadoNotificacion estado, Date ahora, Limit limit);
+
+	long countByEstado(EstadoNotificacion estado);
+}
@@ -1,11 +1,24 @@
 package manyWorker.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import manyWorker.dto.PerfilSocialDatos;
 import manyWorker.entity.PerfilSocial;
 
 @Repository
 public interface PerfilSocialRepository extends JpaRepository<PerfilSocial, Integer>{
 
+	@Query("SELECT new manyWorker.dto.PerfilSocialDatos(p.id, p.apodo, p.nombreRedSocial, p.enlace) FROM PerfilSocial p ORDER BY p.id")
+	List<PerfilSocialDatos> findAllDatos();
+
+	// Borra los perfiles sociales del actor junto con su fila en la tabla de unión, en una sola sentencia
+	@Modifying
+	@Query(value = "WITH enlaces AS (DELETE FROM actor_numero_perfiles WHERE actor_id = ?1 RETURNING numero_perfiles_id) "
+			+ "DELETE FROM perfil_social WHERE id IN (SELECT numero_perfiles_id FROM enlaces)", nativeQuery = true)
+	int borrarDeActor(int actorId);
 }
@@ -1,11 +1,64 @@
 package manyWorker.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import manyWorker.dto.LoteAnonimizado;
+import manyWorker.dto.SolicitudDescartada;
+import manyWorker.dto.SolicitudExportada;
+import manyWorker.dto.SolicitudResumen;
 import manyWorker.entity.Solicitud;
+import manyWorker.entity.Solicitud.EstadoSolicitud;
 
 @Repository
 public interface SolicitudRepository extends JpaRepository<Solicitud, Integer> {
-	
-}
\ No newline at end of file
+
+	// Solicitud con todo lo necesario para validar la transición y notificar, en una sola consulta
+	@Query("SELECT s FROM Solicitud s LEFT JOIN FETCH s.trabajador LEFT JOIN FETCH s.tarea t LEFT JOIN FETCH t.cliente WHERE s.id = ?1")
+	Optional<Solicitud> findConDetalle(int id);
+
+	@Query("SELECT new manyWorker.dto.SolicitudResumen(s.id, s.version, s.estado, s.precioOfrecido, s.comentario, s.fechaRegistro, "
+			+ "s.tarea.id, s.trabajador.id) FROM Solicitud s ORDER BY s.id")
+	List<SolicitudResumen> findAllResumen();
+
+	// Transición condicional: solo cambia la fila si sigue en el estado y la versión leídos.
+	// Devuelve 0 si otra operación se adelantó.
+	@Modifying(clearAutomatically = true)
+	@Query("UPDATE Solicitud s SET s.estado = ?3, s.version = s.version + 1 WHERE s.id = ?1 AND s.estado = ?2 AND s.version = ?4")
+	int cambiarEstado(int id, EstadoSolicitud origen, EstadoSolicitud destino, int version);
+
+	// Rechaza en bloque las demás solicitudes pendientes de la tarea y devuelve las afectadas para notificarlas.
+	// Va sin @Modifying porque devuelve filas (RETURNING) y @Modifying solo admite un recuento. Hibernate no sabe
+	// que la tabla cambia, pero no queda nada desfasado: no hay caché de segundo nivel y aceptar() la ejecuta justo
+	// después de cambiarEstado, que vacía el contexto de persistencia, así que no hay ninguna Solicitud gestionada.
+	@Query(value = "UPDATE solicitud SET estado = 'RECHAZADO', version = version + 1 "
+			+ "WHERE tarea_id = ?1 AND id <> ?2 AND estado = 'PENDIENTE' "
+			+ "RETURNING id, trabajador_id AS trabajadorId, precio_ofrecido AS precioOfrecido, comentario, "
+			+ "(SELECT idioma FROM trabajador WHERE trabajador.id = trabajador_id) AS idiomaTrabajador", nativeQuery = true)
+	List<SolicitudDescartada> rechazarPendientesDeTarea(String tareaId, int idAceptada);
+
+	// Solicitudes recibidas en las tareas de un cliente, para la exportación de sus datos
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("SELECT new manyWorker.dto.SolicitudExportada(s.id, t.id, s.trabajador.id, s.fechaRegistro, s.estado, "
+			+ "s.precioOfrecido, s.comentario) FROM Solicitud s JOIN s.tarea t WHERE t.cliente.id = ?1")
+	Stream<SolicitudExportada> streamExportacionCliente(int clienteId);
+
+	// Anonimiza el comentario del siguiente lote de solicitudes del trabajador (idx_solicitud_trabajador) y rechaza
+	// las pendientes, para que ya no se puedan aceptar. Empieza en el id del cursor (nulo para empezar) y devuelve
+	// el id de la última fila del lote. Sin @Modifying, como todos los lotes de AnonimizacionService
+	@Query(value = "WITH lote AS (SELECT id FROM solicitud WHERE trabajador_id = ?1 AND id > CAST(COALESCE(?2, '0') AS integer) "
+			+ "ORDER BY id LIMIT ?3 FOR UPDATE), "
+			+ "anonimizadas AS (UPDATE solicitud s SET comentario = 'Comentario eliminado', version = s.version + 1, "
+			+ "estado = CASE WHEN s.estado = 'PENDIENTE' THEN 'RECHAZADO' ELSE s.estado END "
+			+ "FROM lote WHERE s.id = lote.id RETURNING s.id) "
+			+ "SELECT count(*) AS filas, CAST(max(id) AS varchar) AS cursor FROM anonimizadas", nativeQuery = true)
+	LoteAnonimizado anonimizarDeTrabajador(int trabajadorId, String cursor, int limite);
+}
@@ -1,11 +1,86 @@
 package manyWorker.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import manyWorker.dto.DireccionTarea;
+import manyWorker.dto.LoteAnonimizado;
+import manyWorker.dto.TareaEncontrada;
+import manyWorker.dto.TareaExportada;
+import manyWorker.dto.TareaResumen;
 import manyWorker.entity.Tarea;
 
 @Repository
-public interface TareaRepository extends JpaRepository<Tarea, String> {
+public interface TareaRepository extends JpaRepository<Tarea, String>, TareaRepositoryCustom, InsercionMasiva<Tarea> {
+
+	// Listado completo sin cargar entidades: la categoría en la misma consulta y del cliente solo la clave foránea
+	@Query("SELECT new manyWorker.dto.TareaResumen(t.id, t.descripcion, t.direccion, t.precioMax, t.fechaPublicacion, t.fechaFin, "
+			+ "c.id, c.titulo, t.cliente.id) FROM Tarea t LEFT JOIN t.categoria c ORDER BY t.fechaPublicacion DESC, t.id DESC")
+	List<TareaResumen> findAllResumen();
 	boolean existsByCategoria_Id(String id);
-}
\ No newline at end of file
+
+	// Búsqueda de texto en la descripción de las tareas abiertas (columna generada "busqueda", ver
+	// db/esquema-adicional.sql), ordenada por relevancia y paginada por cursor (relevancia, id)
+	@Query(value = "SELECT t.id, t.descripcion, t.direccion, t.precio_max AS precioMax, t.fecha_publicacion AS fechaPublicacion, t.fecha_fin AS fechaFin, "
+			+ "c.id AS categoriaId, c.titulo AS categoriaTitulo, t.cliente_id AS clienteId, ts_rank_cd(t.busqueda, q) AS relevancia "
+			+ "FROM tarea t LEFT JOIN categoria c ON c.id = t.categoria_id, websearch_to_tsquery('manyworker_es', ?1) q "
+			+ "WHERE t.busqueda @@ q AND (t.fecha_fin IS NULL OR t.fecha_fin >= CURRENT_DATE) "
+			+ "ORDER BY relevancia DESC, t.id DESC LIMIT ?2", nativeQuery = true)
+	List<TareaEncontrada> buscarTexto(String texto, int limite);
+
+	@Query(value = "SELECT * FROM (SELECT t.id, t.descripcion, t.direccion, t.precio_max AS precioMax, t.fecha_publicacion AS fechaPublicacion, t.fecha_fin AS fechaFin, "
+			+ "c.id AS categoriaId, c.titulo AS categoriaTitulo, t.cliente_id AS clienteId, ts_rank_cd(t.busqueda, q) AS relevancia "
+			+ "FROM tarea t LEFT JOIN categoria c ON c.id = t.categoria_id, websearch_to_tsquery('manyworker_es', ?1) q "
+			+ "WHERE t.busqueda @@ q AND (t.fecha_fin IS NULL OR t.fecha_fin >= CURRENT_DATE)) r "
+			+ "WHERE r.relevancia < CAST(?2 AS real) OR (r.relevancia = CAST(?2 AS real) AND r.id < ?3) "
+			+ "ORDER BY r.relevancia DESC, r.id DESC LIMIT ?4", nativeQuery = true)
+	List<TareaEncontrada> buscarTextoDespues(String texto, float relevancia, String id, int limite);
+
+	// Tareas con dirección y sin coordenadas, recorridas por id para geocodificarlas por lotes
+	@Query("SELECT new manyWorker.dto.DireccionTarea(t.id, t.direccion) FROM Tarea t "
+			+ "WHERE t.latitud IS NULL AND t.direccion IS NOT NULL AND t.id > ?1 ORDER BY t.id")
+	List<DireccionTarea> findSinCoordenadasDespues(String id, Limit limit);
+
+	@Modifying
+	@Query("UPDATE Tarea t SET t.latitud = ?2, t.longitud = ?3, t.geocelda = ?4 WHERE t.id = ?1")
+	int asignarCoordenadas(String id, double latitud, double longitud, long geocelda);
+
+	// Tareas del cliente para la exportación de sus datos, recorriendo idx_tarea_cliente_publicacion
+	@QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+	@Query("SELECT new manyWorker.dto.TareaExportada(t.id, t.fechaPublicacion, t.descripcion, t.direccion, t.precioMax, "
+			+ "t.fechaFin, t.categoria.id) FROM Tarea t WHERE t.cliente.id = ?1 ORDER BY t.fechaPublicacion, t.id")
+	Stream<TareaExportada> streamExportacion(int clienteId);
+
+	// Anonimiza y cierra el siguiente lote de tareas del cliente, recorriendo idx_tarea_cliente_publicacion:
+	// quita la dirección y las coordenadas, cierra las abiertas (fecha fin a ayer, la misma regla que usan las
+	// búsquedas) y rechaza sus solicitudes pendientes. El cursor "fechaPublicacion|id" (nulo para empezar) recorre
+	// las tareas con fecha; las que no la tienen van aparte (anonimizarDeClienteSinFecha), que la comparación de
+	// filas las descarta. Devuelve el cursor de la última fila del lote. Sin @Modifying, como todos los lotes de
+	// AnonimizacionService
+	@Query(value = "WITH lote AS (SELECT id FROM tarea WHERE cliente_id = ?1 "
+			+ "AND (fecha_publicacion, id) > (CAST(COALESCE(split_part(?2, '|', 1), '-infinity') AS date), COALESCE(split_part(?2, '|', 2), '')) "
+			+ "ORDER BY fecha_publicacion, id LIMIT ?3 FOR UPDATE), " + ANONIMIZAR_LOTE_TAREAS, nativeQuery = true)
+	LoteAnonimizado anonimizarDeCliente(int clienteId, String cursor, int limite);
+
+	// Igual que anonimizarDeCliente para las tareas sin fecha de publicación (datos anteriores o importados),
+	// por id a partir del cursor (nulo para empezar); el cursor devuelto es "|id"
+	@Query(value = "WITH lote AS (SELECT id FROM tarea WHERE cliente_id = ?1 AND fecha_publicacion IS NULL "
+			+ "AND id > COALESCE(?2, '') ORDER BY id LIMIT ?3 FOR UPDATE), " + ANONIMIZAR_LOTE_TAREAS, nativeQuery = true)
+	LoteAnonimizado anonimizarDeClienteSinFecha(int clienteId, String cursor, int limite);
+
+	String ANONIMIZAR_LOTE_TAREAS = "anonimizadas AS (UPDATE tarea t SET direccion = NULL, latitud = NULL, longitud = NULL, geocelda = NULL, "
+			+ "fecha_fin = CASE WHEN t.fecha_fin IS NULL OR t.fecha_fin >= CURRENT_DATE THEN CURRENT_DATE - 1 ELSE t.fecha_fin END "
+			+ "FROM lote WHERE t.id = lote.id RETURNING t.id, t.fecha_publicacion), "
+			+ "rechazadas AS (UPDATE solicitud s SET estado = 'RECHAZADO', version = s.version + 1 "
+			+ "FROM lote WHERE s.tarea_id = lote.id AND s.estado = 'PENDIENTE') "
+			+ "SELECT count(*) AS filas, (array_agg(COALESCE(CAST(fecha_publicacion AS varchar), '') || '|' || id "
+			+ "ORDER BY fecha_publicacion DESC NULLS LAST, id DESC))[1] AS cursor FROM anonimizadas";
+}
@@ -0,0 +1,20 @@
+package manyWorker.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import manyWorker.dto.FiltroTareas;
+import manyWorker.dto.TareaCercana;
+import manyWorker.dto.TareaResumen;
+import manyWorker.geo.Coordenadas;
+
+public interface TareaRepositoryCustom {
+
+	// Búsqueda con filtros opcionales, de la más reciente a la más antigua (fechaPublicacion, id).
+	// Con fechaDespues e idDespues continúa a partir de la última tarea de la página anterior.
+	List<TareaResumen> buscar(FiltroTareas filtro, LocalDate fechaDespues, String idDespues, int limite);
+
+	// Tareas abiertas (sin fecha de fin o con fecha de fin no vencida) a menos de radioKm del centro,
+	// de la más cercana a la más lejana (distancia, id). Con distanciaDespues e idDespues continúa la página anterior.
+	List<TareaCercana> buscarCercanas(Coordenadas centro, double radioKm, Double distanciaDespues, String idDespues, int limite);
+}
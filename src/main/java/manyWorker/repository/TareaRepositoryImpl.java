@@ -0,0 +1,142 @@
+package manyWorker.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import manyWorker.dto.FiltroTareas;
+import manyWorker.dto.TareaCercana;
+import manyWorker.dto.TareaResumen;
+import manyWorker.entity.Categoria;
+import manyWorker.entity.Tarea;
+import manyWorker.geo.Coordenadas;
+import manyWorker.geo.GeoCelda;
+
+// La consulta se construye solo con los filtros presentes, así cada combinación tiene su propio plan
+// y puede usar el índice que le corresponde en lugar de un "(? IS NULL OR ...)" genérico.
+public class TareaRepositoryImpl implements TareaRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<TareaResumen> buscar(FiltroTareas filtro, LocalDate fechaDespues, String idDespues, int limite) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<TareaResumen> query = cb.createQuery(TareaResumen.class);
+		Root<Tarea> t = query.from(Tarea.class);
+		Join<Tarea, Categoria> categoria = t.join("categoria", JoinType.LEFT);
+		Path<LocalDate> fechaPublicacion = t.get("fechaPublicacion");
+		Path<String> id = t.get("id");
+
+		// Todas las tareas reciben fechaPublicacion al persistirse; sin ella no se pueden paginar por fecha
+		List<Predicate> condiciones = new ArrayList<>();
+		condiciones.add(cb.isNotNull(fechaPublicacion));
+		if (filtro.categoriaId() != null) {
+			condiciones.add(cb.equal(categoria.get("id"), filtro.categoriaId()));
+		}
+		if (filtro.clienteId() != null) {
+			condiciones.add(cb.equal(t.get("cliente").get("id"), filtro.clienteId()));
+		}
+		if (filtro.precioMin() != null) {
+			condiciones.add(cb.greaterThanOrEqualTo(t.get("precioMax"), filtro.precioMin()));
+		}
+		if (filtro.precioMax() != null) {
+			condiciones.add(cb.lessThanOrEqualTo(t.get("precioMax"), filtro.precioMax()));
+		}
+		if (filtro.finDesde() != null) {
+			condiciones.add(cb.greaterThanOrEqualTo(t.get("fechaFin"), filtro.finDesde()));
+		}
+		// Sin filtro de fecha fin, solo las tareas abiertas (fecha fin sin indicar o no vencida)
+		if (filtro.finDesde() == null && filtro.finHasta() == null) {
+			Path<LocalDate> fechaFin = t.get("fechaFin");
+			condiciones.add(cb.or(cb.isNull(fechaFin), cb.greaterThanOrEqualTo(fechaFin, LocalDate.now())));
+		}
+		if (filtro.finHasta() != null) {
+			condiciones.add(cb.lessThanOrEqualTo(t.get("fechaFin"), filtro.finHasta()));
+		}
+		if (filtro.publicadaDesde() != null) {
+			condiciones.add(cb.greaterThanOrEqualTo(fechaPublicacion, filtro.publicadaDesde()));
+		}
+		if (filtro.publicadaHasta() != null) {
+			condiciones.add(cb.lessThanOrEqualTo(fechaPublicacion, filtro.publicadaHasta()));
+		}
+		if (fechaDespues != null && idDespues != null) {
+			condiciones.add(cb.or(cb.lessThan(fechaPublicacion, fechaDespues),
+					cb.and(cb.equal(fechaPublicacion, fechaDespues), cb.lessThan(id, idDespues))));
+		}
+
+		query.select(cb.construct(TareaResumen.class, id, t.get("descripcion"), t.get("direccion"),
+				t.get("precioMax"), fechaPublicacion, t.get("fechaFin"), categoria.get("id"), categoria.get("titulo"),
+				t.get("cliente").get("id")))
+				.where(condiciones.toArray(new Predicate[0]))
+				.orderBy(cb.desc(fechaPublicacion), cb.desc(id));
+
+		return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+	}
+
+	// El índice sobre geocelda reduce la búsqueda a las celdas que rodean el centro (GeoCelda.rangosCercanos);
+	// la distancia exacta (haversine) solo se calcula para las tareas de esas celdas.
+	@Override
+	@SuppressWarnings("unchecked")
+	public List<TareaCercana> buscarCercanas(Coordenadas centro, double radioKm, Double distanciaDespues,
+			String idDespues, int limite) {
+		List<long[]> rangos = GeoCelda.rangosCercanos(centro, radioKm);
+		StringBuilder celdas = new StringBuilder();
+		for (int i = 0; i < rangos.size(); i++) {
+			celdas.append(i == 0 ? "" : " OR ").append("t.geocelda BETWEEN :desde").append(i).append(" AND :hasta").append(i);
+		}
+		String distancia = String.format(Locale.ROOT,
+				"2 * %s * asin(least(1, sqrt(power(sin(radians(t.latitud - :lat) / 2), 2) "
+						+ "+ cos(radians(:lat)) * cos(radians(t.latitud)) * power(sin(radians(t.longitud - :lon) / 2), 2))))",
+				Coordenadas.RADIO_TIERRA_KM);
+		String sql = "SELECT * FROM (SELECT t.id, t.descripcion, t.direccion, t.precio_max, t.fecha_publicacion, t.fecha_fin, "
+				+ "c.id AS categoria_id, c.titulo, t.cliente_id, " + distancia + " AS distancia "
+				+ "FROM tarea t LEFT JOIN categoria c ON c.id = t.categoria_id "
+				+ "WHERE (" + celdas + ") AND (t.fecha_fin IS NULL OR t.fecha_fin >= CURRENT_DATE)) r "
+				+ "WHERE r.distancia <= :radio"
+				+ (distanciaDespues != null && idDespues != null
+						? " AND (r.distancia > :distanciaDespues OR (r.distancia = :distanciaDespues AND r.id > :idDespues))"
+						: "")
+				+ " ORDER BY r.distancia, r.id LIMIT :limite";
+
+		Query query = entityManager.createNativeQuery(sql)
+				.setParameter("lat", centro.latitud())
+				.setParameter("lon", centro.longitud())
+				.setParameter("radio", radioKm)
+				.setParameter("limite", limite);
+		for (int i = 0; i < rangos.size(); i++) {
+			query.setParameter("desde" + i, rangos.get(i)[0]).setParameter("hasta" + i, rangos.get(i)[1]);
+		}
+		if (distanciaDespues != null && idDespues != null) {
+			query.setParameter("distanciaDespues", distanciaDespues).setParameter("idDespues", idDespues);
+		}
+
+		List<TareaCercana> tareas = new ArrayList<>();
+		for (Object[] fila : (List<Object[]>) query.getResultList()) {
+			tareas.add(new TareaCercana((String) fila[0], (String) fila[1], (String) fila[2],
+					fila[3] == null ? null : ((Number) fila[3]).doubleValue(), fecha(fila[4]), fecha(fila[5]),
+					(String) fila[6], (String) fila[7], fila[8] == null ? 0 : ((Number) fila[8]).intValue(),
+					((Number) fila[9]).doubleValue()));
+		}
+		return tareas;
+	}
+
+	// Las consultas nativas devuelven java.sql.Date
+	private static LocalDate fecha(Object valor) {
+		if (valor instanceof java.sql.Date fecha) {
+			return fecha.toLocalDate();
+		}
+		return (LocalDate) valor;
+	}
+}
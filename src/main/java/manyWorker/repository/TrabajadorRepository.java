@@ -1,14 +1,28 @@
 package manyWorker.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Trabajador;
 
 @Repository
-public interface TrabajadorRepository extends JpaRepository<Trabajador, Integer>{
+public interface TrabajadorRepository extends JpaRepository<Trabajador, Integer>, InsercionMasiva<Trabajador> {
 	
     Optional<Trabajador> findByUsername(String username);
+
+	@Query("SELECT new manyWorker.dto.ActorResumen(t.id, t.username, t.nombre, t.apellido, t.rol) FROM Trabajador t ORDER BY t.id")
+	List<ActorResumen> findAllResumen();
+
+	// Último paso de la anonimización: sustituye los datos personales y deja la cuenta baneada y sin clave utilizable
+	@Modifying
+	@Query("UPDATE Trabajador t SET t.nombre = 'Anónimo', t.apellido = 'Anónimo', t.apellido2 = NULL, t.foto = NULL, "
+			+ "t.correo = NULL, t.telefono = NULL, t.direccion = NULL, t.latitud = NULL, t.longitud = NULL, "
+			+ "t.nombreComercial = NULL, t.username = ?2, t.password = ?3, t.baneado = true, t.version = t.version + 1 WHERE t.id = ?1")
+	int anonimizar(int id, String username, String password);
 }
@@ -3,8 +3,11 @@ package manyWorker.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import manyWorker.dto.TutorialEncontrado;
+import manyWorker.dto.TutorialResumen;
 import manyWorker.entity.Trabajador;
 import manyWorker.entity.Tutorial;
 
@@ -16,5 +19,28 @@ public interface TutorialRepository extends JpaRepository<Tutorial, Integer> {
 	
 	// Buscar todos los tutoriales de un trabajador por ID
 	List<Tutorial> findByAutorId(int autorId);
-	
+
+	@Query("SELECT new manyWorker.dto.TutorialResumen(t.id, t.titulo, t.resumen, t.fechaCreacion, t.fechaActualizacion, a.id, a.username) "
+			+ "FROM Tutorial t JOIN t.autor a ORDER BY t.id")
+	List<TutorialResumen> findAllResumen();
+
+	@Query("SELECT new manyWorker.dto.TutorialResumen(t.id, t.titulo, t.resumen, t.fechaCreacion, t.fechaActualizacion, a.id, a.username) "
+			+ "FROM Tutorial t JOIN t.autor a WHERE a.id = ?1 ORDER BY t.id")
+	List<TutorialResumen> findResumenByAutorId(int autorId);
+
+	// Búsqueda de texto en título, resumen y texto (columna generada "busqueda", ver db/esquema-adicional.sql),
+	// ordenada por relevancia y paginada por cursor (relevancia, id)
+	@Query(value = "SELECT t.id, t.titulo, t.resumen, t.fecha_creacion AS fechaCreacion, t.autor_id AS autorId, ts_rank_cd(t.busqueda, q) AS relevancia "
+			+ "FROM tutorial t, websearch_to_tsquery('manyworker_es', ?1) q "
+			+ "WHERE t.busqueda @@ q "
+			+ "ORDER BY relevancia DESC, t.id DESC LIMIT ?2", nativeQuery = true)
+	List<TutorialEncontrado> buscarTexto(String texto, int limite);
+
+	@Query(value = "SELECT * FROM (SELECT t.id, t.titulo, t.resumen, t.fecha_creacion AS fechaCreacion, t.autor_id AS autorId, ts_rank_cd(t.busqueda, q) AS relevancia "
+			+ "FROM tutorial t, websearch_to_tsquery('manyworker_es', ?1) q "
+			+ "WHERE t.busqueda @@ q) r "
+			+ "WHERE r.relevancia < CAST(?2 AS real) OR (r.relevancia = CAST(?2 AS real) AND r.id < ?3) "
+			+ "ORDER BY r.relevancia DESC, r.id DESC LIMIT ?4", nativeQuery = true)
+	List<TutorialEncontrado> buscarTextoDespues(String texto, float relevancia, int id, int limite);
+
 }
@@ -0,0 +1,56 @@
+package manyWorker.security;
+
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import manyWorker.entity.Actor;
+import manyWorker.repository.ActorRepository;
+
+// Actor autenticado de la petición actual.
+// Se busca una sola vez por id (ya resuelto en el filtro) y Hibernate devuelve directamente la subclase concreta.
+// Si el filtro acaba de cargar el Actor (fallo de PrincipalCache), ya está en el contexto de persistencia de la
+// petición (EntityManagerPorPeticionConfig) y findById lo devuelve sin consultar la base de datos.
+@Component
+@RequestScope
+public class ActorActual {
+
+	@Autowired
+	private ActorRepository actorRepository;
+
+	private boolean resuelto;
+
+	private Actor actor;
+
+	public Actor get() {
+		if (!resuelto) {
+			actor = cargar();
+			resuelto = true;
+		}
+		return actor;
+	}
+
+	// Devuelve el actor solo si es del tipo pedido (Admin, Cliente o Trabajador)
+	public <T extends Actor> T get(Class<T> tipo) {
+		Actor a = get();
+		return tipo.isInstance(a) ? tipo.cast(a) : null;
+	}
+
+	private Actor cargar() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+			return null;
+		}
+		if (authentication.getPrincipal() instanceof ActorPrincipal) {
+			int id = ((ActorPrincipal) authentication.getPrincipal()).getActorId();
+			return actorRepository.findById(id).orElse(null);
+		}
+		Optional<Actor> actorO = actorRepository.findByUsername(authentication.getName());
+		return actorO.orElse(null);
+	}
+}
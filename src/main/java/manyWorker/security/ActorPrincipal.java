@@ -0,0 +1,32 @@
+package manyWorker.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import manyWorker.entity.Roles;
+
+// Principal autenticado que conserva el id y el rol del Actor cargado en el filtro
+public class ActorPrincipal extends User {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int actorId;
+	private final Roles rol;
+
+	public ActorPrincipal(int actorId, Roles rol, String username, String password, boolean enabled,
+			Collection<? extends GrantedAuthority> authorities) {
+		super(username, password, enabled, true, true, true, authorities);
+		this.actorId = actorId;
+		this.rol = rol;
+	}
+
+	public int getActorId() {
+		return actorId;
+	}
+
+	public Roles getRol() {
+		return rol;
+	}
+}
@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -23,17 +24,30 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 	
 	@Autowired
 	private JWTUtils JWTUtils;
+
+	@Autowired
+	private PrincipalCache principalCache;
 	
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		String token = JWTUtils.getToken(request);
-		if (StringUtils.hasText(token) && JWTUtils.validateToken(token)) {
-			String username = JWTUtils.getUsernameOfToken(token);
-			UserDetails userDetails = actorService.loadUserByUsername(username);
-			UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-					userDetails, null, userDetails.getAuthorities());
-			SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+		if (StringUtils.hasText(token)) {
+			Authentication authentication = principalCache.get(token);
+			if (authentication == null) {
+				// Un solo parseo del token y una sola consulta; el resultado queda en cache
+				TokenVerificado tokenVerificado = JWTUtils.verificar(token);
+				UserDetails userDetails = actorService.loadUserByUsername(tokenVerificado.getUsername());
+				UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+						userDetails, null, userDetails.getAuthorities());
+				authenticationToken.setDetails(tokenVerificado);
+				authentication = authenticationToken;
+				principalCache.put(token, authentication, tokenVerificado.getExpiracion());
+			}
+			// Los actores baneados no quedan autenticados
+			if (((UserDetails) authentication.getPrincipal()).isEnabled()) {
+				SecurityContextHolder.getContext().setAuthentication(authentication);
+			}
 		}
 		filterChain.doFilter(request, response);
 	}
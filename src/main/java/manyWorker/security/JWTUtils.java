@@ -1,45 +1,36 @@
 package manyWorker.security;
 
+import java.security.Key;
 import java.util.Date;
-import java.util.Optional;
+
+import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
-import manyWorker.entity.Actor;
-import manyWorker.service.ActorService;
-import manyWorker.service.AdminService;
-import manyWorker.service.ClienteService;
-import manyWorker.service.TrabajadorService;
 
 @Component
 public class JWTUtils {
 	@Autowired
-	private ActorService actorService;
-
-	@Autowired
-	@Lazy
-	private AdminService adminService;
-	
-	@Autowired
-	@Lazy
-	private TrabajadorService trabajadorService;
-	
-	@Autowired
-	@Lazy
-	private ClienteService clienteService;
+	private ActorActual actorActual;
 
 	private static final String JWT_FIRMA = "ManyWorker";
 	private static final long EXTENCION_TOKEN = 86400 * 1000L;
 
+	// Clave de firma precalculada una sola vez (mismos bytes que usaba setSigningKey(String))
+	private static final Key CLAVE_FIRMA = new SecretKeySpec(TextCodec.BASE64.decode(JWT_FIRMA),
+			SignatureAlgorithm.HS512.getJcaName());
+
 	public String getToken(HttpServletRequest request) {
 		String tokenBearer = request.getHeader("Authorization");
 		if (StringUtils.hasText(tokenBearer) && tokenBearer.startsWith("Bearer ")) {
@@ -49,47 +40,47 @@ public class JWTUtils {
 	}
 
 	public boolean validateToken(String token) {
+		verificar(token);
+		return true;
+	}
+
+	// Valida la firma y la expiración del token en un único parseo
+	@Timed("manyworker.jwt.verificacion")
+	public TokenVerificado verificar(String token) {
 		try {
-			Jwts.parser().setSigningKey(JWT_FIRMA).parseClaimsJws(token);
-			return true;
+			Claims claims = Jwts.parser().setSigningKey(CLAVE_FIRMA).parseClaimsJws(token).getBody();
+			return new TokenVerificado(token, claims);
 		} catch (Exception e) {
 			throw new AuthenticationCredentialsNotFoundException("JWT ha experido o no es valido");
 		}
 	}
 
+	// Token ya verificado por el filtro en la petición actual, sin volver a parsearlo
+	public TokenVerificado getTokenVerificado() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getDetails() instanceof TokenVerificado) {
+			return (TokenVerificado) authentication.getDetails();
+		}
+		return null;
+	}
+
 	public String generateToken(Authentication authentication) {
 		String username = authentication.getName();
 		Date fechaActual = new Date();
 		Date fechaExpiracion = new Date(fechaActual.getTime() + EXTENCION_TOKEN);
 		String rol = authentication.getAuthorities().iterator().next().getAuthority();
 		String token = Jwts.builder().setSubject(username).setIssuedAt(fechaActual).setExpiration(fechaExpiracion)
-				.claim("rol", rol).signWith(SignatureAlgorithm.HS512, JWT_FIRMA).compact();
+				.claim("rol", rol).signWith(SignatureAlgorithm.HS512, CLAVE_FIRMA).compact();
 		return token;
 	}
 
 	public String getUsernameOfToken(String token) {
-		return Jwts.parser().setSigningKey(JWT_FIRMA).parseClaimsJws(token).getBody().getSubject();
+		return verificar(token).getUsername();
 	}
 
+	// Actor autenticado con su subclase concreta, cargado una sola vez por petición
+	@SuppressWarnings("unchecked")
 	public <T> T userLogin() {
-		String username = SecurityContextHolder.getContext().getAuthentication().getName();
-		if (StringUtils.isEmpty(username)) {
-			return null;
-		}
-		Optional<Actor> actorO = actorService.findByUsername(username);
-		if (!actorO.isPresent()) {
-			return null;
-		}
-		Actor actor = actorO.get();
-		switch (actor.getRol()) {
-		case ADMINISTRADOR:
-			return (T) adminService.findByUsername(username).orElse(null);
-		case TRABAJADOR: 
-            return (T) trabajadorService.findByUsername(username).orElse(null);
-		case CLIENTE: 
-            return (T) clienteService.findByUsername(username).orElse(null);
-		default:
-			return null;
-		}
+		return (T) actorActual.get();
 	}
 }
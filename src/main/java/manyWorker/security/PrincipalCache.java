@@ -0,0 +1,106 @@
+package manyWorker.security;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+// Cache acotada de autenticaciones ya construidas indexada por token JWT.
+// Un acierto evita tanto el parseo del token como la consulta del Actor.
+@Component
+public class PrincipalCache {
+
+	private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+	// Para la tasa de aciertos que publica MetricasAplicacion
+	private final LongAdder aciertos = new LongAdder();
+
+	private final LongAdder fallos = new LongAdder();
+
+	@Value("${manyworker.security.principal-cache.ttl-segundos:300}")
+	private long ttlSegundos;
+
+	@Value("${manyworker.security.principal-cache.max-entradas:10000}")
+	private int maxEntradas;
+
+	// Devuelve el principal si el token ya fue validado y la entrada sigue vigente
+	public Authentication get(String token) {
+		Entrada entrada = entradas.get(token);
+		if (entrada == null) {
+			fallos.increment();
+			return null;
+		}
+		if (entrada.expiraEn <= System.currentTimeMillis()) {
+			entradas.remove(token, entrada);
+			fallos.increment();
+			return null;
+		}
+		aciertos.increment();
+		return entrada.authentication;
+	}
+
+	// La entrada nunca vive más que el propio token
+	public void put(String token, Authentication authentication, Date expiracionToken) {
+		long ahora = System.currentTimeMillis();
+		long expiraEn = ahora + ttlSegundos * 1000L;
+		if (expiracionToken != null && expiracionToken.getTime() < expiraEn) {
+			expiraEn = expiracionToken.getTime();
+		}
+		if (expiraEn <= ahora) {
+			return;
+		}
+		if (entradas.size() >= maxEntradas) {
+			liberarEspacio(ahora);
+		}
+		entradas.put(token, new Entrada(authentication, expiraEn));
+	}
+
+	// Se llama al banear, desbanear o eliminar un actor
+	public void invalidar(String username) {
+		if (username == null) {
+			return;
+		}
+		entradas.values().removeIf(e -> username.equals(e.authentication.getName()));
+	}
+
+	public void invalidarTodo() {
+		entradas.clear();
+	}
+
+	public int size() {
+		return entradas.size();
+	}
+
+	public long getAciertos() {
+		return aciertos.sum();
+	}
+
+	public long getFallos() {
+		return fallos.sum();
+	}
+
+	// Primero se eliminan las entradas caducadas y, si no basta, las primeras que se encuentren
+	private void liberarEspacio(long ahora) {
+		entradas.values().removeIf(e -> e.expiraEn <= ahora);
+		Iterator<String> it = entradas.keySet().iterator();
+		while (entradas.size() >= maxEntradas && it.hasNext()) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	private static final class Entrada {
+		private final Authentication authentication;
+		private final long expiraEn;
+
+		private Entrada(Authentication authentication, long expiraEn) {
+			this.authentication = authentication;
+			this.expiraEn = expiraEn;
+		}
+	}
+}
@@ -14,6 +14,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfiguration {
@@ -34,6 +36,10 @@ public class SecurityConfiguration {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable()).authorizeHttpRequests(auth -> auth
+            // Los despachos ASYNC (fin de un StreamingResponseBody) y ERROR continúan una petición ya autorizada;
+            // el filtro JWT no vuelve a ejecutarse en ellos y sin sesión no habría usuario con el que comprobarlos
+            .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
             // Rutas públicas
             .requestMatchers("/actor/login").permitAll()
             .requestMatchers(HttpMethod.POST, "/trabajador").permitAll()
@@ -78,6 +84,7 @@ public class SecurityConfiguration {
             
             // Rutas MENSAJE
             .requestMatchers(HttpMethod.POST, "/mensajes/enviar").hasAnyAuthority("CLIENTE", "TRABAJADOR", "ADMINISTRADOR")
+	        .requestMatchers(HttpMethod.GET, "/mensajes/broadcast/**").hasAuthority("ADMINISTRADOR")
 	        .requestMatchers(HttpMethod.GET, "/mensajes/**").hasAnyAuthority("CLIENTE", "TRABAJADOR", "ADMINISTRADOR")
 	        .requestMatchers(HttpMethod.DELETE, "/mensajes/**").hasAnyAuthority("CLIENTE", "TRABAJADOR", "ADMINISTRADOR")
 	        .requestMatchers(HttpMethod.POST, "/mensajes/broadcast").hasAuthority("ADMINISTRADOR")
@@ -106,6 +113,10 @@ public class SecurityConfiguration {
             // Rutas SWAGGER
             .requestMatchers("/v3/api-docs/**").permitAll()
             .requestMatchers("/swagger-ui.html", "/swagger-ui/**").permitAll()
+
+            // Actuator: la salud es pública (balanceadores); métricas y Prometheus solo para administradores
+            .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+            .requestMatchers("/actuator/**").hasAuthority("ADMINISTRADOR")
             
             // Resto de rutas requieren autenticación
             .anyRequest().authenticated())
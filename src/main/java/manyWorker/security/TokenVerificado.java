@@ -0,0 +1,44 @@
+package manyWorker.security;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+// Resultado inmutable de verificar un JWT una sola vez por petición.
+// El filtro lo guarda como detalle de la autenticación para que JWTUtils y los controladores lo reutilicen.
+public final class TokenVerificado {
+
+	private final String token;
+	private final String username;
+	private final String rol;
+	private final Date emitido;
+	private final Date expiracion;
+
+	public TokenVerificado(String token, Claims claims) {
+		this.token = token;
+		this.username = claims.getSubject();
+		this.rol = claims.get("rol", String.class);
+		this.emitido = claims.getIssuedAt();
+		this.expiracion = claims.getExpiration();
+	}
+
+	public String getToken() {
+		return token;
+	}
+
+	public String getUsername() {
+		return username;
+	}
+
+	public String getRol() {
+		return rol;
+	}
+
+	public Date getEmitido() {
+		return emitido;
+	}
+
+	public Date getExpiracion() {
+		return expiracion;
+	}
+}
@@ -7,7 +7,6 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,11 +14,16 @@ import org.springframework.stereotype.Service;
 
 import manyWorker.entity.Actor;
 import manyWorker.repository.ActorRepository;
+import manyWorker.security.ActorPrincipal;
+import manyWorker.security.PrincipalCache;
 
 @Service
 public class ActorService implements UserDetailsService {
 	@Autowired
 	private ActorRepository actorRepository;
+
+	@Autowired
+	private PrincipalCache principalCache;
 	
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -27,8 +31,10 @@ public class ActorService implements UserDetailsService {
 		if (actorO.isPresent()) {
 			Set<GrantedAuthority> authorities = new HashSet<GrantedAuthority>();
 			authorities.add(new SimpleGrantedAuthority(actorO.get().getRol().toString()));
-			User user = new User(actorO.get().getUsername(), actorO.get().getPassword(), authorities);
-			return user;
+			// Un actor baneado se carga deshabilitado para que no pueda autenticarse
+			Actor actor = actorO.get();
+			return new ActorPrincipal(actor.getId(), actor.getRol(), actor.getUsername(), actor.getPassword(),
+					!actor.isBaneado(), authorities);
 		} else {
 			throw new UsernameNotFoundException("Username no encontrado");
 		}
@@ -37,4 +43,14 @@ public class ActorService implements UserDetailsService {
 	public Optional<Actor> findByUsername(String username) {
 		return actorRepository.findByUsername(username);
 	}
+
+	// Banear o desbanear un actor invalidando su principal cacheado
+	public Actor cambiarBaneo(int id, boolean baneado) {
+		Actor actor = actorRepository.findById(id)
+				.orElseThrow(() -> new RuntimeException("Actor no encontrado"));
+		actor.setBaneado(baneado);
+		Actor guardado = actorRepository.save(actor);
+		principalCache.invalidar(guardado.getUsername());
+		return guardado;
+	}
 }
@@ -7,9 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Admin;
 import manyWorker.entity.Roles;
 import manyWorker.repository.AdminRepository;
+import manyWorker.security.PrincipalCache;
 
 @Service
 public class AdminService {
@@ -20,12 +22,15 @@ public class AdminService {
 	@Autowired
     private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private PrincipalCache principalCache;
+
 	public Optional<Admin> findById(int id) {
 		return this.adminRepository.findById(id);
 	}
 
-	public List<Admin> findAll() {
-		return this.adminRepository.findAll();
+	public List<ActorResumen> findAll() {
+		return this.adminRepository.findAllResumen();
 	}
 
 	public Admin save(Admin admin) {
@@ -50,6 +55,7 @@ public class AdminService {
 			a.setFoto(admin.getFoto());
 			a.setTelefono(admin.getTelefono());
 			a.setDireccion(admin.getDireccion());
+			a.setIdioma(admin.getIdioma());
 			return save(a);
 		}
 		return null;
@@ -58,6 +64,7 @@ public class AdminService {
 	// TODO; Solo el usuario propietario puede realizar esta accion
 	// TODO: Posteriormente se van a a anonimizar los datos en vez de eliminar.
 	public void delete(int id) {
+		this.adminRepository.findById(id).ifPresent(a -> principalCache.invalidar(a.getUsername()));
 		this.adminRepository.deleteById(id);
 	}
 	
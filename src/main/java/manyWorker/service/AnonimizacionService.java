@@ -0,0 +1,254 @@
+package manyWorker.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.transaction.Transactional;
+import manyWorker.dto.LoteAnonimizado;
+import manyWorker.entity.Actor;
+import manyWorker.entity.Anonimizacion;
+import manyWorker.entity.Anonimizacion.EstadoAnonimizacion;
+import manyWorker.entity.Roles;
+import manyWorker.repository.ActorRepository;
+import manyWorker.repository.AnonimizacionRepository;
+import manyWorker.repository.ClienteRepository;
+import manyWorker.repository.MensajeRepository;
+import manyWorker.repository.PerfilSocialRepository;
+import manyWorker.repository.SolicitudRepository;
+import manyWorker.repository.TareaRepository;
+import manyWorker.repository.TrabajadorRepository;
+import manyWorker.security.PrincipalCache;
+
+// Baja de clientes y trabajadores: en vez de borrar, se anonimizan sus datos en segundo plano.
+// - solicitar() banea al actor (deja de poder entrar al momento) y registra el trabajo.
+// - procesar() recorre las fases (mensajes enviados, solicitudes o tareas, perfiles sociales y por último
+//   el propio actor) en lotes de manyworker.anonimizacion.tamano-lote filas. Cada lote es una transacción
+//   corta que guarda el cursor junto con los cambios, así los bloqueos de filas duran solo lo que tarda
+//   el lote y un reinicio continúa desde el último lote confirmado.
+// - Las solicitudes pendientes del trabajador se rechazan, y las tareas del cliente se cierran y se rechazan
+//   sus solicitudes pendientes: nada del actor dado de baja se puede aceptar ni aparece en las búsquedas.
+// Los tutoriales se conservan: su contenido no es un dato personal y el autor pasa a ser el actor anonimizado.
+// Los lotes son sentencias nativas que modifican y devuelven el cursor (WITH ... UPDATE ... RETURNING), así que van
+// sin @Modifying, que solo admite un recuento. Hibernate no sabe qué tablas cambian, y no hace falta: no hay caché de
+// segundo nivel y en la transacción de un lote la única entidad gestionada es la Anonimizacion reservada.
+@Service
+public class AnonimizacionService {
+
+	private static final Logger log = LoggerFactory.getLogger(AnonimizacionService.class);
+
+	// Trabajos que se recogen en cada pasada del planificador
+	private static final int TRABAJOS_POR_PASADA = 20;
+
+	@Autowired
+	private AnonimizacionRepository anonimizacionRepository;
+
+	@Autowired
+	private ActorRepository actorRepository;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private TrabajadorRepository trabajadorRepository;
+
+	@Autowired
+	private MensajeRepository mensajeRepository;
+
+	@Autowired
+	private SolicitudRepository solicitudRepository;
+
+	@Autowired
+	private TareaRepository tareaRepository;
+
+	@Autowired
+	private PerfilSocialRepository perfilSocialRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private PrincipalCache principalCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	// Las pasadas pueden durar segundos (lotes y pausas): no se ejecutan en el hilo del planificador,
+	// que comparten el outbox de notificaciones y el refresco de categorías
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private TaskExecutor taskExecutor;
+
+	private final AtomicBoolean enCurso = new AtomicBoolean();
+
+	@Value("${manyworker.anonimizacion.tamano-lote:500}")
+	private int tamanoLote;
+
+	@Value("${manyworker.anonimizacion.pausa-ms:50}")
+	private long pausaMs;
+
+	@Value("${manyworker.anonimizacion.max-intentos:5}")
+	private int maxIntentos;
+
+	// Idempotente: si el actor ya tiene un trabajo se devuelve ese; si había fallado se vuelve a intentar
+	// desde el punto en que se quedó
+	@Transactional
+	public Anonimizacion solicitar(int actorId) {
+		Optional<Anonimizacion> existente = anonimizacionRepository.findByActorId(actorId);
+		if (existente.isPresent()) {
+			Anonimizacion a = existente.get();
+			if (a.getEstado() == EstadoAnonimizacion.FALLIDA) {
+				a.setEstado(EstadoAnonimizacion.PENDIENTE);
+				a.setIntentos(0);
+				a = anonimizacionRepository.save(a);
+			}
+			return a;
+		}
+		Actor actor = actorRepository.findById(actorId)
+				.orElseThrow(() -> new RuntimeException("Actor no encontrado"));
+		if (actor.getRol() != Roles.CLIENTE && actor.getRol() != Roles.TRABAJADOR) {
+			throw new IllegalArgumentException("Solo se pueden anonimizar clientes y trabajadores");
+		}
+		actor.setBaneado(true);
+		actorRepository.save(actor);
+		principalCache.invalidar(actor.getUsername());
+		return anonimizacionRepository.save(new Anonimizacion(actorId, actor.getRol()));
+	}
+
+	public Optional<Anonimizacion> findByActorId(int actorId) {
+		return anonimizacionRepository.findByActorId(actorId);
+	}
+
+	// Lanza una pasada si no hay otra en curso en esta instancia
+	@Scheduled(fixedDelayString = "${manyworker.anonimizacion.intervalo-ms:5000}")
+	public void programar() {
+		if (enCurso.compareAndSet(false, true)) {
+			try {
+				taskExecutor.execute(() -> {
+					try {
+						procesar();
+					} finally {
+						enCurso.set(false);
+					}
+				});
+			} catch (RuntimeException e) {
+				enCurso.set(false);
+				throw e;
+			}
+		}
+	}
+
+	public void procesar() {
+		List<Integer> ids = anonimizacionRepository.findIdsPorEstado(EstadoAnonimizacion.PENDIENTE,
+				Limit.of(TRABAJOS_POR_PASADA));
+		for (Integer id : ids) {
+			if (!completar(id)) {
+				return;
+			}
+		}
+	}
+
+	// Procesa lotes del trabajo hasta terminarlo; devuelve false si hay que dejar la pasada (interrupción)
+	private boolean completar(int id) {
+		while (true) {
+			Boolean quedan;
+			try {
+				quedan = transactionTemplate.execute(status -> procesarLote(id));
+			} catch (RuntimeException e) {
+				transactionTemplate.executeWithoutResult(status -> registrarFallo(id, e));
+				return true;
+			}
+			if (!Boolean.TRUE.equals(quedan)) {
+				return true;
+			}
+			try {
+				Thread.sleep(pausaMs);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+	}
+
+	// Un lote de la fase actual y el avance del trabajo, en la misma transacción.
+	// Si otra instancia tiene reservado el trabajo (SKIP LOCKED) no se hace nada.
+	private boolean procesarLote(int id) {
+		List<Anonimizacion> reservado = anonimizacionRepository.reservar(id, EstadoAnonimizacion.PENDIENTE);
+		if (reservado.isEmpty()) {
+			return false;
+		}
+		Anonimizacion a = reservado.get(0);
+		switch (a.getFase()) {
+			case MENSAJES -> avanzar(a, mensajeRepository.anonimizarEnviados(a.getActorId(), a.getCursor(), tamanoLote));
+			case SOLICITUDES -> avanzar(a, solicitudRepository.anonimizarDeTrabajador(a.getActorId(), a.getCursor(), tamanoLote));
+			case TAREAS -> anonimizarTareas(a);
+			case PERFILES -> a.avanzar(null, perfilSocialRepository.borrarDeActor(a.getActorId()));
+			case ACTOR -> a.avanzar(null, anonimizarActor(a));
+			case TERMINADA -> a.avanzar(null, 0);
+		}
+		if (a.getEstado() == EstadoAnonimizacion.COMPLETADA) {
+			log.info("Actor {} anonimizado ({} filas)", a.getActorId(), a.getFilas());
+		}
+		return a.getEstado() == EstadoAnonimizacion.PENDIENTE;
+	}
+
+	// Un lote incompleto es el último de su fase: se pasa a la siguiente sin otra consulta vacía
+	private void avanzar(Anonimizacion a, LoteAnonimizado lote) {
+		a.avanzar(lote.getFilas() < tamanoLote ? null : lote.getCursor(), lote.getFilas());
+	}
+
+	// Primero las tareas con fecha de publicación, por (fecha, id); al acabarlas el cursor pasa a "|" y se
+	// recorren por id las que no la tienen
+	private void anonimizarTareas(Anonimizacion a) {
+		String cursor = a.getCursor();
+		if (cursor != null && cursor.startsWith("|")) {
+			avanzar(a, tareaRepository.anonimizarDeClienteSinFecha(a.getActorId(), cursor.substring(1), tamanoLote));
+			return;
+		}
+		LoteAnonimizado lote = tareaRepository.anonimizarDeCliente(a.getActorId(), cursor, tamanoLote);
+		a.avanzar(lote.getFilas() < tamanoLote ? "|" : lote.getCursor(), lote.getFilas());
+	}
+
+	private int anonimizarActor(Anonimizacion a) {
+		// El username deja de existir: se quita de la caché por si se volvió a cargar tras el baneo
+		actorRepository.findById(a.getActorId()).ifPresent(actor -> principalCache.invalidar(actor.getUsername()));
+		String username = "anonimo-" + a.getActorId();
+		String password = passwordEncoder.encode(UUID.randomUUID().toString());
+		return a.getRol() == Roles.CLIENTE
+				? clienteRepository.anonimizar(a.getActorId(), username, password)
+				: trabajadorRepository.anonimizar(a.getActorId(), username, password);
+	}
+
+	private void registrarFallo(int id, RuntimeException e) {
+		anonimizacionRepository.findById(id).ifPresent(a -> {
+			a.setIntentos(a.getIntentos() + 1);
+			a.setUltimoError(recortar(String.valueOf(e.getMessage())));
+			if (a.getIntentos() >= maxIntentos) {
+				a.setEstado(EstadoAnonimizacion.FALLIDA);
+				log.error("Anonimización del actor {} marcada como fallida tras {} intentos (fase {})", a.getActorId(),
+						a.getIntentos(), a.getFase(), e);
+			} else {
+				log.warn("Anonimización del actor {} falló en la fase {} (intento {}), se reintenta en la próxima pasada",
+						a.getActorId(), a.getFase(), a.getIntentos(), e);
+			}
+			anonimizacionRepository.save(a);
+		});
+	}
+
+	private static String recortar(String texto) {
+		return texto.length() > 1000 ? texto.substring(0, 1000) : texto;
+	}
+}
@@ -0,0 +1,166 @@
+package manyWorker.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import manyWorker.dto.ProgresoBroadcast;
+import manyWorker.entity.Actor;
+import manyWorker.entity.Broadcast;
+import manyWorker.entity.LecturaBroadcast;
+import manyWorker.repository.ActorRepository;
+import manyWorker.repository.BroadcastRepository;
+import manyWorker.repository.LecturaBroadcastRepository;
+import manyWorker.repository.MensajeRepository;
+
+// Envío de broadcasts con dos modos de almacenamiento (manyworker.broadcast.modo):
+// - compartido: el broadcast se guarda una sola vez y las bandejas lo mezclan al leer;
+//   solo se guarda estado por destinatario cuando lo lee o lo elimina (LecturaBroadcast).
+// - copia: una fila de Mensaje por destinatario, repartida en segundo plano en la base de datos
+//   con INSERT ... SELECT por lotes de actores, sin cargar actores ni mensajes en memoria.
+@Service
+public class BroadcastService {
+
+	// Los trabajos terminados se conservan este tiempo para poder consultar su resultado
+	private static final long RETENCION_MS = 60 * 60 * 1000L;
+
+	private final Map<String, Trabajo> trabajos = new ConcurrentHashMap<>();
+
+	@Autowired
+	private MensajeRepository mensajeRepository;
+
+	@Autowired
+	private ActorRepository actorRepository;
+
+	// El de la aplicación, no el del planificador de tareas programadas
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private TaskExecutor taskExecutor;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private BroadcastRepository broadcastRepository;
+
+	@Autowired
+	private LecturaBroadcastRepository lecturaBroadcastRepository;
+
+	@Value("${manyworker.broadcast.tamano-lote:1000}")
+	private int tamanoLote;
+
+	@Value("${manyworker.broadcast.modo:compartido}")
+	private String modo;
+
+	// En modo copia registra el trabajo y lo lanza en segundo plano; en modo compartido basta con una fila
+	@Timed("manyworker.mensajes.broadcast")
+	public ProgresoBroadcast iniciar(int idRemitente, String asunto, String cuerpo) {
+		Actor remitente = actorRepository.findById(idRemitente)
+				.orElseThrow(() -> new RuntimeException("Remitente no encontrado"));
+		purgarTerminados();
+
+		Trabajo trabajo = new Trabajo(UUID.randomUUID().toString(), Math.max(0, actorRepository.count() - 1));
+		trabajos.put(trabajo.id, trabajo);
+		if ("copia".equalsIgnoreCase(modo)) {
+			taskExecutor.execute(() -> ejecutar(trabajo, idRemitente, asunto, cuerpo));
+		} else {
+			broadcastRepository.save(new Broadcast(remitente, new Date(), asunto, cuerpo));
+			trabajo.enviados = trabajo.total;
+			trabajo.terminar("COMPLETADO", null);
+		}
+		return trabajo.progreso();
+	}
+
+	public Optional<Broadcast> findCompartido(int id) {
+		return broadcastRepository.findById(id);
+	}
+
+	// Marca el broadcast como leído por el actor. Las lecturas repetidas solo consultan; la primera crea la fila
+	// con un upsert, así varias peticiones a la vez del mismo actor no chocan. El remitente no tiene lectura propia.
+	@Transactional
+	public void marcarLeido(Broadcast broadcast, Actor actor) {
+		if (broadcast.getRemitente().getId() == actor.getId()) {
+			return;
+		}
+		Optional<LecturaBroadcast> lectura = lecturaBroadcastRepository.findByBroadcastIdAndActorId(broadcast.getId(), actor.getId());
+		if (lectura.isEmpty() || lectura.get().getFechaLectura() == null) {
+			lecturaBroadcastRepository.marcarLeido(broadcast.getId(), actor.getId(), new Date());
+		}
+	}
+
+	// Elimina el broadcast solo de la bandeja del actor; el resto de destinatarios lo siguen viendo
+	@Transactional
+	public void ocultar(Broadcast broadcast, Actor actor) {
+		lecturaBroadcastRepository.ocultar(broadcast.getId(), actor.getId());
+	}
+
+	public Optional<ProgresoBroadcast> progreso(String jobId) {
+		Trabajo trabajo = trabajos.get(jobId);
+		return trabajo == null ? Optional.empty() : Optional.of(trabajo.progreso());
+	}
+
+	private void ejecutar(Trabajo trabajo, int idRemitente, String asunto, String cuerpo) {
+		Date fechaEnvio = new Date();
+		int ultimoId = 0;
+		try {
+			while (true) {
+				List<Integer> ids = actorRepository.findIdsDespues(ultimoId, Limit.of(tamanoLote));
+				if (ids.isEmpty()) {
+					break;
+				}
+				int desde = ultimoId;
+				int hasta = ids.get(ids.size() - 1);
+				Integer insertados = transactionTemplate.execute(status ->
+						mensajeRepository.insertarBroadcast(idRemitente, fechaEnvio, asunto, cuerpo, desde, hasta));
+				trabajo.enviados += insertados == null ? 0 : insertados;
+				ultimoId = hasta;
+			}
+			trabajo.terminar("COMPLETADO", null);
+		} catch (Exception e) {
+			trabajo.terminar("ERROR", e.getMessage());
+		}
+	}
+
+	private void purgarTerminados() {
+		long limite = System.currentTimeMillis() - RETENCION_MS;
+		trabajos.values().removeIf(t -> t.fin != null && t.fin.getTime() < limite);
+	}
+
+	private static final class Trabajo {
+		private final String id;
+		private final long total;
+		private final Date inicio = new Date();
+		private volatile long enviados;
+		private volatile String estado = "EN_CURSO";
+		private volatile Date fin;
+		private volatile String error;
+
+		private Trabajo(String id, long total) {
+			this.id = id;
+			this.total = total;
+		}
+
+		private void terminar(String estado, String error) {
+			this.error = error;
+			this.fin = new Date();
+			this.estado = estado;
+		}
+
+		private ProgresoBroadcast progreso() {
+			return new ProgresoBroadcast(id, estado, total, enviados, inicio, fin, error);
+		}
+	}
+}
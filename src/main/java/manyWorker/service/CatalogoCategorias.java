@@ -0,0 +1,72 @@
+package manyWorker.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import manyWorker.dto.CategoriaDatos;
+
+// Foto inmutable del catálogo de categorías. CategoriaService la sustituye entera cuando cambia,
+// así que quien la lee nunca ve un catálogo a medio actualizar.
+// El ETag sale del contenido: se mantiene entre reinicios y entre instancias con los mismos datos.
+public final class CatalogoCategorias {
+
+	private final long version;
+	private final List<CategoriaDatos> categorias;
+	private final Map<String, CategoriaDatos> porId;
+	private final String etag;
+
+	CatalogoCategorias(long version, List<CategoriaDatos> categorias) {
+		this.version = version;
+		this.categorias = List.copyOf(categorias);
+		Map<String, CategoriaDatos> indice = new LinkedHashMap<>();
+		for (CategoriaDatos categoria : this.categorias) {
+			indice.put(categoria.id(), categoria);
+		}
+		this.porId = Map.copyOf(indice);
+		this.etag = "\"" + resumen(this.categorias) + "\"";
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public List<CategoriaDatos> getCategorias() {
+		return categorias;
+	}
+
+	public Optional<CategoriaDatos> get(String id) {
+		return id == null ? Optional.empty() : Optional.ofNullable(porId.get(id));
+	}
+
+	public boolean contiene(String id) {
+		return id != null && porId.containsKey(id);
+	}
+
+	public String getEtag() {
+		return etag;
+	}
+
+	boolean mismoContenido(List<CategoriaDatos> otras) {
+		return categorias.equals(otras);
+	}
+
+	private static String resumen(List<CategoriaDatos> categorias) {
+		try {
+			MessageDigest sha = MessageDigest.getInstance("SHA-256");
+			for (CategoriaDatos c : categorias) {
+				// Separadores que no aparecen en los textos para que dos catálogos distintos no se confundan
+				sha.update((c.id() + '\u0000' + c.titulo() + '\u0000' + c.leyesAplicables() + '\u0000'
+						+ c.esReparacion() + '\u0001').getBytes(StandardCharsets.UTF_8));
+			}
+			return HexFormat.of().formatHex(sha.digest(), 0, 12);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
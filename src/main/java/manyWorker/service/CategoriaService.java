@@ -4,31 +4,89 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import jakarta.transaction.Transactional;
+import manyWorker.dto.CategoriaDatos;
+import manyWorker.dto.RecuentoCategoria;
 import manyWorker.entity.Categoria;
 import manyWorker.repository.CategoriaRepository;
+import manyWorker.repository.TareaRepository;
 
+// Las lecturas se sirven desde una foto en memoria del catálogo (CatalogoCategorias) que se
+// sustituye al guardar, actualizar o eliminar una categoría; solo las escrituras van a la base de datos.
 @Service
 public class CategoriaService {
 
     @Autowired
     private CategoriaRepository categoriaRepository;
 
-    public List<Categoria> findAll() {
-        return categoriaRepository.findAll();
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    private volatile CatalogoCategorias catalogo;
+
+    public CatalogoCategorias catalogo() {
+        CatalogoCategorias actual = catalogo;
+        return actual != null ? actual : recargar();
+    }
+
+    public List<CategoriaDatos> findAll() {
+        return catalogo().getCategorias();
     }
 
-    public Optional<Categoria> findById(String id) {
-        return categoriaRepository.findById(id);
+    public Optional<CategoriaDatos> findById(String id) {
+        return catalogo().get(id);
+    }
+
+    public boolean esReparacion(String id) {
+        return catalogo().get(id).map(CategoriaDatos::esReparacion).orElse(false);
     }
 
     public Categoria save(Categoria categoria) {
-        return categoriaRepository.save(categoria);
+        Categoria guardada = categoriaRepository.save(categoria);
+        recargarTrasCommit();
+        return guardada;
     }
 
     public boolean existsById(String id) {
-        return categoriaRepository.existsById(id);
+        return catalogo().contiene(id);
+    }
+
+    // Vuelve a leer el catálogo y publica una foto nueva solo si ha cambiado.
+    // Sincronizado para que dos recargas simultáneas no publiquen versiones fuera de orden.
+    public synchronized CatalogoCategorias recargar() {
+        List<CategoriaDatos> categorias = categoriaRepository.findAllDatos();
+        CatalogoCategorias actual = catalogo;
+        if (actual == null || !actual.mismoContenido(categorias)) {
+            actual = new CatalogoCategorias(actual == null ? 1 : actual.getVersion() + 1, categorias);
+            catalogo = actual;
+        }
+        return actual;
+    }
+
+    // Recoge los cambios hechos fuera de esta instancia (otros nodos o SQL directo)
+    @Scheduled(fixedDelayString = "${manyworker.categorias.refresco-ms:60000}",
+            initialDelayString = "${manyworker.categorias.refresco-ms:60000}")
+    public void refrescar() {
+        recargar();
+    }
+
+    // Dentro de una transacción la foto nueva se publica al confirmar, nunca con datos sin confirmar
+    private void recargarTrasCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recargar();
+                }
+            });
+        } else {
+            recargar();
+        }
     }
 
     // Actualizar categoría
@@ -39,7 +97,9 @@ public class CategoriaService {
             categoria.setTitulo(datos.getTitulo());
             categoria.setLeyesAplicables(datos.getLeyesAplicables());
             categoria.setEsReparacion(datos.isEsReparacion());
-            return categoriaRepository.save(categoria);
+            Categoria guardada = categoriaRepository.save(categoria);
+            recargarTrasCommit();
+            return guardada;
         } else {
             throw new RuntimeException("Categoría no encontrada con ID: " + id);
         }
@@ -47,17 +107,29 @@ public class CategoriaService {
 
     // Eliminar categoría
     public void delete(String id) {
-        Optional<Categoria> categoria = categoriaRepository.findById(id);
-        if (categoria.isPresent()) {
-            if (!categoria.get().getTareas().isEmpty()) {
+        if (categoriaRepository.existsById(id)) {
+            if (tareaRepository.existsByCategoria_Id(id)) {
                 throw new IllegalStateException("No se puede eliminar una categoría que tiene tareas asociadas");
             }
             categoriaRepository.deleteById(id);
+            recargarTrasCommit();
         } else {
             throw new RuntimeException("Categoría no encontrada con ID: " + id);
         }
     }
 
+    // Número de tareas de cada categoría, mantenido por la base de datos al insertar y borrar tareas
+    public List<RecuentoCategoria> recuentos() {
+        return categoriaRepository.findRecuentos();
+    }
+
+    // Recalcula los recuentos desde la tabla de tareas, por si se han desajustado
+    @Transactional
+    public List<RecuentoCategoria> recalcularRecuentos() {
+        categoriaRepository.recalcularRecuentos();
+        return categoriaRepository.findRecuentos();
+    }
+
     // Inicializar categorías por defecto
     public void inicializarCategorias() {
         if (categoriaRepository.count() == 0) {
@@ -82,6 +154,7 @@ public class CategoriaService {
             crearCategoria("Reparación de sistemas de riego", "Términos de sistemas de riego", true);
             crearCategoria("Reparación de ventanas", "Términos de reparación de ventanas", true);
         }
+        recargar();
     }
 
     private void crearCategoria(String titulo, String leyes, boolean esReparacion) {
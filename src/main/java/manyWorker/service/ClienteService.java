@@ -1,18 +1,39 @@
 package manyWorker.service;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 import jakarta.transaction.Transactional;
+import manyWorker.dto.ActorResumen;
+import manyWorker.dto.ClienteExportado;
+import manyWorker.dto.LineaExportacion;
+import manyWorker.dto.MensajeExportado;
+import manyWorker.dto.PerfilSocialExportado;
+import manyWorker.dto.SolicitudExportada;
+import manyWorker.dto.TareaExportada;
 import manyWorker.entity.Cliente;
 import manyWorker.entity.Roles;
 import manyWorker.repository.ClienteRepository;
+import manyWorker.repository.MensajeRepository;
+import manyWorker.repository.SolicitudRepository;
+import manyWorker.repository.TareaRepository;
 
 @Service
 public class ClienteService {
@@ -22,6 +43,25 @@ public class ClienteService {
 
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+
+    @Autowired
+    private TareaRepository tareaRepository;
+
+    @Autowired
+    private SolicitudRepository solicitudRepository;
+
+    @Autowired
+    private MensajeRepository mensajeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnonimizacionService anonimizacionService;
     
     public Optional<Cliente> findByUsername(String username) {
         return clienteRepository.findByUsername(username);
@@ -31,8 +71,8 @@ public class ClienteService {
         return this.clienteRepository.findById(id);
     }
 
-    public List<Cliente> findAll() {
-        return this.clienteRepository.findAll();
+    public List<ActorResumen> findAll() {
+        return this.clienteRepository.findAllResumen();
     }
 
     public Cliente save(Cliente cliente) {
@@ -57,29 +97,71 @@ public class ClienteService {
             c.setFoto(cliente.getFoto());
             c.setTelefono(cliente.getTelefono());
             c.setDireccion(cliente.getDireccion());
+            c.setIdioma(cliente.getIdioma());
             c.setNumeroPerfiles(cliente.getNumeroPerfiles());
             return save(c);
         }
         return null;
     }
 
+    // Los datos no se borran: se anonimizan en segundo plano (AnonimizacionService)
     public void delete(int id) {
-        this.clienteRepository.deleteById(id);
+        anonimizacionService.solicitar(id);
     }
     
-    public Map<String, Object> exportarDatos(int id) {
-        Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
-        Map<String, Object> datos = new HashMap<>();
-        datos.put("nombre", cliente.getNombre());
-        datos.put("apellido", cliente.getApellido());
-        datos.put("apellido2", cliente.getApellido2());
-        datos.put("foto", cliente.getFoto());
-        datos.put("correo", cliente.getCorreo());
-        datos.put("telefono", cliente.getTelefono());
-        datos.put("direccion", cliente.getDireccion());
-        datos.put("numeroPerfiles", cliente.getNumeroPerfiles());
-        return datos;
+    // Exportación de todos los datos del cliente (perfil, perfiles sociales, tareas, solicitudes recibidas y mensajes)
+    // como NDJSON: una LineaExportacion por registro y un "resumen" final con los totales, que permite al receptor
+    // comprobar que la descarga está completa. Cada bloque sale de un cursor de la base de datos y se escribe
+    // directamente en la salida, así la memoria no depende de cuántos datos tenga el cliente.
+    public void exportarDatos(int id, OutputStream salida) throws IOException {
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        // Sin FLUSH_AFTER_WRITE_VALUE: las líneas se acumulan en el búfer del generador y salen en bloques
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida)) {
+            generador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Las líneas ya se separan con '\n'; sin esto Jackson añade un espacio entre valores raíz
+            generador.setRootValueSeparator(null);
+            lectura.executeWithoutResult(status -> {
+                ClienteExportado cliente = clienteRepository.findExportacion(id)
+                        .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+                escribirLinea(escritor, generador, "cliente", cliente);
+                Map<String, Long> resumen = new LinkedHashMap<>();
+                try (Stream<PerfilSocialExportado> perfiles = clienteRepository.streamPerfilesExportacion(id)) {
+                    resumen.put("perfilesSociales", escribirLineas(escritor, generador, "perfilSocial", perfiles));
+                }
+                try (Stream<TareaExportada> tareas = tareaRepository.streamExportacion(id)) {
+                    resumen.put("tareas", escribirLineas(escritor, generador, "tarea", tareas));
+                }
+                try (Stream<SolicitudExportada> solicitudes = solicitudRepository.streamExportacionCliente(id)) {
+                    resumen.put("solicitudes", escribirLineas(escritor, generador, "solicitud", solicitudes));
+                }
+                try (Stream<MensajeExportado> mensajes = mensajeRepository.streamExportacionActor(id)) {
+                    resumen.put("mensajes", escribirLineas(escritor, generador, "mensaje", mensajes));
+                }
+                escribirLinea(escritor, generador, "resumen", resumen);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private long escribirLineas(ObjectWriter escritor, JsonGenerator generador, String tipo, Stream<?> datos) {
+        long[] filas = { 0 };
+        datos.forEach(d -> {
+            escribirLinea(escritor, generador, tipo, d);
+            filas[0]++;
+        });
+        return filas[0];
+    }
+
+    private void escribirLinea(ObjectWriter escritor, JsonGenerator generador, String tipo, Object datos) {
+        try {
+            escritor.writeValue(generador, new LineaExportacion(tipo, datos));
+            generador.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @Transactional
@@ -87,7 +169,7 @@ public class ClienteService {
         if (!clienteRepository.existsById(id)) {
             throw new RuntimeException("Cliente no encontrado");
         }
-        clienteRepository.deleteById(id);
+        anonimizacionService.solicitar(id);
     }
     
     public boolean existsById(int id) {
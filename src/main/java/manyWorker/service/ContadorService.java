@@ -0,0 +1,41 @@
+package manyWorker.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+import manyWorker.entity.Contador;
+import manyWorker.entity.Contador.TipoContador;
+import manyWorker.repository.ContadorRepository;
+
+// Lectura de los contadores agregados. Los mantienen triggers sobre tarea, solicitud y mensaje,
+// así que cualquier camino de escritura (JPA, INSERT ... SELECT del broadcast, SQL directo) los actualiza.
+@Service
+public class ContadorService {
+
+    @Autowired
+    private ContadorRepository contadorRepository;
+
+    // Búsqueda por clave primaria; una clave sin fila vale 0
+    public long get(TipoContador tipo, String clave) {
+        return contadorRepository.findValor(tipo, clave).orElse(0L);
+    }
+
+    public Map<String, Long> listar(TipoContador tipo) {
+        Map<String, Long> valores = new LinkedHashMap<>();
+        for (Contador contador : contadorRepository.findByTipo(tipo)) {
+            valores.put(contador.getClave(), contador.getValor());
+        }
+        return valores;
+    }
+
+    // Rehace todos los contadores desde las tablas de origen; devuelve cuántas filas quedan
+    @Transactional
+    public int recalcular() {
+        Integer filas = contadorRepository.recalcular();
+        return filas == null ? 0 : filas;
+    }
+}
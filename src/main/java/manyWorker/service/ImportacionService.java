@@ -0,0 +1,350 @@
+package manyWorker.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import manyWorker.dto.EtapaImportacion;
+import manyWorker.dto.ResultadoImportacion;
+import manyWorker.dto.TareaImportada;
+import manyWorker.entity.Actor;
+import manyWorker.entity.Cliente;
+import manyWorker.entity.DomainEntity;
+import manyWorker.entity.Roles;
+import manyWorker.entity.Tarea;
+import manyWorker.entity.Trabajador;
+import manyWorker.geo.Geocodificador;
+import manyWorker.repository.ActorRepository;
+import manyWorker.repository.CategoriaRepository;
+import manyWorker.repository.ClienteRepository;
+import manyWorker.repository.InsercionMasiva;
+import manyWorker.repository.TareaRepository;
+import manyWorker.repository.TrabajadorRepository;
+
+// Importación masiva de clientes, trabajadores y tareas desde CSV (con cabecera) o NDJSON (un objeto JSON por línea).
+// La entrada se lee fila a fila sin cargar el fichero en memoria; las filas válidas se insertan por lotes,
+// cada lote en su propia transacción. Si un lote falla se reintenta fila a fila para rechazar solo las culpables.
+@Service
+public class ImportacionService {
+
+	private static final Logger log = LoggerFactory.getLogger(ImportacionService.class);
+
+	// Mismo formato que acepta BCryptPasswordEncoder: las contraseñas ya cifradas no se vuelven a cifrar
+	private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+	private static final CsvMapper CSV = CsvMapper.builder()
+			.enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+			.addModule(new JavaTimeModule())
+			.build();
+
+	public enum Formato {
+		CSV, NDJSON;
+
+		public static Formato de(String contentType) {
+			String tipo = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+			if (tipo.startsWith("text/csv")) {
+				return CSV;
+			}
+			if (tipo.startsWith("application/x-ndjson") || tipo.startsWith("application/jsonl")) {
+				return NDJSON;
+			}
+			throw new IllegalArgumentException("Formato no soportado: se espera text/csv o application/x-ndjson");
+		}
+	}
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Autowired
+	private TrabajadorRepository trabajadorRepository;
+
+	@Autowired
+	private TareaRepository tareaRepository;
+
+	@Autowired
+	private ActorRepository actorRepository;
+
+	@Autowired
+	private CategoriaRepository categoriaRepository;
+
+	@Autowired
+	private CategoriaService categoriaService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private Geocodificador geocodificador;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${manyworker.importacion.tamano-lote:500}")
+	private int tamanoLote;
+
+	@Value("${manyworker.importacion.max-errores:100}")
+	private int maxErrores;
+
+	public ResultadoImportacion importarClientes(Formato formato, InputStream entrada) {
+		return importar("clientes", formato, entrada, Cliente.class, cliente -> prepararActor(cliente, Roles.CLIENTE),
+				Actor::getUsername, clienteRepository);
+	}
+
+	public ResultadoImportacion importarTrabajadores(Formato formato, InputStream entrada) {
+		return importar("trabajadores", formato, entrada, Trabajador.class, trabajador -> {
+			prepararActor(trabajador, Roles.TRABAJADOR);
+			trabajador.setCoordenadas(geocodificador.geocodificar(trabajador.getDireccion()).orElse(null));
+			return trabajador;
+		}, Actor::getUsername, trabajadorRepository);
+	}
+
+	public ResultadoImportacion importarTareas(Formato formato, InputStream entrada) {
+		return importar("tareas", formato, entrada, TareaImportada.class, this::convertirTarea, null, tareaRepository);
+	}
+
+	private <F, E> ResultadoImportacion importar(String tipo, Formato formato, InputStream entrada, Class<F> claseFila,
+			Function<F, E> convertir, Function<E, String> username, InsercionMasiva<E> repositorio) {
+		Importacion<E> importacion = new Importacion<>(repositorio, username);
+		String error = null;
+		try (MappingIterator<F> filas = lector(formato, claseFila).readValues(entrada)) {
+			while (true) {
+				long inicio = System.nanoTime();
+				boolean hayFila = filas.hasNextValue();
+				F fila = hayFila ? filas.nextValue() : null;
+				importacion.lectura.sumar(inicio, hayFila ? 1 : 0);
+				if (!hayFila) {
+					break;
+				}
+				importacion.leidas++;
+				preparar(importacion, fila, convertir);
+				if (importacion.lote.size() >= tamanoLote) {
+					escribir(importacion);
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// Entrada mal formada: se conserva lo ya importado y se informa de dónde se detuvo
+			error = "Importación interrumpida en la fila " + (importacion.leidas + 1) + ": "
+					+ NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+		}
+		escribir(importacion);
+
+		ResultadoImportacion resultado = new ResultadoImportacion(tipo, formato.name(), importacion.leidas,
+				importacion.importadas, importacion.rechazadas, importacion.errores,
+				List.of(importacion.lectura.etapa(), importacion.preparacion.etapa(), importacion.escritura.etapa()),
+				error);
+		log.info("Importación de {} ({}): {} leídas, {} importadas, {} rechazadas; {}", tipo, formato,
+				resultado.leidas(), resultado.importadas(), resultado.rechazadas(), resultado.etapas());
+		// Las mismas cifras por etapa en Micrometer: filas/s de una etapa = rate(filas) / rate(tiempo)
+		importacion.lectura.registrar(meterRegistry, tipo);
+		importacion.preparacion.registrar(meterRegistry, tipo);
+		importacion.escritura.registrar(meterRegistry, tipo);
+		Counter.builder("manyworker.importacion.rechazadas").baseUnit("filas").tag("tipo", tipo)
+				.register(meterRegistry).increment(importacion.rechazadas);
+		return resultado;
+	}
+
+	private ObjectReader lector(Formato formato, Class<?> claseFila) {
+		if (formato == Formato.CSV) {
+			return CSV.readerFor(claseFila).with(CsvSchema.emptySchema().withHeader());
+		}
+		return objectMapper.readerFor(claseFila);
+	}
+
+	// Conversión y validación; la fila que no pasa se rechaza sin llegar a la base de datos
+	private <F, E> void preparar(Importacion<E> importacion, F fila, Function<F, E> convertir) {
+		long inicio = System.nanoTime();
+		long numero = importacion.leidas;
+		try {
+			E entidad = convertir.apply(fila);
+			Set<ConstraintViolation<E>> violaciones = validator.validate(entidad);
+			if (violaciones.isEmpty()) {
+				importacion.lote.add(entidad);
+				importacion.numeros.add(numero);
+			} else {
+				ConstraintViolation<E> v = violaciones.iterator().next();
+				importacion.rechazar(numero, v.getPropertyPath() + " " + v.getMessage(), maxErrores);
+			}
+		} catch (IllegalArgumentException e) {
+			importacion.rechazar(numero, e.getMessage(), maxErrores);
+		}
+		importacion.preparacion.sumar(inicio, 1);
+	}
+
+	private <E> void escribir(Importacion<E> importacion) {
+		if (importacion.lote.isEmpty()) {
+			return;
+		}
+		long inicio = System.nanoTime();
+		if (importacion.username != null) {
+			descartarUsernamesRepetidos(importacion);
+		}
+		List<E> lote = importacion.lote;
+		try {
+			transactionTemplate.execute(status -> importacion.repositorio.insertarEnLote(lote));
+			importacion.importadas += lote.size();
+		} catch (RuntimeException e) {
+			log.warn("Fallo insertando un lote de la importación, se reintenta fila a fila: {}",
+					NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+			for (int i = 0; i < lote.size(); i++) {
+				E entidad = lote.get(i);
+				// El intento fallido ya les asignó id de la secuencia y persist no admite entidades con id
+				if (entidad instanceof DomainEntity d) {
+					d.setId(0);
+					d.setVersion(0);
+				}
+				try {
+					transactionTemplate.execute(status -> importacion.repositorio.insertarEnLote(List.of(entidad)));
+					importacion.importadas++;
+				} catch (RuntimeException fallo) {
+					importacion.rechazar(importacion.numeros.get(i),
+							NestedExceptionUtils.getMostSpecificCause(fallo).getMessage().lines().findFirst().orElse(""),
+							maxErrores);
+				}
+			}
+		}
+		importacion.escritura.sumar(inicio, lote.size());
+		importacion.lote = new ArrayList<>(tamanoLote);
+		importacion.numeros = new ArrayList<>(tamanoLote);
+	}
+
+	// Una consulta por lote en lugar de dejar que cada repetido haga fallar el lote entero (y tampoco hay
+	// restricción unique entre tablas de la jerarquía de Actor que lo detectara)
+	private <E> void descartarUsernamesRepetidos(Importacion<E> importacion) {
+		List<String> usernames = importacion.lote.stream().map(importacion.username).toList();
+		Set<String> ocupados = new HashSet<>(actorRepository.findUsernamesExistentes(usernames));
+		List<E> lote = new ArrayList<>(importacion.lote.size());
+		List<Long> numeros = new ArrayList<>(importacion.lote.size());
+		for (int i = 0; i < usernames.size(); i++) {
+			if (ocupados.add(usernames.get(i))) {
+				lote.add(importacion.lote.get(i));
+				numeros.add(importacion.numeros.get(i));
+			} else {
+				importacion.rechazar(importacion.numeros.get(i), "username ya registrado: " + usernames.get(i), maxErrores);
+			}
+		}
+		importacion.lote = lote;
+		importacion.numeros = numeros;
+	}
+
+	// Lo mismo que hacen ClienteService y TrabajadorService al registrar, sin permitir fijar id ni estado de baneo
+	private <A extends Actor> A prepararActor(A actor, Roles rol) {
+		actor.setId(0);
+		actor.setVersion(0);
+		actor.setRol(rol);
+		actor.setBaneado(false);
+		if (actor.getPassword() != null && !BCRYPT.matcher(actor.getPassword()).matches()) {
+			actor.setPassword(passwordEncoder.encode(actor.getPassword()));
+		}
+		return actor;
+	}
+
+	private Tarea convertirTarea(TareaImportada fila) {
+		if (fila.clienteId() == null) {
+			throw new IllegalArgumentException("clienteId es obligatorio");
+		}
+		if (fila.categoriaId() != null && !categoriaService.existsById(fila.categoriaId())) {
+			throw new IllegalArgumentException("Categoría no encontrada: " + fila.categoriaId());
+		}
+		// Referencias sin consultar: si el cliente no existe lo detecta la clave foránea al insertar
+		Tarea tarea = new Tarea(null, null, fila.descripcion(), fila.direccion(), fila.precioMax(), fila.fechaFin(),
+				fila.categoriaId() == null ? null : categoriaRepository.getReferenceById(fila.categoriaId()),
+				clienteRepository.getReferenceById(fila.clienteId()));
+		tarea.setCoordenadas(geocodificador.geocodificar(fila.direccion()).orElse(null));
+		return tarea;
+	}
+
+	private static final class Importacion<E> {
+		private final InsercionMasiva<E> repositorio;
+		private final Function<E, String> username;
+		private final Medidor lectura = new Medidor("lectura");
+		private final Medidor preparacion = new Medidor("preparacion");
+		private final Medidor escritura = new Medidor("escritura");
+		private final List<String> errores = new ArrayList<>();
+		private List<E> lote = new ArrayList<>();
+		// Número de fila de cada entidad del lote, para informar de los rechazos al escribir
+		private List<Long> numeros = new ArrayList<>();
+		private long leidas;
+		private long importadas;
+		private long rechazadas;
+
+		private Importacion(InsercionMasiva<E> repositorio, Function<E, String> username) {
+			this.repositorio = repositorio;
+			this.username = username;
+		}
+
+		private void rechazar(long fila, String motivo, int maxErrores) {
+			rechazadas++;
+			if (errores.size() < maxErrores) {
+				errores.add("Fila " + fila + ": " + motivo);
+			}
+		}
+	}
+
+	private static final class Medidor {
+		private final String nombre;
+		private long filas;
+		private long nanos;
+
+		private Medidor(String nombre) {
+			this.nombre = nombre;
+		}
+
+		private void sumar(long inicio, long filas) {
+			this.nanos += System.nanoTime() - inicio;
+			this.filas += filas;
+		}
+
+		private void registrar(MeterRegistry registry, String tipo) {
+			Timer.builder("manyworker.importacion.etapa").tags("tipo", tipo, "etapa", nombre)
+					.register(registry).record(nanos, TimeUnit.NANOSECONDS);
+			Counter.builder("manyworker.importacion.filas").baseUnit("filas").tags("tipo", tipo, "etapa", nombre)
+					.register(registry).increment(filas);
+		}
+
+		private EtapaImportacion etapa() {
+			double segundos = nanos / 1e9;
+			return new EtapaImportacion(nombre, filas, nanos / 1_000_000,
+					segundos > 0 ? Math.round(filas / segundos * 10) / 10.0 : 0);
+		}
+	}
+}
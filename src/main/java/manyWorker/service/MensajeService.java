@@ -1,36 +1,55 @@
 package manyWorker.service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+import manyWorker.dto.MensajeResumen;
+import manyWorker.dto.PaginaCursor;
 import manyWorker.entity.Actor;
 import manyWorker.entity.Mensaje;
 import manyWorker.entity.Roles;
 import manyWorker.repository.ActorRepository;
+import manyWorker.repository.BroadcastRepository;
 import manyWorker.repository.MensajeRepository;
+import manyWorker.security.ActorActual;
 
 @Service
 public class MensajeService {
 
+	private static final int TAMANO_MAXIMO_PAGINA = 100;
+
+	private static final Comparator<MensajeResumen> ORDEN_BANDEJA = Comparator
+			.comparing(MensajeResumen::fechaEnvio, Comparator.reverseOrder())
+			.thenComparing(MensajeResumen::id, Comparator.reverseOrder());
+
 	@Autowired
 	private MensajeRepository mensajeRepository;
 
 	@Autowired
 	private ActorRepository actorRepository;
 
+	@Autowired
+	private ActorActual actorActual;
+
+	@Autowired
+	private BroadcastRepository broadcastRepository;
+
 	public Optional<Mensaje> findById(int id) {
 		Optional<Mensaje> mensaje = mensajeRepository.findById(id);
 
 		if (mensaje.isEmpty())
 			return Optional.empty();
 
-		Actor actorAutenticado = (Actor) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		Actor actorAutenticado = actorActual.get();
 
 		Mensaje m = mensaje.get();
 
@@ -42,11 +61,15 @@ public class MensajeService {
 			throw new AccessDeniedException("No tienes permiso para acceder a este mensaje");
 		}
 
+		if (!m.isLeido() && m.getDestinatario().getId() == actorAutenticado.getId()) {
+			mensajeRepository.marcarLeido(id);
+		}
+
 		return mensaje;
 	}
 
-	public List<Mensaje> findAll() {
-		return mensajeRepository.findAll();
+	public List<MensajeResumen> findAll() {
+		return mensajeRepository.findAllResumen();
 	}
 
 	public Mensaje save(Mensaje mensaje) {
@@ -56,7 +79,7 @@ public class MensajeService {
 	public void delete(int id) {
 		Mensaje m = mensajeRepository.findById(id).orElseThrow(() -> new RuntimeException("Mensaje no encontrado"));
 
-		Actor actorAutenticado = (Actor) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		Actor actorAutenticado = actorActual.get();
 
 		boolean esAdmin = actorAutenticado.getRol() == Roles.ADMINISTRADOR;
 
@@ -73,7 +96,87 @@ public class MensajeService {
 		return mensajeRepository.existsById(id);
 	}
 
+	// Bandeja de entrada paginada por cursor (fechaEnvio, id), con los broadcasts compartidos mezclados
+	public PaginaCursor<MensajeResumen> bandejaEntrada(int destinatarioId, String cursor, int tamano) {
+		Limit limit = Limit.of(tamanoPagina(tamano) + 1);
+		List<MensajeResumen> mensajes;
+		List<MensajeResumen> broadcasts;
+		if (cursor == null || cursor.isBlank()) {
+			mensajes = mensajeRepository.findBandejaEntrada(destinatarioId, limit);
+			broadcasts = broadcastRepository.findBandejaEntrada(destinatarioId, limit);
+		} else {
+			String[] partes = leerCursor(cursor);
+			Date fecha = new Date(Long.parseLong(partes[0]));
+			int id = Integer.parseInt(partes[1]);
+			mensajes = mensajeRepository.findBandejaEntradaDespues(destinatarioId, fecha, id, limit);
+			broadcasts = broadcastRepository.findBandejaEntradaDespues(destinatarioId, fecha, id, limit);
+		}
+		return construirPagina(mezclar(mensajes, broadcasts), tamanoPagina(tamano));
+	}
+
+	// Bandeja de salida paginada por cursor (fechaEnvio, id), incluyendo los broadcasts enviados
+	public PaginaCursor<MensajeResumen> bandejaSalida(int remitenteId, String cursor, int tamano) {
+		Limit limit = Limit.of(tamanoPagina(tamano) + 1);
+		List<MensajeResumen> mensajes;
+		List<MensajeResumen> broadcasts;
+		if (cursor == null || cursor.isBlank()) {
+			mensajes = mensajeRepository.findBandejaSalida(remitenteId, limit);
+			broadcasts = broadcastRepository.findBandejaSalida(remitenteId, limit);
+		} else {
+			String[] partes = leerCursor(cursor);
+			Date fecha = new Date(Long.parseLong(partes[0]));
+			int id = Integer.parseInt(partes[1]);
+			mensajes = mensajeRepository.findBandejaSalidaDespues(remitenteId, fecha, id, limit);
+			broadcasts = broadcastRepository.findBandejaSalidaDespues(remitenteId, fecha, id, limit);
+		}
+		return construirPagina(mezclar(mensajes, broadcasts), tamanoPagina(tamano));
+	}
+
+	// Mezcla dos listas ya ordenadas de más reciente a más antiguo. Los ids salen de la misma secuencia,
+	// así que (fechaEnvio, id) sigue siendo un cursor único para ambas.
+	private List<MensajeResumen> mezclar(List<MensajeResumen> a, List<MensajeResumen> b) {
+		if (b.isEmpty()) {
+			return a;
+		}
+		if (a.isEmpty()) {
+			return b;
+		}
+		List<MensajeResumen> resultado = new ArrayList<>(a.size() + b.size());
+		int i = 0;
+		int j = 0;
+		while (i < a.size() && j < b.size()) {
+			resultado.add(ORDEN_BANDEJA.compare(a.get(i), b.get(j)) <= 0 ? a.get(i++) : b.get(j++));
+		}
+		resultado.addAll(a.subList(i, a.size()));
+		resultado.addAll(b.subList(j, b.size()));
+		return resultado;
+	}
+
+	private int tamanoPagina(int tamano) {
+		return Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+	}
+
+	// El cursor tiene el formato "<fechaEnvio en milisegundos>_<id>" del último mensaje devuelto
+	private String[] leerCursor(String cursor) {
+		String[] partes = cursor.split("_");
+		if (partes.length != 2 || !partes[0].matches("\\d+") || !partes[1].matches("\\d+")) {
+			throw new IllegalArgumentException("Cursor inválido");
+		}
+		return partes;
+	}
+
+	// Se pide un elemento de más para saber si existe una página siguiente
+	private PaginaCursor<MensajeResumen> construirPagina(List<MensajeResumen> mensajes, int tamano) {
+		if (mensajes.size() <= tamano) {
+			return new PaginaCursor<>(mensajes, null);
+		}
+		List<MensajeResumen> pagina = mensajes.subList(0, tamano);
+		MensajeResumen ultimo = pagina.get(tamano - 1);
+		return new PaginaCursor<>(pagina, ultimo.fechaEnvio().getTime() + "_" + ultimo.id());
+	}
+
 	// Enviar un mensaje entre actores
+	@Timed("manyworker.mensajes.envio")
 	public Mensaje enviarMensaje(int idRemitente, int idDestinatario, String asunto, String cuerpo) {
 		Optional<Actor> oRemitente = actorRepository.findById(idRemitente);
 		Optional<Actor> oDestinatario = actorRepository.findById(idDestinatario);
@@ -88,23 +191,4 @@ public class MensajeService {
 		Mensaje mensaje = new Mensaje(remitente, destinatario, new Date(), asunto, cuerpo);
 		return mensajeRepository.save(mensaje);
 	}
-
-	// Enviar mensaje de broadcast
-	public List<Mensaje> enviarBroadcast(int idRemitente, String asunto, String cuerpo) {
-		Actor remitente = actorRepository.findById(idRemitente)
-				.orElseThrow(() -> new RuntimeException("Remitente no encontrado"));
-
-		List<Actor> todosActores = actorRepository.findAll();
-		List<Mensaje> mensajes = new java.util.ArrayList<>();
-
-		for (Actor destinatario : todosActores) {
-			if (destinatario.getId() != remitente.getId()) {
-				Mensaje nuevo = new Mensaje(remitente, destinatario, new Date(), asunto, cuerpo);
-				mensajes.add(nuevo);
-			}
-		}
-
-		mensajeRepository.saveAll(mensajes);
-		return mensajes;
-	}
 }
\ No newline at end of file
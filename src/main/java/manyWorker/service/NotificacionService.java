@@ -0,0 +1,161 @@
+package manyWorker.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import manyWorker.entity.Mensaje;
+import manyWorker.entity.NotificacionPendiente;
+import manyWorker.entity.NotificacionPendiente.EstadoNotificacion;
+import manyWorker.repository.ActorRepository;
+import manyWorker.repository.MensajeRepository;
+import manyWorker.repository.NotificacionPendienteRepository;
+
+// Notificaciones internas mediante outbox transaccional:
+// - encolar() se llama dentro de la transacción del cambio de negocio, así la notificación
+//   se guarda o se pierde junto con él, nunca por separado.
+// - despachar() se ejecuta periódicamente, reserva lotes con SKIP LOCKED y los convierte en Mensajes.
+//   Si un lote falla se reintenta fila a fila con espera exponencial hasta manyworker.notificaciones.max-intentos.
+@Service
+public class NotificacionService {
+
+	private static final Logger log = LoggerFactory.getLogger(NotificacionService.class);
+
+	// Espera máxima entre reintentos
+	private static final long ESPERA_MAXIMA_MS = 10 * 60 * 1000L;
+
+	@Autowired
+	private NotificacionPendienteRepository notificacionPendienteRepository;
+
+	@Autowired
+	private MensajeRepository mensajeRepository;
+
+	@Autowired
+	private ActorRepository actorRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${manyworker.notificaciones.tamano-lote:200}")
+	private int tamanoLote;
+
+	@Value("${manyworker.notificaciones.max-intentos:8}")
+	private int maxIntentos;
+
+	@Value("${manyworker.notificaciones.espera-base-ms:5000}")
+	private long esperaBaseMs;
+
+	public void encolar(int remitenteId, int destinatarioId, String asunto, String cuerpo) {
+		notificacionPendienteRepository.save(new NotificacionPendiente(remitenteId, destinatarioId, asunto, cuerpo));
+	}
+
+	public long pendientes() {
+		return notificacionPendienteRepository.countByEstado(EstadoNotificacion.PENDIENTE);
+	}
+
+	public long fallidas() {
+		return notificacionPendienteRepository.countByEstado(EstadoNotificacion.FALLIDA);
+	}
+
+	// Vacía la cola lote a lote hasta que no quedan notificaciones listas para enviar
+	@Scheduled(fixedDelayString = "${manyworker.notificaciones.intervalo-ms:1000}")
+	public void despachar() {
+		while (true) {
+			List<Integer> ids;
+			try {
+				ids = transactionTemplate.execute(status -> entregar(notificacionPendienteRepository
+						.reservarLote(EstadoNotificacion.PENDIENTE, new Date(), Limit.of(tamanoLote))));
+			} catch (RuntimeException e) {
+				log.warn("Fallo entregando un lote de notificaciones, se reintenta una a una", e);
+				ids = reintentarUnaAUna();
+			}
+			if (ids == null || ids.size() < tamanoLote) {
+				return;
+			}
+		}
+	}
+
+	// Inserta los mensajes del lote y borra sus filas del outbox; devuelve los ids procesados
+	private List<Integer> entregar(List<NotificacionPendiente> lote) {
+		List<Integer> procesados = new ArrayList<>(lote.size());
+		if (lote.isEmpty()) {
+			return procesados;
+		}
+		Set<Integer> ids = new HashSet<>();
+		for (NotificacionPendiente n : lote) {
+			ids.add(n.getRemitenteId());
+			ids.add(n.getDestinatarioId());
+		}
+		Set<Integer> existentes = new HashSet<>(actorRepository.findIdsExistentes(ids));
+
+		List<Mensaje> mensajes = new ArrayList<>(lote.size());
+		List<NotificacionPendiente> entregadas = new ArrayList<>(lote.size());
+		for (NotificacionPendiente n : lote) {
+			procesados.add(n.getId());
+			if (!existentes.contains(n.getRemitenteId()) || !existentes.contains(n.getDestinatarioId())) {
+				// Reintentar no lo arreglaría: se deja como fallida para poder revisarla
+				n.setEstado(EstadoNotificacion.FALLIDA);
+				n.setUltimoError("Remitente o destinatario no encontrados");
+				log.warn("Notificación {} descartada: remitente o destinatario no encontrados", n.getId());
+				continue;
+			}
+			mensajes.add(nuevoMensaje(n));
+			entregadas.add(n);
+		}
+		mensajeRepository.saveAll(mensajes);
+		notificacionPendienteRepository.deleteAllInBatch(entregadas);
+		return procesados;
+	}
+
+	// Tras un fallo de lote: cada notificación en su propia transacción para aislar la que falla
+	private List<Integer> reintentarUnaAUna() {
+		List<Integer> ids = transactionTemplate.execute(status -> notificacionPendienteRepository
+				.findIdsListos(EstadoNotificacion.PENDIENTE, new Date(), Limit.of(tamanoLote)));
+		for (Integer id : ids) {
+			try {
+				transactionTemplate.execute(status -> entregar(notificacionPendienteRepository.reservar(id, EstadoNotificacion.PENDIENTE)));
+			} catch (RuntimeException e) {
+				transactionTemplate.executeWithoutResult(status -> registrarFallo(id, e));
+			}
+		}
+		return ids;
+	}
+
+	private void registrarFallo(int id, RuntimeException e) {
+		notificacionPendienteRepository.findById(id).ifPresent(n -> {
+			n.setIntentos(n.getIntentos() + 1);
+			n.setUltimoError(recortar(String.valueOf(e.getMessage())));
+			if (n.getIntentos() >= maxIntentos) {
+				n.setEstado(EstadoNotificacion.FALLIDA);
+				log.error("Notificación {} marcada como fallida tras {} intentos", id, n.getIntentos(), e);
+			} else {
+				long espera = Math.min(ESPERA_MAXIMA_MS, esperaBaseMs << Math.min(n.getIntentos() - 1, 20));
+				n.setProximoIntento(new Date(System.currentTimeMillis() + espera));
+				log.warn("Notificación {} falló (intento {}), se reintenta en {} ms", id, n.getIntentos(), espera);
+			}
+			notificacionPendienteRepository.save(n);
+		});
+	}
+
+	// Referencias sin consulta: la existencia de los actores ya se comprobó para todo el lote
+	private Mensaje nuevoMensaje(NotificacionPendiente n) {
+		return new Mensaje(actorRepository.getReferenceById(n.getRemitenteId()),
+				actorRepository.getReferenceById(n.getDestinatarioId()), n.getFechaCreacion(), n.getAsunto(),
+				n.getCuerpo());
+	}
+
+	private static String recortar(String texto) {
+		return texto.length() > 1000 ? texto.substring(0, 1000) : texto;
+	}
+}
@@ -2,13 +2,25 @@ package manyWorker.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import manyWorker.dto.SolicitudDescartada;
+import manyWorker.dto.SolicitudResumen;
 import manyWorker.entity.Solicitud;
+import manyWorker.entity.Solicitud.EstadoSolicitud;
 import manyWorker.entity.Tarea;
+import manyWorker.notificacion.ReceptorNotificacion;
+import manyWorker.notificacion.RegistroPlantillas;
+import manyWorker.notificacion.TipoNotificacion;
+import manyWorker.notificacion.VariablePlantilla;
 import manyWorker.repository.SolicitudRepository;
 import manyWorker.repository.TareaRepository;
 import manyWorker.repository.TrabajadorRepository;
@@ -20,15 +32,20 @@ public class SolicitudService {
     private SolicitudRepository solicitudRepository;
 
     @Autowired
-    private MensajeService mensajeService;
+    private NotificacionService notificacionService;
+
+    @Autowired
+    private RegistroPlantillas registroPlantillas;
 
     @Autowired
     private TareaRepository tareaRepository;
     @Autowired
+    private CategoriaService categoriaService;
+    @Autowired
     private TrabajadorRepository trabajadorRepository;
     
-    public List<Solicitud> findAll() {
-        return solicitudRepository.findAll();
+    public List<SolicitudResumen> findAll() {
+        return solicitudRepository.findAllResumen();
     }
 
     public Optional<Solicitud> findById(int id) {
@@ -44,6 +61,8 @@ public class SolicitudService {
     }
 
     // Crear nueva solicitud
+    @Transactional
+    @Timed(value = "manyworker.solicitudes.transicion", extraTags = { "destino", "PENDIENTE" })
     public Solicitud crear(Solicitud solicitud) {
     	solicitud.setTrabajador(trabajadorRepository.findById(solicitud.getTrabajador().getId()).orElse(null));
         solicitud.setTarea(tareaRepository.findById(solicitud.getTarea().getId()).orElse(null));
@@ -69,117 +88,136 @@ public class SolicitudService {
         Solicitud savedSolicitud = solicitudRepository.save(solicitud);
         
         // Notificar al trabajador que tiene nueva solicitud
-        notificarCambioEstado(savedSolicitud, "SOLICITUD_CREADA");
+        notificarCambioEstado(savedSolicitud, TipoNotificacion.SOLICITUD_CREADA);
         
         return savedSolicitud;
     }
 
-    // Aceptar solicitud
-    public Solicitud aceptar(int id) {
-        Solicitud solicitud = solicitudRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Solicitud no encontrada"));
-        solicitud.setEstado(Solicitud.EstadoSolicitud.ACEPTADO);
-        
-        Solicitud savedSolicitud = solicitudRepository.save(solicitud);
-        
+    // Aceptar solicitud: las demás solicitudes pendientes de la misma tarea se rechazan en bloque
+    @Transactional
+    @Timed(value = "manyworker.solicitudes.transicion", extraTags = { "destino", "ACEPTADO" })
+    public Solicitud aceptar(int id, Integer versionEsperada) {
+        Solicitud solicitud = transicionar(id, EstadoSolicitud.ACEPTADO, versionEsperada);
+
+        String tareaId = solicitud.getTarea() == null ? null : solicitud.getTarea().getId();
+        if (tareaId != null) {
+            List<SolicitudDescartada> descartadas;
+            try {
+                descartadas = solicitudRepository.rechazarPendientesDeTarea(tareaId, id);
+            } catch (ConcurrencyFailureException e) {
+                throw new IllegalStateException("Otra solicitud de la tarea se está aceptando a la vez, inténtalo de nuevo", e);
+            }
+            for (SolicitudDescartada descartada : descartadas) {
+                notificarDescarte(solicitud.getTarea(), descartada);
+            }
+        }
+
         // Notificar a ambos del cambio de estado
-        notificarCambioEstado(savedSolicitud, "SOLICITUD_ACEPTADA");
+        notificarCambioEstado(solicitud, TipoNotificacion.SOLICITUD_ACEPTADA);
         
-        return savedSolicitud;
+        return solicitud;
     }
 
     // Rechazar solicitud
-    public Solicitud rechazar(int id) {
-        Solicitud solicitud = solicitudRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Solicitud no encontrada"));
-        solicitud.setEstado(Solicitud.EstadoSolicitud.RECHAZADO);
-        
-        Solicitud savedSolicitud = solicitudRepository.save(solicitud);
+    @Transactional
+    @Timed(value = "manyworker.solicitudes.transicion", extraTags = { "destino", "RECHAZADO" })
+    public Solicitud rechazar(int id, Integer versionEsperada) {
+        Solicitud solicitud = transicionar(id, EstadoSolicitud.RECHAZADO, versionEsperada);
         
         // Notificar a ambos del cambio de estado
-        notificarCambioEstado(savedSolicitud, "SOLICITUD_RECHAZADA");
+        notificarCambioEstado(solicitud, TipoNotificacion.SOLICITUD_RECHAZADA);
         
-        return savedSolicitud;
+        return solicitud;
     }
 
-    // método para notificar cambios de estado
-    private void notificarCambioEstado(Solicitud solicitud, String tipoCambio) {
-        try {
-            Tarea tarea = solicitud.getTarea();
-            if (tarea == null || tarea.getCliente() == null || solicitud.getTrabajador() == null) {
-                return;
-            }
+    // Aplica la transición con un UPDATE condicionado al estado y la versión leídos, sin reescribir la fila entera.
+    // Lanza IllegalStateException si la transición no está permitida o si otra operación se adelantó.
+    private Solicitud transicionar(int id, EstadoSolicitud destino, Integer versionEsperada) {
+        Solicitud solicitud = solicitudRepository.findConDetalle(id)
+                .orElseThrow(() -> new RuntimeException("Solicitud no encontrada"));
 
-            int clienteId = tarea.getCliente().getId();
-            int trabajadorId = solicitud.getTrabajador().getId();
-            String nombreCliente = tarea.getCliente().getNombre() + " " + tarea.getCliente().getApellido();
-            String nombreTrabajador = solicitud.getTrabajador().getNombre() + " " + solicitud.getTrabajador().getApellido();
-            String descripcionTarea = tarea.getDescripcion();
-            double precio = solicitud.getPrecioOfrecido();
-
-            // Mensaje para el cliente
-            String asuntoCliente = obtenerAsuntoCliente(tipoCambio);
-            String cuerpoCliente = obtenerCuerpoCliente(tipoCambio, nombreTrabajador, descripcionTarea, precio);
-            
-            // Mensaje para el trabajador  
-            String asuntoTrabajador = obtenerAsuntoTrabajador(tipoCambio);
-            String cuerpoTrabajador = obtenerCuerpoTrabajador(tipoCambio, nombreCliente, descripcionTarea, precio, solicitud.getComentario());
-
-            // Enviar mensaje al cliente (remitente: trabajador)
-            mensajeService.enviarMensaje(trabajadorId, clienteId, asuntoCliente, cuerpoCliente);
-            
-            // Enviar mensaje al trabajador (remitente: cliente)
-            mensajeService.enviarMensaje(clienteId, trabajadorId, asuntoTrabajador, cuerpoTrabajador);
-
-        } catch (Exception e) {
-            System.err.println("Error enviando notificación: " + e.getMessage());
+        if (versionEsperada != null && versionEsperada != solicitud.getVersion()) {
+            throw new IllegalStateException("La solicitud ha cambiado (versión actual " + solicitud.getVersion() + ")");
+        }
+        EstadoSolicitud origen = solicitud.getEstado();
+        if (!origen.permiteTransicionA(destino)) {
+            throw new IllegalStateException("No se puede pasar una solicitud " + origen + " a " + destino);
         }
-    }
 
-    // Métodos auxiliares simples para construir mensajes
-    private String obtenerAsuntoCliente(String tipoCambio) {
-        switch (tipoCambio) {
-            case "SOLICITUD_ACEPTADA": return "Tu solicitud ha sido ACEPTADA";
-            case "SOLICITUD_RECHAZADA": return "Tu solicitud ha sido RECHAZADA";
-            default: return "Actualización de solicitud";
+        int actualizadas;
+        try {
+            actualizadas = solicitudRepository.cambiarEstado(id, origen, destino, solicitud.getVersion());
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("La tarea ya tiene una solicitud aceptada", e);
+        } catch (ConcurrencyFailureException e) {
+            throw new IllegalStateException("Otra solicitud de la tarea se está aceptando a la vez, inténtalo de nuevo", e);
         }
+        if (actualizadas == 0) {
+            throw new IllegalStateException("La solicitud ha sido modificada por otra operación");
+        }
+
+        // La entidad ya no está gestionada (el UPDATE limpia el contexto): se refleja el nuevo estado para devolverla
+        solicitud.setEstado(destino);
+        solicitud.setVersion(solicitud.getVersion() + 1);
+        return solicitud;
     }
 
-    private String obtenerCuerpoCliente(String tipoCambio, String nombreTrabajador, String descripcionTarea, double precio) {
-        switch (tipoCambio) {
-            case "SOLICITUD_ACEPTADA": 
-                return "El trabajador " + nombreTrabajador + " ha aceptado tu solicitud para: '" + 
-                       descripcionTarea + "'. Precio: " + precio + "€. Contacta al trabajador para coordinar.";
-            case "SOLICITUD_RECHAZADA":
-                return "El trabajador " + nombreTrabajador + " ha rechazado tu solicitud para: '" + 
-                       descripcionTarea + "'. Puedes buscar otros trabajadores.";
-            default: 
-                return "Hay una actualización en tu solicitud para: " + descripcionTarea;
+    private void notificarDescarte(Tarea tarea, SolicitudDescartada descartada) {
+        if (tarea.getCliente() == null || descartada.getTrabajadorId() == null) {
+            return;
         }
+        String[] valores = VariablePlantilla.valores();
+        valores[VariablePlantilla.NOMBRE_CLIENTE.ordinal()] = tarea.getCliente().getNombre() + " " + tarea.getCliente().getApellido();
+        valores[VariablePlantilla.DESCRIPCION_TAREA.ordinal()] = tarea.getDescripcion();
+        valores[VariablePlantilla.PRECIO.ordinal()] = String.valueOf(descartada.getPrecioOfrecido());
+        valores[VariablePlantilla.COMENTARIO.ordinal()] = descartada.getComentario();
+        Locale idioma = idioma(descartada.getIdiomaTrabajador());
+
+        notificacionService.encolar(tarea.getCliente().getId(), descartada.getTrabajadorId(),
+                registroPlantillas.asunto(TipoNotificacion.SOLICITUD_DESCARTADA, ReceptorNotificacion.TRABAJADOR, idioma, valores),
+                registroPlantillas.cuerpo(TipoNotificacion.SOLICITUD_DESCARTADA, ReceptorNotificacion.TRABAJADOR, idioma, valores));
     }
 
-    private String obtenerAsuntoTrabajador(String tipoCambio) {
-        switch (tipoCambio) {
-            case "SOLICITUD_CREADA": return "Nueva solicitud recibida";
-            case "SOLICITUD_ACEPTADA": return "Has aceptado una solicitud";
-            case "SOLICITUD_RECHAZADA": return "Has rechazado una solicitud";
-            default: return "Actualización de solicitud";
+    // Deja las notificaciones en el outbox dentro de la misma transacción que el cambio de estado;
+    // si no se pueden guardar se deshace también el cambio. NotificacionService las entrega después.
+    private void notificarCambioEstado(Solicitud solicitud, TipoNotificacion tipo) {
+        Tarea tarea = solicitud.getTarea();
+        if (tarea == null || tarea.getCliente() == null || solicitud.getTrabajador() == null) {
+            return;
         }
-    }
 
-    private String obtenerCuerpoTrabajador(String tipoCambio, String nombreCliente, String descripcionTarea, double precio, String comentario) {
-        switch (tipoCambio) {
-            case "SOLICITUD_CREADA":
-                return "Tienes una nueva solicitud para: '" + descripcionTarea + "'. Cliente: " + 
-                       nombreCliente + ". Precio ofrecido: " + precio + "€. Comentario: " + comentario;
-            case "SOLICITUD_ACEPTADA":
-                return "Has aceptado la solicitud para: '" + descripcionTarea + "'. Cliente: " + 
-                       nombreCliente + ". Precio: " + precio + "€. Contacta al cliente.";
-            case "SOLICITUD_RECHAZADA":
-                return "Has rechazado la solicitud para: '" + descripcionTarea + "'. Cliente: " + nombreCliente;
-            default:
-                return "Hay una actualización en la solicitud para: " + descripcionTarea;
+        int clienteId = tarea.getCliente().getId();
+        int trabajadorId = solicitud.getTrabajador().getId();
+
+        String[] valores = VariablePlantilla.valores();
+        valores[VariablePlantilla.NOMBRE_CLIENTE.ordinal()] = tarea.getCliente().getNombre() + " " + tarea.getCliente().getApellido();
+        valores[VariablePlantilla.NOMBRE_TRABAJADOR.ordinal()] = solicitud.getTrabajador().getNombre() + " " + solicitud.getTrabajador().getApellido();
+        valores[VariablePlantilla.DESCRIPCION_TAREA.ordinal()] = tarea.getDescripcion();
+        valores[VariablePlantilla.PRECIO.ordinal()] = String.valueOf(solicitud.getPrecioOfrecido());
+        valores[VariablePlantilla.COMENTARIO.ordinal()] = solicitud.getComentario();
+
+        // Cada destinatario en su idioma
+        Locale idiomaCliente = idioma(tarea.getCliente().getIdioma());
+        Locale idiomaTrabajador = idioma(solicitud.getTrabajador().getIdioma());
+
+        // Mensaje al cliente (remitente: trabajador)
+        if (registroPlantillas.tiene(tipo, ReceptorNotificacion.CLIENTE)) {
+            notificacionService.encolar(trabajadorId, clienteId,
+                    registroPlantillas.asunto(tipo, ReceptorNotificacion.CLIENTE, idiomaCliente, valores),
+                    registroPlantillas.cuerpo(tipo, ReceptorNotificacion.CLIENTE, idiomaCliente, valores));
         }
+        
+        // Mensaje al trabajador (remitente: cliente)
+        if (registroPlantillas.tiene(tipo, ReceptorNotificacion.TRABAJADOR)) {
+            notificacionService.encolar(clienteId, trabajadorId,
+                    registroPlantillas.asunto(tipo, ReceptorNotificacion.TRABAJADOR, idiomaTrabajador, valores),
+                    registroPlantillas.cuerpo(tipo, ReceptorNotificacion.TRABAJADOR, idiomaTrabajador, valores));
+        }
+    }
+
+    // Sin idioma propio, el por defecto de las plantillas
+    private static Locale idioma(String etiqueta) {
+        return etiqueta == null || etiqueta.isBlank() ? null : Locale.forLanguageTag(etiqueta);
     }
 
     // Métodos de validación existentes
@@ -187,7 +225,7 @@ public class SolicitudService {
         if (tarea.getCategoria() == null) {
             return false;
         }
-        return tarea.getCategoria().isEsReparacion();
+        return categoriaService.esReparacion(tarea.getCategoria().getId());
     }
 
     private void validarSolicitudReparacion(Solicitud solicitud) {
@@ -1,22 +1,57 @@
 package manyWorker.service;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import io.micrometer.core.annotation.Timed;
+import manyWorker.dto.DireccionTarea;
+import manyWorker.dto.FiltroTareas;
+import manyWorker.dto.PaginaCursor;
+import manyWorker.dto.TareaCercana;
+import manyWorker.dto.TareaEncontrada;
+import manyWorker.dto.TareaResumen;
 import manyWorker.entity.Tarea;
+import manyWorker.geo.Coordenadas;
+import manyWorker.geo.GeoCelda;
+import manyWorker.geo.Geocodificador;
 import manyWorker.repository.TareaRepository;
 
 @Service
 public class TareaService {
 
+    private static final Logger log = LoggerFactory.getLogger(TareaService.class);
+
+    private static final int TAMANO_MAXIMO_PAGINA = 100;
+
+    private static final double RADIO_INICIAL_KM = 2;
+
     @Autowired
     private TareaRepository tareaRepository;
 
-    public List<Tarea> findAll() {
-        return tareaRepository.findAll();
+    @Autowired
+    private Geocodificador geocodificador;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${manyworker.geo.radio-maximo-km:100}")
+    private double radioMaximoKm;
+
+    @Value("${manyworker.geo.tamano-lote:500}")
+    private int tamanoLoteGeo;
+
+    public List<TareaResumen> findAll() {
+        return tareaRepository.findAllResumen();
     }
 
     public Optional<Tarea> findById(String id) {
@@ -24,6 +59,9 @@ public class TareaService {
     }
 
     public Tarea save(Tarea tarea) {
+        // Sin id, save hace persist y generarId lo asigna; con un id de otra tarea haría merge sobre ella
+        tarea.setId(null);
+        tarea.setCoordenadas(geocodificador.geocodificar(tarea.getDireccion()).orElse(null));
         return tareaRepository.save(tarea);
     }
 
@@ -37,6 +75,7 @@ public class TareaService {
             Tarea tarea = optional.get();
             tarea.setDescripcion(datos.getDescripcion());
             tarea.setDireccion(datos.getDireccion());
+            tarea.setCoordenadas(geocodificador.geocodificar(datos.getDireccion()).orElse(null));
             tarea.setPrecioMax(datos.getPrecioMax());
             tarea.setFechaFin(datos.getFechaFin());
             tarea.setCategoria(datos.getCategoria());
@@ -54,4 +93,150 @@ public class TareaService {
     public boolean existsByCategoriaId(String categoriaId) {
         return tareaRepository.existsByCategoria_Id(categoriaId);
     }
-}
\ No newline at end of file
+
+    // Búsqueda paginada por cursor (fechaPublicacion, id), de la más reciente a la más antigua.
+    // El cursor tiene la forma "<día epoch>_<id>" y lo devuelve la página anterior.
+    @Timed(value = "manyworker.tareas.busqueda", extraTags = { "tipo", "filtro" })
+    public PaginaCursor<TareaResumen> buscar(FiltroTareas filtro, String cursor, int tamano) {
+        if (filtro.precioMin() != null && filtro.precioMax() != null && filtro.precioMin() > filtro.precioMax()) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el máximo");
+        }
+        int tamanoPagina = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+        LocalDate fechaDespues = null;
+        String idDespues = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separador = cursor.indexOf('_');
+            if (separador <= 0 || separador == cursor.length() - 1) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            try {
+                fechaDespues = LocalDate.ofEpochDay(Long.parseLong(cursor.substring(0, separador)));
+            } catch (NumberFormatException | DateTimeException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            idDespues = cursor.substring(separador + 1);
+        }
+
+        List<TareaResumen> tareas = tareaRepository.buscar(filtro, fechaDespues, idDespues, tamanoPagina + 1);
+        if (tareas.size() <= tamanoPagina) {
+            return new PaginaCursor<>(tareas, null);
+        }
+        List<TareaResumen> pagina = tareas.subList(0, tamanoPagina);
+        TareaResumen ultima = pagina.get(tamanoPagina - 1);
+        return new PaginaCursor<>(pagina, ultima.fechaPublicacion().toEpochDay() + "_" + ultima.id());
+    }
+
+    // Búsqueda de texto en la descripción, de más a menos relevante.
+    // El cursor tiene la forma "<relevancia>_<id>" y lo devuelve la página anterior.
+    @Timed(value = "manyworker.tareas.busqueda", extraTags = { "tipo", "texto" })
+    public PaginaCursor<TareaEncontrada> buscarTexto(String texto, String cursor, int tamano) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto a buscar es obligatorio");
+        }
+        int tamanoPagina = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+        List<TareaEncontrada> tareas;
+        if (cursor == null || cursor.isBlank()) {
+            tareas = tareaRepository.buscarTexto(texto, tamanoPagina + 1);
+        } else {
+            int separador = cursor.indexOf('_');
+            float relevancia = leerRelevancia(cursor, separador);
+            tareas = tareaRepository.buscarTextoDespues(texto, relevancia, cursor.substring(separador + 1), tamanoPagina + 1);
+        }
+        if (tareas.size() <= tamanoPagina) {
+            return new PaginaCursor<>(tareas, null);
+        }
+        List<TareaEncontrada> pagina = tareas.subList(0, tamanoPagina);
+        TareaEncontrada ultima = pagina.get(tamanoPagina - 1);
+        return new PaginaCursor<>(pagina, ultima.getRelevancia() + "_" + ultima.getId());
+    }
+
+    // Tareas abiertas a menos de radioKm del centro, de la más cercana a la más lejana.
+    // El cursor tiene la forma "<distancia>_<id>" y lo devuelve la página anterior.
+    @Timed(value = "manyworker.tareas.busqueda", extraTags = { "tipo", "cercanas" })
+    public PaginaCursor<TareaCercana> buscarCercanas(Coordenadas centro, double radioKm, String cursor, int tamano) {
+        if (!(radioKm > 0) || radioKm > radioMaximoKm) {
+            throw new IllegalArgumentException("El radio debe estar entre 0 y " + radioMaximoKm + " km");
+        }
+        int tamanoPagina = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+        Double distanciaDespues = null;
+        String idDespues = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separador = cursor.indexOf('_');
+            if (separador <= 0 || separador == cursor.length() - 1) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            try {
+                distanciaDespues = Double.parseDouble(cursor.substring(0, separador));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            if (!Double.isFinite(distanciaDespues)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            idDespues = cursor.substring(separador + 1);
+        }
+
+        // Se empieza por un radio pequeño y se amplía hasta llenar la página: en zonas densas no hace falta
+        // calcular y ordenar todas las tareas del radio pedido para devolver las más cercanas
+        double radio = Math.min(radioKm, Math.max(RADIO_INICIAL_KM, distanciaDespues == null ? 0 : distanciaDespues * 2));
+        List<TareaCercana> tareas;
+        while (true) {
+            tareas = tareaRepository.buscarCercanas(centro, radio, distanciaDespues, idDespues, tamanoPagina + 1);
+            if (tareas.size() > tamanoPagina || radio >= radioKm) {
+                break;
+            }
+            radio = Math.min(radioKm, radio * 4);
+        }
+        if (tareas.size() <= tamanoPagina) {
+            return new PaginaCursor<>(tareas, null);
+        }
+        List<TareaCercana> pagina = tareas.subList(0, tamanoPagina);
+        TareaCercana ultima = pagina.get(tamanoPagina - 1);
+        return new PaginaCursor<>(pagina, ultima.distanciaKm() + "_" + ultima.id());
+    }
+
+    // Geocodifica por lotes las tareas que aún no tienen coordenadas (las anteriores a la búsqueda por
+    // cercanía). Las direcciones que no se pueden resolver se quedan sin coordenadas y no salen en ella.
+    public int completarCoordenadas() {
+        String ultimoId = "";
+        int completadas = 0;
+        while (true) {
+            List<DireccionTarea> lote = tareaRepository.findSinCoordenadasDespues(ultimoId, Limit.of(tamanoLoteGeo));
+            if (lote.isEmpty()) {
+                break;
+            }
+            Integer actualizadas = transactionTemplate.execute(status -> {
+                int n = 0;
+                for (DireccionTarea tarea : lote) {
+                    Optional<Coordenadas> coordenadas = geocodificador.geocodificar(tarea.direccion());
+                    if (coordenadas.isPresent()) {
+                        Coordenadas c = coordenadas.get();
+                        n += tareaRepository.asignarCoordenadas(tarea.id(), c.latitud(), c.longitud(), GeoCelda.codificar(c));
+                    }
+                }
+                return n;
+            });
+            completadas += actualizadas == null ? 0 : actualizadas;
+            ultimoId = lote.get(lote.size() - 1).id();
+        }
+        if (completadas > 0) {
+            log.info("Coordenadas asignadas a {} tareas", completadas);
+        }
+        return completadas;
+    }
+
+    private float leerRelevancia(String cursor, int separador) {
+        if (separador <= 0 || separador == cursor.length() - 1) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        try {
+            float relevancia = Float.parseFloat(cursor.substring(0, separador));
+            if (!Float.isFinite(relevancia)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return relevancia;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
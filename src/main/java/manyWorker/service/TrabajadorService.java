@@ -7,8 +7,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import manyWorker.dto.ActorResumen;
 import manyWorker.entity.Roles;
 import manyWorker.entity.Trabajador;
+import manyWorker.geo.Geocodificador;
 import manyWorker.repository.TrabajadorRepository;
 
 @Service
@@ -19,6 +21,12 @@ public class TrabajadorService {
 
 	@Autowired
 	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private Geocodificador geocodificador;
+
+	@Autowired
+	private AnonimizacionService anonimizacionService;
 	
 	public Optional<Trabajador> findByUsername(String username) {
         return trabajadorRepository.findByUsername(username);
@@ -28,8 +36,8 @@ public class TrabajadorService {
 		return this.trabajadorRepository.findById(id);
 	}
 
-	public List<Trabajador> findAll() {
-		return this.trabajadorRepository.findAll();
+	public List<ActorResumen> findAll() {
+		return this.trabajadorRepository.findAllResumen();
 	}
 
 	public Trabajador save(Trabajador trabajador) {
@@ -39,7 +47,10 @@ public class TrabajadorService {
             String encodedPass = passwordEncoder.encode(trabajador.getPassword());
             trabajador.setPassword(encodedPass);
         }
-		
+
+		// Punto de partida por defecto de la búsqueda de tareas cercanas
+		trabajador.setCoordenadas(geocodificador.geocodificar(trabajador.getDireccion()).orElse(null));
+
 		return this.trabajadorRepository.save(trabajador);
 	}
 
@@ -55,15 +66,16 @@ public class TrabajadorService {
 			t.setFoto(trabajador.getFoto());
 			t.setTelefono(trabajador.getTelefono());
 			t.setDireccion(trabajador.getDireccion());
+			t.setIdioma(trabajador.getIdioma());
 			return save(t);
 		}
 		return null;
 	}
 
 	// TODO; Solo el usuario propietario puede realizar esta accion
-	// TODO: Posteriormente se van a a anonimizar los datos en vez de eliminar.
+	// Los datos no se borran: se anonimizan en segundo plano (AnonimizacionService)
 	public void delete(int id) {
-		this.trabajadorRepository.deleteById(id);
+		anonimizacionService.solicitar(id);
 	}
 	
 	public boolean existsById(int id) {
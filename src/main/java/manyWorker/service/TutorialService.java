@@ -6,6 +6,9 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import manyWorker.dto.PaginaCursor;
+import manyWorker.dto.TutorialEncontrado;
+import manyWorker.dto.TutorialResumen;
 import manyWorker.entity.Tutorial;
 import manyWorker.entity.Trabajador;
 import manyWorker.repository.TutorialRepository;
@@ -13,11 +16,13 @@ import manyWorker.repository.TutorialRepository;
 @Service
 public class TutorialService {
 
+    private static final int TAMANO_MAXIMO_PAGINA = 100;
+
     @Autowired
     private TutorialRepository tutorialRepository;
     
-    public List<Tutorial> findAll() {
-        return this.tutorialRepository.findAll();
+    public List<TutorialResumen> findAll() {
+        return this.tutorialRepository.findAllResumen();
     }
     
     public Optional<Tutorial> findById(int id) {
@@ -53,11 +58,47 @@ public class TutorialService {
         return this.tutorialRepository.findByAutor(autor);
     }
     
-    public List<Tutorial> findByAutorId(int autorId) {
-        return this.tutorialRepository.findByAutorId(autorId);
+    public List<TutorialResumen> findByAutorId(int autorId) {
+        return this.tutorialRepository.findResumenByAutorId(autorId);
     }
     
     public boolean existsById(int id) {
         return this.tutorialRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    // Búsqueda de texto en título, resumen y texto, de más a menos relevante (el título pesa más).
+    // El cursor tiene la forma "<relevancia>_<id>" y lo devuelve la página anterior.
+    public PaginaCursor<TutorialEncontrado> buscarTexto(String texto, String cursor, int tamano) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto a buscar es obligatorio");
+        }
+        int tamanoPagina = Math.max(1, Math.min(tamano, TAMANO_MAXIMO_PAGINA));
+        List<TutorialEncontrado> tutoriales;
+        if (cursor == null || cursor.isBlank()) {
+            tutoriales = tutorialRepository.buscarTexto(texto, tamanoPagina + 1);
+        } else {
+            String[] partes = cursor.split("_");
+            float relevancia;
+            int id;
+            try {
+                if (partes.length != 2) {
+                    throw new NumberFormatException();
+                }
+                relevancia = Float.parseFloat(partes[0]);
+                id = Integer.parseInt(partes[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            if (!Float.isFinite(relevancia)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            tutoriales = tutorialRepository.buscarTextoDespues(texto, relevancia, id, tamanoPagina + 1);
+        }
+        if (tutoriales.size() <= tamanoPagina) {
+            return new PaginaCursor<>(tutoriales, null);
+        }
+        List<TutorialEncontrado> pagina = tutoriales.subList(0, tamanoPagina);
+        TutorialEncontrado ultimo = pagina.get(tamanoPagina - 1);
+        return new PaginaCursor<>(pagina, ultimo.getRelevancia() + "_" + ultimo.getId());
+    }
+}
@@ -0,0 +1,324 @@
+-- Objetos de base de datos que Hibernate no genera con ddl-auto.
+-- Se ejecuta en cada arranque (config/EsquemaAdicional): todo debe poder repetirse sin error.
+
+-- Como mucho una solicitud aceptada por tarea, aunque dos aceptaciones lleguen a la vez.
+-- Una base de datos anterior al índice puede tener tareas con varias aceptadas (dos aceptaciones simultáneas):
+-- antes de crearlo se conserva la primera de cada tarea, por fecha de registro, y las demás se rechazan.
+-- OBLIGATORIA: sin este índice la aplicación no arranca
+DO $$
+DECLARE
+    rechazadas integer;
+BEGIN
+    IF to_regclass('uk_solicitud_tarea_aceptada') IS NULL THEN
+        UPDATE solicitud s SET estado = 'RECHAZADO', version = s.version + 1
+        WHERE s.estado = 'ACEPTADO' AND EXISTS (SELECT 1 FROM solicitud p WHERE p.tarea_id = s.tarea_id
+            AND p.estado = 'ACEPTADO' AND (COALESCE(p.fecha_registro, '-infinity'), p.id)
+                < (COALESCE(s.fecha_registro, '-infinity'), s.id));
+        GET DIAGNOSTICS rechazadas = ROW_COUNT;
+        IF rechazadas > 0 THEN
+            RAISE WARNING 'uk_solicitud_tarea_aceptada: % solicitudes aceptadas de más pasan a RECHAZADO', rechazadas;
+        END IF;
+        CREATE UNIQUE INDEX uk_solicitud_tarea_aceptada ON solicitud (tarea_id) WHERE estado = 'ACEPTADO';
+    END IF;
+END
+$$;
+
+-- Búsqueda de texto completo: stemming español que además ignora tildes ("tuberia" encuentra "tuberías").
+-- Si la extensión unaccent no está disponible se queda solo con el stemming español.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'manyworker_es') THEN
+        CREATE TEXT SEARCH CONFIGURATION manyworker_es (COPY = spanish);
+        BEGIN
+            CREATE EXTENSION IF NOT EXISTS unaccent;
+            ALTER TEXT SEARCH CONFIGURATION manyworker_es
+                ALTER MAPPING FOR hword, hword_part, word WITH unaccent, spanish_stem;
+        EXCEPTION WHEN OTHERS THEN
+            RAISE NOTICE 'unaccent no disponible, la búsqueda distinguirá tildes';
+        END;
+    END IF;
+END
+$$;
+
+-- Las columnas generadas se recalculan solas en cada INSERT/UPDATE,
+-- así que el índice nunca queda desfasado respecto a las entidades.
+ALTER TABLE tarea ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (to_tsvector('manyworker_es', coalesce(descripcion, ''))) STORED;
+CREATE INDEX IF NOT EXISTS idx_tarea_busqueda ON tarea USING GIN (busqueda);
+
+-- En los tutoriales pesa más el título que el resumen, y el resumen más que el texto
+ALTER TABLE tutorial ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('manyworker_es', coalesce(titulo, '')), 'A')
+        || setweight(to_tsvector('manyworker_es', coalesce(resumen, '')), 'B')
+        || setweight(to_tsvector('manyworker_es', coalesce(texto, '')), 'C')) STORED;
+CREATE INDEX IF NOT EXISTS idx_tutorial_busqueda ON tutorial USING GIN (busqueda);
+
+-- Con TABLE_PER_CLASS la restricción unique de Actor.username solo existe en la tabla actor; el login y la
+-- comprobación de usernames de la importación masiva buscan en las cuatro tablas
+CREATE INDEX IF NOT EXISTS idx_admin_username ON admin (username);
+CREATE INDEX IF NOT EXISTS idx_cliente_username ON cliente (username);
+CREATE INDEX IF NOT EXISTS idx_trabajador_username ON trabajador (username);
+
+-- Tabla de la antigua relación Categoria.tareas sin mappedBy; nunca se llegó a rellenar
+DROP TABLE IF EXISTS categoria_tareas;
+
+-- Número de tareas por categoría (categoria.numero_tareas), mantenido en la misma transacción
+-- que cualquier INSERT, DELETE o cambio de categoría de una tarea, venga de JPA o de SQL directo
+CREATE OR REPLACE FUNCTION contar_tareas_categoria() RETURNS trigger AS $$
+BEGIN
+    -- Hibernate reescribe todas las columnas en cada UPDATE aunque la categoría no cambie
+    IF TG_OP = 'UPDATE' AND OLD.categoria_id IS NOT DISTINCT FROM NEW.categoria_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.categoria_id IS NOT NULL THEN
+        UPDATE categoria SET numero_tareas = numero_tareas - 1 WHERE id = OLD.categoria_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.categoria_id IS NOT NULL THEN
+        UPDATE categoria SET numero_tareas = numero_tareas + 1 WHERE id = NEW.categoria_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Al instalar el trigger por primera vez se parte de los recuentos reales
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_tarea_categoria_recuento') THEN
+        CREATE TRIGGER trg_tarea_categoria_recuento
+            AFTER INSERT OR DELETE OR UPDATE OF categoria_id ON tarea
+            FOR EACH ROW EXECUTE FUNCTION contar_tareas_categoria();
+        UPDATE categoria c SET numero_tareas = (SELECT count(*) FROM tarea t WHERE t.categoria_id = c.id);
+    END IF;
+END
+$$;
+
+-- Contadores agregados (tabla contador, entidad Contador). TAREAS_SIN_ADJUDICAR_* cuenta las tareas sin
+-- solicitud aceptada, vencidas o no: la fecha fin pasa sin que se escriba nada que pueda disparar un trigger,
+-- así que "abierta" (sin vencer, la regla de las búsquedas) no se puede mantener aquí.
+-- Los triggers suman y restan en la misma transacción que el cambio de origen.
+CREATE OR REPLACE FUNCTION sumar_contador(p_tipo text, p_clave text, p_delta bigint) RETURNS void AS $$
+BEGIN
+    IF p_clave IS NULL OR p_delta = 0 THEN
+        RETURN;
+    END IF;
+    INSERT INTO contador (tipo, clave, valor) VALUES (p_tipo, p_clave, p_delta)
+        ON CONFLICT (tipo, clave) DO UPDATE SET valor = contador.valor + EXCLUDED.valor;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION sumar_tarea_sin_adjudicar(p_categoria text, p_cliente integer, p_delta bigint) RETURNS void AS $$
+BEGIN
+    PERFORM sumar_contador('TAREAS_SIN_ADJUDICAR_CATEGORIA', p_categoria, p_delta);
+    PERFORM sumar_contador('TAREAS_SIN_ADJUDICAR_CLIENTE', p_cliente::text, p_delta);
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION contadores_tarea() RETURNS trigger AS $$
+DECLARE
+    sin_adjudicar boolean;
+    pendientes bigint;
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.categoria_id IS NOT DISTINCT FROM NEW.categoria_id
+            AND OLD.cliente_id IS NOT DISTINCT FROM NEW.cliente_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP = 'INSERT' THEN
+        PERFORM sumar_tarea_sin_adjudicar(NEW.categoria_id, NEW.cliente_id, 1);
+        RETURN NULL;
+    END IF;
+    sin_adjudicar := NOT EXISTS (SELECT 1 FROM solicitud WHERE tarea_id = OLD.id AND estado = 'ACEPTADO');
+    IF sin_adjudicar THEN
+        PERFORM sumar_tarea_sin_adjudicar(OLD.categoria_id, OLD.cliente_id, -1);
+    END IF;
+    IF TG_OP = 'UPDATE' THEN
+        IF sin_adjudicar THEN
+            PERFORM sumar_tarea_sin_adjudicar(NEW.categoria_id, NEW.cliente_id, 1);
+        END IF;
+        -- Las solicitudes pendientes de la tarea pasan al nuevo cliente
+        IF OLD.cliente_id IS DISTINCT FROM NEW.cliente_id THEN
+            SELECT count(*) INTO pendientes FROM solicitud WHERE tarea_id = OLD.id AND estado = 'PENDIENTE';
+            PERFORM sumar_contador('SOLICITUDES_PENDIENTES_CLIENTE', OLD.cliente_id::text, -pendientes);
+            PERFORM sumar_contador('SOLICITUDES_PENDIENTES_CLIENTE', NEW.cliente_id::text, pendientes);
+        END IF;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Aporta (signo = 1) o retira (signo = -1) lo que cuenta una solicitud en un estado dado
+CREATE OR REPLACE FUNCTION sumar_solicitud(p_estado text, p_trabajador integer, p_tarea text, p_signo integer) RETURNS void AS $$
+DECLARE
+    t record;
+BEGIN
+    IF p_estado NOT IN ('PENDIENTE', 'ACEPTADO') THEN
+        RETURN;
+    END IF;
+    SELECT categoria_id, cliente_id INTO t FROM tarea WHERE id = p_tarea;
+    IF p_estado = 'PENDIENTE' THEN
+        PERFORM sumar_contador('SOLICITUDES_PENDIENTES_TRABAJADOR', p_trabajador::text, p_signo);
+        PERFORM sumar_contador('SOLICITUDES_PENDIENTES_CLIENTE', t.cliente_id::text, p_signo);
+    ELSIF FOUND THEN
+        -- Aceptar una solicitud adjudica su tarea
+        PERFORM sumar_tarea_sin_adjudicar(t.categoria_id, t.cliente_id, -p_signo);
+    END IF;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION contadores_solicitud() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.estado IS NOT DISTINCT FROM NEW.estado
+            AND OLD.trabajador_id IS NOT DISTINCT FROM NEW.trabajador_id
+            AND OLD.tarea_id IS NOT DISTINCT FROM NEW.tarea_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM sumar_solicitud(OLD.estado, OLD.trabajador_id, OLD.tarea_id, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM sumar_solicitud(NEW.estado, NEW.trabajador_id, NEW.tarea_id, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION contadores_mensaje() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.leido = NEW.leido AND OLD.destinatario_id IS NOT DISTINCT FROM NEW.destinatario_id THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND NOT OLD.leido THEN
+        PERFORM sumar_contador('MENSAJES_NO_LEIDOS_ACTOR', OLD.destinatario_id::text, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NOT NEW.leido THEN
+        PERFORM sumar_contador('MENSAJES_NO_LEIDOS_ACTOR', NEW.destinatario_id::text, 1);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+-- Rehace todos los contadores desde cero. El bloqueo hace esperar a los triggers de las transacciones
+-- que empiecen mientras tanto, y las que ya los habían disparado terminan antes de contar.
+CREATE OR REPLACE FUNCTION recalcular_contadores() RETURNS integer AS $$
+DECLARE
+    filas integer;
+BEGIN
+    LOCK TABLE contador IN EXCLUSIVE MODE;
+    DELETE FROM contador;
+    INSERT INTO contador (tipo, clave, valor)
+        SELECT 'TAREAS_SIN_ADJUDICAR_CATEGORIA', t.categoria_id, count(*) FROM tarea t
+        WHERE t.categoria_id IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM solicitud s WHERE s.tarea_id = t.id AND s.estado = 'ACEPTADO')
+        GROUP BY t.categoria_id;
+    INSERT INTO contador (tipo, clave, valor)
+        SELECT 'TAREAS_SIN_ADJUDICAR_CLIENTE', t.cliente_id::text, count(*) FROM tarea t
+        WHERE t.cliente_id IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM solicitud s WHERE s.tarea_id = t.id AND s.estado = 'ACEPTADO')
+        GROUP BY t.cliente_id;
+    INSERT INTO contador (tipo, clave, valor)
+        SELECT 'SOLICITUDES_PENDIENTES_TRABAJADOR', s.trabajador_id::text, count(*) FROM solicitud s
+        WHERE s.estado = 'PENDIENTE' AND s.trabajador_id IS NOT NULL
+        GROUP BY s.trabajador_id;
+    INSERT INTO contador (tipo, clave, valor)
+        SELECT 'SOLICITUDES_PENDIENTES_CLIENTE', t.cliente_id::text, count(*) FROM solicitud s JOIN tarea t ON t.id = s.tarea_id
+        WHERE s.estado = 'PENDIENTE' AND t.cliente_id IS NOT NULL
+        GROUP BY t.cliente_id;
+    INSERT INTO contador (tipo, clave, valor)
+        SELECT 'MENSAJES_NO_LEIDOS_ACTOR', m.destinatario_id::text, count(*) FROM mensaje m
+        WHERE NOT m.leido AND m.destinatario_id IS NOT NULL
+        GROUP BY m.destinatario_id;
+    SELECT count(*) INTO filas FROM contador;
+    RETURN filas;
+END
+$$ LANGUAGE plpgsql;
+
+-- Los contadores TAREAS_ABIERTAS_* pasaron a llamarse TAREAS_SIN_ADJUDICAR_*: se renombran las filas y se
+-- rehace la restricción de tipos que Hibernate creó con los nombres antiguos
+DROP FUNCTION IF EXISTS sumar_tarea_abierta(text, integer, bigint);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'contador_tipo_check'
+            AND pg_get_constraintdef(oid) LIKE '%TAREAS_ABIERTAS_%') THEN
+        ALTER TABLE contador DROP CONSTRAINT contador_tipo_check;
+        UPDATE contador SET tipo = replace(tipo, 'TAREAS_ABIERTAS_', 'TAREAS_SIN_ADJUDICAR_')
+            WHERE tipo LIKE 'TAREAS\_ABIERTAS\_%';
+        ALTER TABLE contador ADD CONSTRAINT contador_tipo_check CHECK (tipo IN ('TAREAS_SIN_ADJUDICAR_CATEGORIA',
+            'TAREAS_SIN_ADJUDICAR_CLIENTE', 'SOLICITUDES_PENDIENTES_TRABAJADOR', 'SOLICITUDES_PENDIENTES_CLIENTE',
+            'MENSAJES_NO_LEIDOS_ACTOR'));
+    END IF;
+END
+$$;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_tarea_contadores') THEN
+        CREATE TRIGGER trg_tarea_contadores AFTER INSERT OR DELETE OR UPDATE OF categoria_id, cliente_id ON tarea
+            FOR EACH ROW EXECUTE FUNCTION contadores_tarea();
+        CREATE TRIGGER trg_solicitud_contadores AFTER INSERT OR DELETE OR UPDATE OF estado, trabajador_id, tarea_id ON solicitud
+            FOR EACH ROW EXECUTE FUNCTION contadores_solicitud();
+        CREATE TRIGGER trg_mensaje_contadores AFTER INSERT OR DELETE OR UPDATE OF leido, destinatario_id ON mensaje
+            FOR EACH ROW EXECUTE FUNCTION contadores_mensaje();
+        PERFORM recalcular_contadores();
+    END IF;
+END
+$$;
+
+-- Secuencias por entidad (SecuenciaPorEntidad): sustituyen a la global domain_entity_seq.
+-- Si una secuencia iba a devolver un id que ya existe (recién creada sobre datos antiguos), se adelanta por
+-- encima del máximo. Con pooled-lo cada nextval es el primer id de un bloque, y si el siguiente bloque ya
+-- empieza después de los datos no se toca, para no pisar un bloque reservado por otra instancia.
+DO $$
+DECLARE
+    r RECORD;
+    maximo bigint;
+    siguiente bigint;
+BEGIN
+    FOR r IN SELECT * FROM (VALUES
+            ('actor_seq', ARRAY['admin', 'cliente', 'trabajador', 'actor']),
+            ('lectura_broadcast_seq', ARRAY['lectura_broadcast']),
+            ('mensaje_seq', ARRAY['mensaje', 'broadcast']),
+            ('notificacion_pendiente_seq', ARRAY['notificacion_pendiente']),
+            ('perfil_social_seq', ARRAY['perfil_social']),
+            ('solicitud_seq', ARRAY['solicitud']),
+            ('tutorial_seq', ARRAY['tutorial'])) AS s(secuencia, tablas)
+    LOOP
+        IF to_regclass(r.secuencia) IS NULL THEN
+            CONTINUE;
+        END IF;
+        -- Valor que devolverá el próximo nextval
+        EXECUTE format('SELECT CASE WHEN s.is_called THEN s.last_value + p.increment_by ELSE s.last_value END '
+                || 'FROM %I s, pg_sequences p WHERE p.schemaname = current_schema() AND p.sequencename = %L',
+                r.secuencia, r.secuencia) INTO siguiente;
+        maximo := 0;
+        FOR i IN 1 .. array_length(r.tablas, 1) LOOP
+            IF to_regclass(r.tablas[i]) IS NOT NULL THEN
+                EXECUTE format('SELECT greatest(%s, coalesce(max(id), 0)) FROM %I', maximo, r.tablas[i]) INTO maximo;
+            END IF;
+        END LOOP;
+        IF siguiente <= maximo THEN
+            PERFORM setval(r.secuencia, maximo + 1, false);
+        END IF;
+    END LOOP;
+END
+$$;
+
+-- Broadcast y Mensaje comparten mensaje_seq. Los broadcasts creados cuando tenían su propia secuencia pueden
+-- repetir el id de un mensaje: se les da uno nuevo de mensaje_seq y se mueven sus lecturas.
+DO $$
+DECLARE
+    r RECORD;
+    nuevo integer;
+BEGIN
+    IF to_regclass('broadcast') IS NULL OR to_regclass('mensaje') IS NULL OR to_regclass('mensaje_seq') IS NULL THEN
+        RETURN;
+    END IF;
+    FOR r IN SELECT b.id FROM broadcast b WHERE EXISTS (SELECT 1 FROM mensaje m WHERE m.id = b.id) LOOP
+        nuevo := nextval('mensaje_seq');
+        INSERT INTO broadcast (id, version, asunto, cuerpo, fecha_envio, remitente_id)
+            SELECT nuevo, version, asunto, cuerpo, fecha_envio, remitente_id FROM broadcast WHERE id = r.id;
+        UPDATE lectura_broadcast SET broadcast_id = nuevo WHERE broadcast_id = r.id;
+        DELETE FROM broadcast WHERE id = r.id;
+    END LOOP;
+    DROP SEQUENCE IF EXISTS broadcast_seq;
+END
+$$;
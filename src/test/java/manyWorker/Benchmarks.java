@@ -0,0 +1,107 @@
+package manyWorker;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Ejecuta los benchmarks JMH y compara cada resultado con la línea base guardada en
+// src/test/resources/benchmarks/baseline.json. Termina con error si alguno empeora más que la tolerancia
+// y más que el margen de error de las dos mediciones. Las líneas base solo son comparables en la misma máquina:
+// al cambiar de máquina o al aceptar un cambio de rendimiento se regeneran con -Dbenchmarks.actualizar=true.
+//   mvn -Pbenchmarks test-compile exec:exec [-Dbenchmarks.incluir=JWTUtilsBenchmark] [-Dbenchmarks.tolerancia=0.10]
+//       [-Dbenchmarks.actualizar=true]
+// El resultado completo de JMH queda en target/jmh-resultado.json.
+public class Benchmarks {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	public static void main(String[] args) throws RunnerException, IOException {
+		String incluir = args.length > 0 ? args[0] : "manyWorker\\.";
+		File ficheroBase = new File(System.getProperty("benchmarks.baseline", "src/test/resources/benchmarks/baseline.json"));
+		double tolerancia = Double.parseDouble(System.getProperty("benchmarks.tolerancia", "0.10"));
+		boolean actualizar = Boolean.getBoolean("benchmarks.actualizar");
+
+		Collection<RunResult> resultados = new Runner(new OptionsBuilder().include(incluir)
+				.resultFormat(ResultFormatType.JSON).result("target/jmh-resultado.json").build()).run();
+
+		Map<String, Medicion> base = ficheroBase.exists()
+				? MAPPER.readValue(ficheroBase, new TypeReference<TreeMap<String, Medicion>>() {})
+				: new TreeMap<>();
+		Map<String, Medicion> actuales = new TreeMap<>();
+		for (RunResult resultado : resultados) {
+			Result<?> principal = resultado.getPrimaryResult();
+			BenchmarkParams params = resultado.getParams();
+			actuales.put(clave(params), new Medicion(params.getMode().shortLabel(), principal.getScore(),
+					principal.getScoreError(), principal.getScoreUnit()));
+		}
+
+		int regresiones = 0;
+		System.out.printf("%n%-75s %14s %14s %9s%n", "Benchmark", "Base", "Actual", "Cambio");
+		for (Map.Entry<String, Medicion> entrada : actuales.entrySet()) {
+			Medicion actual = entrada.getValue();
+			Medicion anterior = base.get(entrada.getKey());
+			if (anterior == null || !anterior.unidad().equals(actual.unidad())) {
+				System.out.printf("%-75s %14s %14.3f %9s  nuevo%n", entrada.getKey(), "-", actual.puntuacion(), "");
+				continue;
+			}
+			double empeora = actual.empeoraRespectoA(anterior);
+			boolean regresion = empeora > tolerancia
+					&& Math.abs(actual.puntuacion() - anterior.puntuacion()) > actual.margen() + anterior.margen();
+			regresiones += regresion ? 1 : 0;
+			System.out.printf("%-75s %14.3f %14.3f %+8.1f%%  %s%n", entrada.getKey(), anterior.puntuacion(),
+					actual.puntuacion(), 100 * empeora, regresion ? "REGRESIÓN" : actual.unidad());
+		}
+
+		if (actualizar) {
+			base.putAll(actuales);
+			ficheroBase.getParentFile().mkdirs();
+			MAPPER.writeValue(ficheroBase, base);
+			System.out.println("Línea base actualizada: " + ficheroBase);
+		} else if (regresiones > 0) {
+			System.out.println(regresiones + " benchmark(s) empeoran más de un " + Math.round(tolerancia * 100) + "%");
+			System.exit(1);
+		}
+	}
+
+	// Nombre completo del benchmark más sus @Param, p. ej. manyWorker.security.BCryptBenchmark.comprobar[coste=10]
+	private static String clave(BenchmarkParams params) {
+		StringBuilder clave = new StringBuilder(params.getBenchmark());
+		if (!params.getParamsKeys().isEmpty()) {
+			clave.append('[');
+			for (String param : params.getParamsKeys()) {
+				clave.append(clave.charAt(clave.length() - 1) == '[' ? "" : ",").append(param).append('=').append(params.getParam(param));
+			}
+			clave.append(']');
+		}
+		return clave.toString();
+	}
+
+	// Error: semiamplitud del intervalo de confianza al 99,9% que calcula JMH (NaN con una sola iteración)
+	public record Medicion(String modo, double puntuacion, double error, String unidad) {
+
+		double margen() {
+			return Double.isNaN(error) ? 0 : error;
+		}
+
+		// Fracción en que empeora: en throughput es peor un valor menor, en los demás modos uno mayor
+		double empeoraRespectoA(Medicion base) {
+			double cambio = (puntuacion - base.puntuacion) / base.puntuacion;
+			return Mode.Throughput.shortLabel().equals(modo) ? -cambio : cambio;
+		}
+	}
+}
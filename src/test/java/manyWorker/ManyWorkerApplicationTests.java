@@ -2,10 +2,17 @@ package manyWorker;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
 @SpringBootTest
 class ManyWorkerApplicationTests {
 
+	@DynamicPropertySource
+	static void baseDeDatos(DynamicPropertyRegistry registro) {
+		PostgresEmbebido.configurar(registro);
+	}
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,57 @@
+package manyWorker;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// PostgreSQL embebido (zonky, sin Docker) para los tests que levantan la aplicación: así un mvn test no depende
+// de la base de datos de desarrollo ni escribe en ella. Se arranca una vez por JVM, en un puerto libre, y cada
+// test lo enlaza desde su @DynamicPropertySource:
+//   @DynamicPropertySource
+//   static void baseDeDatos(DynamicPropertyRegistry registro) { PostgresEmbebido.configurar(registro); }
+public final class PostgresEmbebido {
+
+	private static EmbeddedPostgres postgres;
+
+	private static String url;
+
+	private PostgresEmbebido() {
+	}
+
+	public static void configurar(DynamicPropertyRegistry registro) {
+		registro.add("spring.datasource.url", PostgresEmbebido::url);
+		registro.add("spring.datasource.username", () -> "postgres");
+		registro.add("spring.datasource.password", () -> "");
+	}
+
+	private static synchronized String url() {
+		if (url == null) {
+			try {
+				postgres = EmbeddedPostgres.builder().start();
+				try (Connection conexion = postgres.getPostgresDatabase().getConnection();
+						Statement st = conexion.createStatement()) {
+					st.execute("CREATE DATABASE manyworker");
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					postgres.close();
+				} catch (IOException e) {
+					// La JVM termina de todas formas
+				}
+			}));
+			url = postgres.getJdbcUrl("postgres", "manyworker");
+		}
+		return url;
+	}
+}
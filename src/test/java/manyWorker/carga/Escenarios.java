@@ -0,0 +1,263 @@
+package manyWorker.carga;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Guiones de uso que lanzan los usuarios virtuales de PruebaCarga contra la API, con este reparto:
+// - 45% navegar tareas (trabajador): dos páginas del listado, filtro por categoría, texto, cercanía y detalle
+// - 30% consultar la bandeja (cliente o trabajador): no leídos y primera página de recibidos
+// - 15% presentar una solicitud a una tarea reciente (la API exige rol CLIENTE en POST /solicitudes)
+// - 9,5% aceptar una solicitud pendiente (el cliente dueño de la tarea); cada candidata se usa una sola vez
+// - 0,5% broadcast del administrador
+// Los actores, tareas y solicitudes se eligen de la base de datos antes de empezar.
+public class Escenarios {
+
+	private static final int MUESTRA = 500;
+
+	private final String base;
+
+	private final String clave;
+
+	private final Latencias latencias;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+	private final List<Actor> clientes;
+
+	private final List<Actor> trabajadores;
+
+	private final String admin;
+
+	private final List<String> categorias;
+
+	private final List<String> tareasRecientes;
+
+	private final Queue<Candidata> candidatas = new ConcurrentLinkedQueue<>();
+
+	public Escenarios(String base, Connection conexion, String clave, Latencias latencias) throws SQLException {
+		this.base = base;
+		this.clave = clave;
+		this.latencias = latencias;
+		clientes = actores(conexion, "cliente");
+		trabajadores = actores(conexion, "trabajador");
+		List<String> admins = textos(conexion, "SELECT username FROM admin WHERE NOT baneado ORDER BY username = '"
+				+ GeneradorDatos.ADMIN + "' DESC LIMIT 1");
+		admin = admins.isEmpty() ? null : admins.get(0);
+		categorias = textos(conexion, "SELECT id FROM categoria");
+		tareasRecientes = textos(conexion, "SELECT id FROM tarea ORDER BY fecha_publicacion DESC, id DESC LIMIT 5000");
+		// Una pendiente por tarea, de tareas sin solicitud aceptada
+		try (Statement st = conexion.createStatement(); ResultSet rs = st.executeQuery(
+				"SELECT DISTINCT ON (s.tarea_id) s.id, c.username FROM solicitud s JOIN tarea t ON t.id = s.tarea_id "
+						+ "JOIN cliente c ON c.id = t.cliente_id WHERE s.estado = 'PENDIENTE' AND NOT c.baneado "
+						+ "AND NOT EXISTS (SELECT 1 FROM solicitud a WHERE a.tarea_id = s.tarea_id AND a.estado = 'ACEPTADO') "
+						+ "ORDER BY s.tarea_id LIMIT 50000")) {
+			while (rs.next()) {
+				candidatas.add(new Candidata(rs.getInt(1), rs.getString(2)));
+			}
+		}
+		if (clientes.isEmpty() || trabajadores.isEmpty() || tareasRecientes.isEmpty()) {
+			throw new IllegalStateException("Faltan datos: genera antes clientes, trabajadores y tareas (GeneradorDatos)");
+		}
+	}
+
+	// Lanza los usuarios virtuales sin pausa entre guiones; el calentamiento no cuenta en las latencias
+	public double ejecutar(int usuarios, int calentamientoSegundos, int duracionSegundos) throws InterruptedException {
+		ExecutorService hilos = Executors.newFixedThreadPool(usuarios);
+		long inicio = System.nanoTime();
+		long inicioMedicion = inicio + TimeUnit.SECONDS.toNanos(calentamientoSegundos);
+		long fin = inicioMedicion + TimeUnit.SECONDS.toNanos(duracionSegundos);
+		for (int i = 0; i < usuarios; i++) {
+			hilos.execute(() -> {
+				while (System.nanoTime() < fin) {
+					if (System.nanoTime() >= inicioMedicion) {
+						latencias.activar();
+					}
+					try {
+						siguienteGuion();
+					} catch (IOException | RuntimeException e) {
+						latencias.registrar("(error de cliente)", 0, -1, e.toString());
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			});
+		}
+		hilos.shutdown();
+		hilos.awaitTermination(duracionSegundos + calentamientoSegundos + 60L, TimeUnit.SECONDS);
+		return (System.nanoTime() - Math.max(inicioMedicion, inicio)) / 1e9;
+	}
+
+	private void siguienteGuion() throws IOException, InterruptedException {
+		double tirada = ThreadLocalRandom.current().nextDouble();
+		if (tirada < 0.45) {
+			navegar();
+		} else if (tirada < 0.75) {
+			bandeja();
+		} else if (tirada < 0.90) {
+			aplicar();
+		} else if (tirada < 0.995) {
+			aceptar();
+		} else {
+			broadcast();
+		}
+	}
+
+	private void navegar() throws IOException, InterruptedException {
+		Actor trabajador = elegir(trabajadores);
+		String token = token(trabajador.username());
+		JsonNode pagina = get("GET /tareas/buscar", "/tareas/buscar?tamano=20", token);
+		String cursor = texto(pagina, "siguienteCursor");
+		if (cursor != null) {
+			get("GET /tareas/buscar (página 2)", "/tareas/buscar?tamano=20&cursor=" + codificar(cursor), token);
+		}
+		get("GET /tareas/buscar?categoria", "/tareas/buscar?tamano=20&categoria=" + codificar(elegir(categorias)), token);
+		get("GET /tareas/texto", "/tareas/texto?tamano=20&q=" + codificar(elegir(List.of(GeneradorDatos.OBJETOS))), token);
+		if (trabajador.latitud() != null) {
+			get("GET /tareas/cercanas", "/tareas/cercanas?tamano=20&radioKm=15&lat=" + trabajador.latitud() + "&lon="
+					+ trabajador.longitud(), token);
+		}
+		JsonNode contenido = pagina == null ? null : pagina.get("contenido");
+		if (contenido != null && contenido.size() > 0) {
+			get("GET /tareas/{id}", "/tareas/" + codificar(contenido.get(0).get("id").asText()), token);
+		}
+	}
+
+	private void bandeja() throws IOException, InterruptedException {
+		Actor actor = ThreadLocalRandom.current().nextBoolean() ? elegir(clientes) : elegir(trabajadores);
+		String token = token(actor.username());
+		get("GET /mensajes/no-leidos", "/mensajes/no-leidos", token);
+		get("GET /mensajes/destinatario/{id}", "/mensajes/destinatario/" + actor.id() + "?tamano=20", token);
+	}
+
+	private void aplicar() throws IOException, InterruptedException {
+		Actor cliente = elegir(clientes);
+		String cuerpo = "{\"trabajador\":{\"id\":" + elegir(trabajadores).id() + "},\"tarea\":{\"id\":\""
+				+ elegir(tareasRecientes) + "\"},\"precioOfrecido\":" + (20 + ThreadLocalRandom.current().nextInt(200))
+				+ ",\"comentario\":\"Puedo hacerlo esta semana con material incluido\"}";
+		enviar("POST /solicitudes", "POST", "/solicitudes", cuerpo, token(cliente.username()));
+	}
+
+	private void aceptar() throws IOException, InterruptedException {
+		Candidata candidata = candidatas.poll();
+		if (candidata != null) {
+			enviar("PUT /solicitudes/{id}/aceptar", "PUT", "/solicitudes/" + candidata.solicitud() + "/aceptar", null,
+					token(candidata.cliente()));
+		}
+	}
+
+	private void broadcast() throws IOException, InterruptedException {
+		if (admin != null) {
+			enviar("POST /mensajes/broadcast", "POST", "/mensajes/broadcast",
+					"{\"asunto\":\"Aviso de mantenimiento\",\"cuerpo\":\"El domingo de 2:00 a 4:00 la plataforma no estará disponible\"}",
+					token(admin));
+		}
+	}
+
+	// Un login por actor durante toda la prueba, como un cliente real que reutiliza su token
+	private String token(String username) {
+		return tokens.computeIfAbsent(username, u -> {
+			try {
+				JsonNode respuesta = enviar("POST /actor/login", "POST", "/actor/login",
+						mapper.writeValueAsString(Map.of("username", u, "password", clave)), null);
+				return respuesta == null ? "" : respuesta.get("token").asText();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	private JsonNode get(String endpoint, String ruta, String token) throws IOException, InterruptedException {
+		return enviar(endpoint, "GET", ruta, null, token);
+	}
+
+	// Devuelve el JSON de la respuesta si fue 2xx y lo era; las respuestas de texto devuelven null
+	private JsonNode enviar(String endpoint, String metodo, String ruta, String cuerpo, String token)
+			throws IOException, InterruptedException {
+		HttpRequest.Builder peticion = HttpRequest.newBuilder(URI.create(base + ruta)).timeout(Duration.ofSeconds(60))
+				.method(metodo, cuerpo == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(cuerpo));
+		if (cuerpo != null) {
+			peticion.header("Content-Type", "application/json");
+		}
+		if (token != null && !token.isEmpty()) {
+			peticion.header("Authorization", "Bearer " + token);
+		}
+		long inicio = System.nanoTime();
+		HttpResponse<String> respuesta = http.send(peticion.build(), HttpResponse.BodyHandlers.ofString());
+		latencias.registrar(endpoint, System.nanoTime() - inicio, respuesta.statusCode(), respuesta.body());
+		String texto = respuesta.body();
+		if (respuesta.statusCode() >= 300 || texto == null || !(texto.startsWith("{") || texto.startsWith("["))) {
+			return null;
+		}
+		return mapper.readTree(texto);
+	}
+
+	private static String texto(JsonNode nodo, String campo) {
+		return nodo == null || !nodo.hasNonNull(campo) ? null : nodo.get(campo).asText();
+	}
+
+	private static String codificar(String valor) {
+		return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+	}
+
+	private static <T> T elegir(List<T> valores) {
+		return valores.get(ThreadLocalRandom.current().nextInt(valores.size()));
+	}
+
+	private static List<Actor> actores(Connection conexion, String tabla) throws SQLException {
+		List<Actor> actores = new ArrayList<>();
+		try (Statement st = conexion.createStatement(); ResultSet rs = st.executeQuery("SELECT id, username, latitud, longitud FROM "
+				+ tabla + " WHERE NOT baneado AND username NOT LIKE 'anonimo-%' ORDER BY random() LIMIT " + MUESTRA)) {
+			while (rs.next()) {
+				actores.add(new Actor(rs.getInt(1), rs.getString(2), (Double) rs.getObject(3), (Double) rs.getObject(4)));
+			}
+		}
+		return actores;
+	}
+
+	private static List<String> textos(Connection conexion, String sql) throws SQLException {
+		List<String> valores = new ArrayList<>();
+		try (Statement st = conexion.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+			while (rs.next()) {
+				valores.add(rs.getString(1));
+			}
+		}
+		return valores;
+	}
+
+	private record Actor(int id, String username, Double latitud, Double longitud) {
+	}
+
+	private record Candidata(int solicitud, String cliente) {
+	}
+}
@@ -0,0 +1,401 @@
+package manyWorker.carga;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import manyWorker.entity.Roles;
+import manyWorker.geo.Coordenadas;
+import manyWorker.geo.GeoCelda;
+import manyWorker.identificador.GeneradorIds;
+import manyWorker.identificador.GeneradorIdsTemporal;
+
+// Datos sintéticos para pruebas de carga: clientes, trabajadores, tareas, solicitudes y mensajes cargados con COPY.
+// Con escala 1: 20.000 clientes, 5.000 trabajadores, 200.000 tareas, unas 600.000 solicitudes y 1.000.000 de mensajes.
+// Distribuciones:
+// - unos pocos clientes publican la mayoría de las tareas y unos pocos trabajadores envían la mayoría de las
+//   solicitudes (sesgo potencial); lo mismo con los mensajes;
+// - publicación en los dos últimos años, más densa cuanto más reciente; precios log-normales (mediana ~90 €);
+// - direcciones repartidas por los municipios de geo/municipios.csv, con más peso en las capitales;
+// - unas 3 solicitudes por tarea; en las tareas de más de tres semanas suele haber una aceptada.
+// El esquema debe existir (la aplicación lo crea al arrancar) y las categorías también (se siembran al arrancar).
+// Los triggers de contadores se desactivan durante la carga y los contadores se recalculan al final.
+// Contraseña de todos los actores generados: CLAVE.
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=manyWorker.carga.GeneradorDatos
+//       [-Descala=1] [-Dsemilla=42] [-Durl=jdbc:postgresql://localhost:5432/manyWorker] [-Dusuario=postgres] [-Dclave=password]
+public class GeneradorDatos {
+
+	public static final String CLAVE = "carga";
+
+	public static final String ADMIN = "admin-carga";
+
+	private static final int BUFFER_COPY = 1 << 20;
+
+	private static final String COLUMNAS_ACTOR = "id, version, apellido, apellido2, baneado, correo, direccion, foto, nombre, "
+			+ "password, rol, telefono, username, latitud, longitud";
+
+	private static final String[] NOMBRES = { "María", "Carmen", "Ana", "Laura", "Lucía", "Marta", "Elena", "Sara",
+			"Antonio", "Manuel", "José", "David", "Javier", "Daniel", "Carlos", "Pablo", "Alejandro", "Sergio" };
+	private static final String[] APELLIDOS = { "García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+			"Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz", "Álvarez" };
+	private static final String[] CALLES = { "Calle Mayor", "Avenida de la Constitución", "Calle Real", "Plaza de España",
+			"Calle del Sol", "Avenida Andalucía", "Calle Nueva", "Paseo del Prado", "Calle San Juan", "Calle Alcalá" };
+
+	static final String[] ACCIONES = { "Reparar", "Instalar", "Cambiar", "Revisar", "Pintar", "Montar", "Limpiar",
+			"Sustituir", "Ajustar", "Desatascar" };
+	static final String[] OBJETOS = { "grifo", "persiana", "enchufe", "puerta", "ventana", "caldera", "lámpara",
+			"armario", "tejado", "valla", "estantería", "radiador", "cisterna", "ventilador", "cerradura" };
+	private static final String[] LUGARES = { "de la cocina", "del baño", "del salón", "del dormitorio", "de la terraza",
+			"del garaje", "del jardín", "de la oficina" };
+	private static final String[] DETALLES = { "", " urgente", " este fin de semana", " antes del viernes",
+			", con material incluido", ", presupuesto cerrado", ", acceso por el patio" };
+	private static final String[] COMENTARIOS = { "Puedo ir mañana por la tarde y llevo el material",
+			"Tengo experiencia en trabajos similares, presupuesto sin compromiso",
+			"Disponible esta semana, el precio incluye desplazamiento",
+			"Lo puedo dejar terminado en una mañana", "Trabajo con garantía de un año" };
+	private static final String[] ASUNTOS = { "Consulta sobre la tarea", "Presupuesto", "Disponibilidad",
+			"Cambio de horario", "Material necesario", "Confirmación" };
+	private static final String[] CUERPOS = { "Hola, ¿podríamos quedar el jueves a primera hora?",
+			"Le envío el presupuesto detallado con el material incluido.",
+			"Confirmo la visita, llegaré sobre las diez.",
+			"¿Tiene fotos del estado actual? Así llevo las piezas adecuadas.",
+			"Gracias, el trabajo quedó perfecto." };
+
+	private final Connection conexion;
+
+	private final Random rnd;
+
+	private final GeneradorIds ids = new GeneradorIdsTemporal(1023, ZoneId.systemDefault());
+
+	private final List<Municipio> municipios = cargarMunicipios();
+
+	private final LocalDate hoy = LocalDate.now();
+
+	public GeneradorDatos(Connection conexion, long semilla) {
+		this.conexion = conexion;
+		this.rnd = new Random(semilla);
+	}
+
+	public static void main(String[] args) throws SQLException {
+		double escala = Double.parseDouble(System.getProperty("escala", "1"));
+		long semilla = Long.getLong("semilla", 42L);
+		String url = System.getProperty("url", "jdbc:postgresql://localhost:5432/manyWorker");
+		try (Connection conexion = DriverManager.getConnection(url, System.getProperty("usuario", "postgres"),
+				System.getProperty("clave", "password"))) {
+			new GeneradorDatos(conexion, semilla).generar(escala);
+		}
+	}
+
+	public void generar(double escala) throws SQLException {
+		int clientes = Math.max(10, (int) (20_000 * escala));
+		int trabajadores = Math.max(10, (int) (5_000 * escala));
+		int tareas = Math.max(10, (int) (200_000 * escala));
+		int mensajes = Math.max(10, (int) (1_000_000 * escala));
+
+		List<String> categorias = consultarTextos("SELECT id FROM categoria ORDER BY id");
+		if (categorias.isEmpty()) {
+			throw new IllegalStateException("No hay categorías: arranca la aplicación una vez para crear el esquema");
+		}
+		String hash = new BCryptPasswordEncoder().encode(CLAVE);
+
+		boolean autoCommit = conexion.getAutoCommit();
+		conexion.setAutoCommit(false);
+		try {
+			// Sin triggers (contadores) ni comprobación de claves ajenas: los datos se generan ya consistentes
+			ejecutar("SET session_replication_role = replica");
+
+			long inicio = System.nanoTime();
+			int primerActor = siguienteId("actor_seq", "admin", "cliente", "trabajador");
+			int primerCliente = primerActor + 1;
+			int primerTrabajador = primerCliente + clientes;
+			try (Copia copia = new Copia("admin (" + COLUMNAS_ACTOR + ")")) {
+				filaActor(copia, primerActor, ADMIN, hash, Roles.ADMINISTRADOR, null);
+			}
+			try (Copia copia = new Copia("cliente (" + COLUMNAS_ACTOR + ")")) {
+				for (int i = 0; i < clientes; i++) {
+					filaActor(copia, primerCliente + i, "cliente" + (primerCliente + i), hash, Roles.CLIENTE, null);
+				}
+			}
+			try (Copia copia = new Copia("trabajador (" + COLUMNAS_ACTOR + ", nombre_comercial)")) {
+				for (int i = 0; i < trabajadores; i++) {
+					String apellido = elegir(APELLIDOS);
+					filaActor(copia, primerTrabajador + i, "trabajador" + (primerTrabajador + i), hash, Roles.TRABAJADOR,
+							rnd.nextInt(3) == 0 ? "Reformas " + apellido : null);
+				}
+			}
+			ajustarSecuencia("actor_seq", primerTrabajador + trabajadores);
+			conexion.commit();
+			informar("actores", 1 + clientes + trabajadores, inicio);
+
+			inicio = System.nanoTime();
+			String[] idsTarea = new String[tareas];
+			LocalDate[] publicacion = new LocalDate[tareas];
+			double[] precio = new double[tareas];
+			try (Copia copia = new Copia("tarea (id, descripcion, direccion, fecha_fin, fecha_publicacion, precio_max, "
+					+ "categoria_id, cliente_id, geocelda, latitud, longitud)")) {
+				for (int i = 0; i < tareas; i++) {
+					idsTarea[i] = ids.siguiente();
+					// Más tareas cuanto más reciente: la plataforma crece
+					publicacion[i] = hoy.minusDays((long) (730 * Math.pow(rnd.nextDouble(), 1.5)));
+					precio[i] = Math.round(Math.exp(4.5 + 0.8 * rnd.nextGaussian()) * 100) / 100.0;
+					Municipio municipio = elegirMunicipio();
+					Coordenadas c = municipio.cerca(rnd);
+					copia.fila(idsTarea[i], descripcion(), direccion(municipio), publicacion[i].plusDays(7 + rnd.nextInt(84)),
+							publicacion[i], precio[i], categorias.get(sesgado(categorias.size(), 1.6)),
+							primerCliente + sesgado(clientes, 3), GeoCelda.codificar(c), c.latitud(), c.longitud());
+				}
+			}
+			conexion.commit();
+			informar("tareas", tareas, inicio);
+
+			inicio = System.nanoTime();
+			int primeraSolicitud = siguienteId("solicitud_seq", "solicitud");
+			int solicitud = primeraSolicitud;
+			try (Copia copia = new Copia("solicitud (id, version, comentario, estado, fecha_registro, precio_ofrecido, "
+					+ "tarea_id, trabajador_id)")) {
+				for (int i = 0; i < tareas; i++) {
+					// Geométrica de media 3
+					int numero = 0;
+					while (numero < 20 && rnd.nextDouble() < 0.75) {
+						numero++;
+					}
+					boolean cerrada = publicacion[i].isBefore(hoy.minusDays(21));
+					int aceptada = cerrada && numero > 0 && rnd.nextDouble() < 0.6 ? rnd.nextInt(numero) : -1;
+					for (int j = 0; j < numero; j++) {
+						String estado = j == aceptada ? "ACEPTADO"
+								: aceptada >= 0 || (cerrada && rnd.nextDouble() < 0.3) ? "RECHAZADO" : "PENDIENTE";
+						LocalDateTime registro = publicacion[i].atStartOfDay().plusMinutes(rnd.nextInt(5 * 24 * 60));
+						copia.fila(solicitud++, 0, elegir(COMENTARIOS), estado, registro,
+								Math.round(precio[i] * (0.6 + 0.5 * rnd.nextDouble()) * 100) / 100.0, idsTarea[i],
+								primerTrabajador + sesgado(trabajadores, 2));
+					}
+				}
+			}
+			ajustarSecuencia("solicitud_seq", solicitud);
+			conexion.commit();
+			informar("solicitudes", solicitud - primeraSolicitud, inicio);
+
+			inicio = System.nanoTime();
+			int primerMensaje = siguienteId("mensaje_seq", "mensaje", "broadcast");
+			LocalDateTime ahora = LocalDateTime.now();
+			try (Copia copia = new Copia("mensaje (id, version, asunto, cuerpo, fecha_envio, destinatario_id, remitente_id, leido)")) {
+				for (int i = 0; i < mensajes; i++) {
+					int cliente = primerCliente + sesgado(clientes, 2);
+					int trabajador = primerTrabajador + sesgado(trabajadores, 2);
+					boolean alTrabajador = rnd.nextBoolean();
+					LocalDateTime envio = ahora.minusMinutes((long) (365 * 24 * 60 * Math.pow(rnd.nextDouble(), 1.5)));
+					boolean leido = rnd.nextDouble() < (envio.isBefore(ahora.minusDays(7)) ? 0.85 : 0.3);
+					copia.fila(primerMensaje + i, 0, elegir(ASUNTOS), elegir(CUERPOS), envio,
+							alTrabajador ? trabajador : cliente, alTrabajador ? cliente : trabajador, leido);
+				}
+			}
+			ajustarSecuencia("mensaje_seq", primerMensaje + mensajes);
+			conexion.commit();
+			informar("mensajes", mensajes, inicio);
+
+			inicio = System.nanoTime();
+			ejecutar("SET session_replication_role = DEFAULT");
+			ejecutar("SELECT recalcular_contadores()",
+					"UPDATE categoria c SET numero_tareas = (SELECT count(*) FROM tarea t WHERE t.categoria_id = c.id)");
+			conexion.commit();
+			conexion.setAutoCommit(true);
+			ejecutar("ANALYZE admin", "ANALYZE cliente", "ANALYZE trabajador", "ANALYZE tarea", "ANALYZE solicitud",
+					"ANALYZE mensaje", "ANALYZE contador", "ANALYZE categoria");
+			informar("contadores y estadísticas", 0, inicio);
+		} catch (SQLException | RuntimeException e) {
+			conexion.rollback();
+			throw e;
+		} finally {
+			ejecutar("SET session_replication_role = DEFAULT");
+			conexion.setAutoCommit(autoCommit);
+		}
+	}
+
+	private void filaActor(Copia copia, int id, String username, String hash, Roles rol, String nombreComercial)
+			throws SQLException {
+		Municipio municipio = elegirMunicipio();
+		Coordenadas c = municipio.cerca(rnd);
+		String nombre = elegir(NOMBRES);
+		String apellido = elegir(APELLIDOS);
+		List<Object> valores = new ArrayList<>(List.of(id, 0, apellido, elegir(APELLIDOS), false,
+				username + "@example.com", direccion(municipio), "https://example.com/fotos/" + id + ".jpg", nombre, hash,
+				rol.ordinal(), String.valueOf(600_000_000 + rnd.nextInt(100_000_000)), username, c.latitud(), c.longitud()));
+		if (rol == Roles.TRABAJADOR) {
+			valores.add(nombreComercial);
+		}
+		copia.fila(valores.toArray());
+	}
+
+	private String descripcion() {
+		return elegir(ACCIONES) + " " + elegir(OBJETOS) + " " + elegir(LUGARES) + elegir(DETALLES);
+	}
+
+	private String direccion(Municipio municipio) {
+		return elegir(CALLES) + " " + (1 + rnd.nextInt(150)) + ", " + municipio.nombre();
+	}
+
+	// Índice en [0, n) con más peso en los primeros: cuanto mayor el exponente, más concentrado
+	private int sesgado(int n, double exponente) {
+		return Math.min(n - 1, (int) (n * Math.pow(rnd.nextDouble(), exponente)));
+	}
+
+	private String elegir(String[] valores) {
+		return valores[rnd.nextInt(valores.length)];
+	}
+
+	// Las capitales van primero en el fichero y reciben la mayor parte de las direcciones
+	private Municipio elegirMunicipio() {
+		return municipios.get(sesgado(municipios.size(), 2));
+	}
+
+	// Primer id libre para una secuencia pooled-lo: por encima de los datos y de cualquier bloque ya reservado
+	private int siguienteId(String secuencia, String... tablas) throws SQLException {
+		StringBuilder sql = new StringBuilder("SELECT greatest((SELECT CASE WHEN s.is_called THEN s.last_value + p.increment_by "
+				+ "ELSE s.last_value END FROM " + secuencia + " s, pg_sequences p WHERE p.sequencename = '" + secuencia + "')");
+		for (String tabla : tablas) {
+			sql.append(", (SELECT coalesce(max(id), 0) + 1 FROM ").append(tabla).append(')');
+		}
+		sql.append(')');
+		try (Statement st = conexion.createStatement(); ResultSet rs = st.executeQuery(sql.toString())) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	// El próximo nextval devuelve el primer id sin usar, inicio de un bloque nuevo
+	private void ajustarSecuencia(String secuencia, int siguiente) throws SQLException {
+		ejecutar("SELECT setval('" + secuencia + "', " + siguiente + ", false)");
+	}
+
+	private List<String> consultarTextos(String sql) throws SQLException {
+		List<String> valores = new ArrayList<>();
+		try (Statement st = conexion.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+			while (rs.next()) {
+				valores.add(rs.getString(1));
+			}
+		}
+		return valores;
+	}
+
+	private void ejecutar(String... sentencias) throws SQLException {
+		try (Statement st = conexion.createStatement()) {
+			for (String sentencia : sentencias) {
+				st.execute(sentencia);
+			}
+		}
+	}
+
+	private static void informar(String que, int filas, long inicio) {
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+		if (filas > 0) {
+			System.out.printf("%-26s %,12d filas en %6.1f s (%,.0f filas/s)%n", que, filas, segundos, filas / segundos);
+		} else {
+			System.out.printf("%-26s %25.1f s%n", que, segundos);
+		}
+	}
+
+	private static List<Municipio> cargarMunicipios() {
+		List<Municipio> municipios = new ArrayList<>();
+		try (BufferedReader lector = new BufferedReader(new InputStreamReader(
+				GeneradorDatos.class.getResourceAsStream("/geo/municipios.csv"), StandardCharsets.UTF_8))) {
+			String linea;
+			while ((linea = lector.readLine()) != null) {
+				if (linea.isBlank() || linea.startsWith("#")) {
+					continue;
+				}
+				String[] campos = linea.split(";");
+				municipios.add(new Municipio(campos[0], Double.parseDouble(campos[2]), Double.parseDouble(campos[3])));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("No se pudo leer geo/municipios.csv", e);
+		}
+		return municipios;
+	}
+
+	private record Municipio(String nombre, double latitud, double longitud) {
+
+		// Un punto a unos pocos kilómetros del centro
+		Coordenadas cerca(Random rnd) {
+			return new Coordenadas(latitud + 0.05 * rnd.nextGaussian(), longitud + 0.05 * rnd.nextGaussian());
+		}
+	}
+
+	// COPY ... FROM STDIN en formato texto, enviado en bloques de BUFFER_COPY caracteres
+	private final class Copia implements AutoCloseable {
+
+		private final CopyIn copy;
+
+		private final StringBuilder buffer = new StringBuilder(BUFFER_COPY + 4096);
+
+		private Copia(String tablaYColumnas) throws SQLException {
+			copy = conexion.unwrap(PGConnection.class).getCopyAPI().copyIn("COPY " + tablaYColumnas + " FROM STDIN");
+		}
+
+		void fila(Object... valores) throws SQLException {
+			for (int i = 0; i < valores.length; i++) {
+				if (i > 0) {
+					buffer.append('\t');
+				}
+				Object valor = valores[i];
+				if (valor == null) {
+					buffer.append("\\N");
+				} else if (valor instanceof String texto) {
+					escapar(texto);
+				} else {
+					buffer.append(valor);
+				}
+			}
+			buffer.append('\n');
+			if (buffer.length() >= BUFFER_COPY) {
+				enviar();
+			}
+		}
+
+		private void escapar(String texto) {
+			for (int i = 0; i < texto.length(); i++) {
+				char c = texto.charAt(i);
+				switch (c) {
+				case '\\' -> buffer.append("\\\\");
+				case '\t' -> buffer.append("\\t");
+				case '\n' -> buffer.append("\\n");
+				case '\r' -> buffer.append("\\r");
+				default -> buffer.append(c);
+				}
+			}
+		}
+
+		private void enviar() throws SQLException {
+			byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+			copy.writeToCopy(bytes, 0, bytes.length);
+			buffer.setLength(0);
+		}
+
+		@Override
+		public void close() throws SQLException {
+			try {
+				enviar();
+				copy.endCopy();
+			} finally {
+				if (copy.isActive()) {
+					copy.cancelCopy();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package manyWorker.carga;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latencias por endpoint (método + plantilla de ruta) de una prueba de carga, con percentiles exactos:
+// se guardan todas las mediciones, que en una prueba de minutos son pocos millones de long como mucho.
+public class Latencias {
+
+	private final Map<String, Serie> series = new ConcurrentHashMap<>();
+
+	private volatile boolean activas;
+
+	// Las peticiones del calentamiento no se registran
+	public void activar() {
+		activas = true;
+	}
+
+	public void registrar(String endpoint, long nanos, int estado, String cuerpo) {
+		if (activas) {
+			series.computeIfAbsent(endpoint, e -> new Serie()).registrar(nanos, estado, cuerpo);
+		}
+	}
+
+	public void informe(PrintStream salida, double segundos) {
+		salida.printf("%n%-36s %9s %8s %9s %9s %9s %9s %9s%n", "Endpoint", "Peticiones", "Errores", "Pet/s",
+				"p50 ms", "p95 ms", "p99 ms", "Máx ms");
+		long total = 0;
+		long errores = 0;
+		for (Map.Entry<String, Serie> entrada : new TreeMap<>(series).entrySet()) {
+			Serie serie = entrada.getValue();
+			long[] valores = serie.ordenadas();
+			total += valores.length;
+			errores += serie.errores;
+			salida.printf("%-36s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entrada.getKey(), valores.length, serie.errores,
+					valores.length / segundos, ms(percentil(valores, 0.50)), ms(percentil(valores, 0.95)),
+					ms(percentil(valores, 0.99)), ms(valores.length == 0 ? 0 : valores[valores.length - 1]));
+		}
+		salida.printf("%-36s %9d %8d %9.1f%n", "Total", total, errores, total / segundos);
+		series.forEach((endpoint, serie) -> {
+			if (serie.primerError != null) {
+				salida.println("Primer error en " + endpoint + ": " + serie.primerError);
+			}
+		});
+	}
+
+	private static long percentil(long[] ordenados, double p) {
+		return ordenados.length == 0 ? 0 : ordenados[(int) Math.ceil(p * ordenados.length) - 1];
+	}
+
+	private static double ms(long nanos) {
+		return nanos / 1e6;
+	}
+
+	private static final class Serie {
+
+		private long[] valores = new long[1024];
+
+		private int tamano;
+
+		private long errores;
+
+		private String primerError;
+
+		synchronized void registrar(long nanos, int estado, String cuerpo) {
+			if (tamano == valores.length) {
+				valores = Arrays.copyOf(valores, tamano * 2);
+			}
+			valores[tamano++] = nanos;
+			if (estado >= 400 || estado < 0) {
+				errores++;
+				if (primerError == null) {
+					primerError = estado + " " + (cuerpo == null ? "" : cuerpo.substring(0, Math.min(200, cuerpo.length())));
+				}
+			}
+		}
+
+		synchronized long[] ordenadas() {
+			long[] copia = Arrays.copyOf(valores, tamano);
+			Arrays.sort(copia);
+			return copia;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package manyWorker.carga;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import manyWorker.ManyWorkerApplication;
+
+// Prueba de carga de extremo a extremo. Por defecto lo levanta todo en este proceso:
+// 1. PostgreSQL embebido (zonky, binarios descargados como dependencia Maven; sin Docker) en un puerto libre;
+// 2. la aplicación en un puerto libre, que crea el esquema y las categorías;
+// 3. datos sintéticos con GeneradorDatos (-Dcarga.escala, 1 = ~1,8 millones de filas);
+// 4. los guiones de Escenarios con -Dcarga.usuarios usuarios virtuales, e informe de peticiones/s y percentiles
+//    de latencia por endpoint.
+// La aplicación comparte CPU con los usuarios virtuales: las cifras sirven para comparar versiones en la misma
+// máquina, no como capacidad absoluta. Para medir una instancia ya desplegada se indica su URL y su base de datos
+// (-Dcarga.url, -Durl, -Dusuario, -Dclave) y, si ya tiene datos, -Dcarga.generar=false.
+//   mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=manyWorker.carga.PruebaCarga
+//       [-Dcarga.escala=1] [-Dcarga.usuarios=32] [-Dcarga.calentamiento=15] [-Dcarga.duracion=60]
+//       [-Dcarga.url=http://localhost:8080] [-Dcarga.generar=true] [-Dcarga.clave=carga]
+public class PruebaCarga {
+
+	public static void main(String[] args) throws SQLException, IOException, InterruptedException {
+		double escala = Double.parseDouble(System.getProperty("carga.escala", "1"));
+		int usuarios = Integer.getInteger("carga.usuarios", 32);
+		int calentamiento = Integer.getInteger("carga.calentamiento", 15);
+		int duracion = Integer.getInteger("carga.duracion", 60);
+		boolean generar = Boolean.parseBoolean(System.getProperty("carga.generar", "true"));
+		String clave = System.getProperty("carga.clave", GeneradorDatos.CLAVE);
+		String url = System.getProperty("carga.url");
+
+		EmbeddedPostgres postgres = null;
+		ConfigurableApplicationContext aplicacion = null;
+		String jdbc = System.getProperty("url", "jdbc:postgresql://localhost:5432/manyWorker");
+		String usuario = System.getProperty("usuario", "postgres");
+		String claveBd = System.getProperty("clave", "password");
+		try {
+			if (url == null) {
+				postgres = EmbeddedPostgres.builder().start();
+				try (Connection conexion = postgres.getPostgresDatabase().getConnection();
+						Statement st = conexion.createStatement()) {
+					st.execute("CREATE DATABASE manyworker");
+				}
+				jdbc = postgres.getJdbcUrl("postgres", "manyworker");
+				claveBd = "";
+				System.out.println("PostgreSQL embebido en " + jdbc);
+				aplicacion = SpringApplication.run(ManyWorkerApplication.class,
+						"--spring.datasource.url=" + jdbc,
+						"--spring.datasource.username=" + usuario,
+						"--spring.datasource.password=",
+						"--server.port=0",
+						"--spring.jpa.show-sql=false",
+						"--spring.main.banner-mode=off",
+						"--logging.level.root=WARN",
+						"--manyworker.geo.completar-al-arrancar=false",
+						"--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, usuarios / 2));
+				url = "http://localhost:" + aplicacion.getEnvironment().getProperty("local.server.port");
+				System.out.println("Aplicación en " + url);
+			}
+
+			try (Connection conexion = DriverManager.getConnection(jdbc, usuario, claveBd)) {
+				if (generar) {
+					new GeneradorDatos(conexion, Long.getLong("semilla", 42L)).generar(escala);
+				}
+				Latencias latencias = new Latencias();
+				Escenarios escenarios = new Escenarios(url, conexion, clave, latencias);
+				System.out.printf("%d usuarios virtuales, %d s de calentamiento y %d s de medición%n", usuarios,
+						calentamiento, duracion);
+				double segundos = escenarios.ejecutar(usuarios, calentamiento, duracion);
+				latencias.informe(System.out, segundos);
+			}
+		} finally {
+			if (aplicacion != null) {
+				aplicacion.close();
+			}
+			if (postgres != null) {
+				postgres.close();
+			}
+		}
+	}
+}
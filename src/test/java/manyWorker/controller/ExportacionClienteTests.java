@@ -0,0 +1,106 @@
+package manyWorker.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+
+import manyWorker.PostgresEmbebido;
+import manyWorker.repository.ClienteRepository;
+
+// La exportación se escribe con StreamingResponseBody: la petición pasa a asíncrona y el cuerpo se termina
+// en un segundo despacho (ASYNC) que vuelve a pasar por la cadena de seguridad sin token.
+// Ese despacho tiene que completar la respuesta hasta la línea "resumen", en NDJSON y en ZIP.
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportacionClienteTests {
+
+	@DynamicPropertySource
+	static void baseDeDatos(DynamicPropertyRegistry registro) {
+		PostgresEmbebido.configurar(registro);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	private int id;
+
+	private String token;
+
+	@BeforeEach
+	void registrarCliente() throws Exception {
+		String username = "exportar" + ThreadLocalRandom.current().nextInt(1_000_000);
+		mockMvc.perform(post("/cliente").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"pw\",\"nombre\":\"Ana\",\"apellido\":\"Ruiz\","
+						+ "\"correo\":\"" + username + "@example.com\",\"telefono\":\"600000000\","
+						+ "\"direccion\":\"Calle Mayor 1\"}"))
+				.andExpect(status().isCreated());
+		id = clienteRepository.findByUsername(username).orElseThrow().getId();
+		String login = mockMvc.perform(post("/actor/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"pw\"}"))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		token = JsonPath.read(login, "$.token");
+	}
+
+	@Test
+	void exportacionNdjsonCompleta() throws Exception {
+		MvcResult inicio = mockMvc.perform(get("/cliente/exportar/" + id).header("Authorization", "Bearer " + token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/x-ndjson"))
+				.andExpect(content().string(containsString("\"tipo\":\"cliente\"")))
+				.andExpect(content().string(endsWith("\"tipo\":\"resumen\",\"datos\":{\"perfilesSociales\":0,\"tareas\":0,"
+						+ "\"solicitudes\":0,\"mensajes\":0}}\n")));
+	}
+
+	@Test
+	void exportacionComprimidaCompleta() throws Exception {
+		MvcResult inicio = mockMvc.perform(get("/cliente/exportar/" + id).param("comprimido", "true")
+				.header("Authorization", "Bearer " + token))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		byte[] zip = mockMvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType("application/zip"))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		try (ZipInputStream entrada = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			ZipEntry fichero = entrada.getNextEntry();
+			assertEquals("cliente-" + id + ".ndjson", fichero.getName());
+			String ndjson = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue(ndjson.contains("\"tipo\":\"resumen\""), ndjson);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package manyWorker.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import manyWorker.entity.Actor;
+import manyWorker.entity.Categoria;
+import manyWorker.entity.Cliente;
+import manyWorker.entity.PerfilSocial;
+import manyWorker.entity.Roles;
+import manyWorker.entity.Solicitud;
+import manyWorker.entity.Tarea;
+import manyWorker.entity.Trabajador;
+
+// Serialización a JSON de una solicitud y de una tarea: el grafo de entidades completo (lo que devolvían los
+// controladores) frente a los records de respuesta, incluyendo la conversión entidad -> record.
+// Ejecutar con: mvn -Pbenchmarks test-compile exec:exec -Dbenchmarks.incluir=SerializacionJsonBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionJsonBenchmark {
+
+	// Misma configuración de partida que el ObjectMapper de Spring Boot
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private Solicitud solicitud;
+
+	private Tarea tarea;
+
+	@Setup
+	public void setup() {
+		Categoria categoria = new Categoria("240101-CATEGORIA01", "Fontanería", "Real Decreto 140/2003", true, null);
+
+		Cliente cliente = new Cliente();
+		rellenar(cliente, 10, "cliente", Roles.CLIENTE);
+		Trabajador trabajador = new Trabajador();
+		rellenar(trabajador, 20, "trabajador", Roles.TRABAJADOR);
+		trabajador.setNombreComercial("Reformas Pérez");
+
+		tarea = new Tarea("240101-0000000000001", LocalDate.now(), "Cambiar el grifo de la cocina y revisar el desagüe",
+				"Calle Mayor 1, Madrid", 120.0, LocalDate.now().plusDays(7), categoria, cliente);
+
+		solicitud = new Solicitud();
+		solicitud.setId(30);
+		solicitud.setFechaRegistro(LocalDateTime.now());
+		solicitud.setPrecioOfrecido(95.0);
+		solicitud.setComentario("Puedo ir el jueves por la mañana, llevo el material");
+		solicitud.setTrabajador(trabajador);
+		solicitud.setTarea(tarea);
+	}
+
+	private static void rellenar(Actor actor, int id, String username, Roles rol) {
+		actor.setId(id);
+		actor.setUsername(username);
+		actor.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZyZ1Yx6gk5W0Jj8c3z5Y7K");
+		actor.setRol(rol);
+		actor.setNombre("Nombre");
+		actor.setApellido("Apellido");
+		actor.setApellido2("Segundo");
+		actor.setCorreo(username + "@example.com");
+		actor.setTelefono("600000000");
+		actor.setDireccion("Calle Mayor 1, Madrid");
+		actor.setNumeroPerfiles(List.of(new PerfilSocial(username, "Instagram", "https://instagram.com/" + username),
+				new PerfilSocial(username, "LinkedIn", "https://linkedin.com/in/" + username)));
+	}
+
+	@Benchmark
+	public String solicitudEntidad() throws JsonProcessingException {
+		return mapper.writeValueAsString(solicitud);
+	}
+
+	@Benchmark
+	public String solicitudDetalle() throws JsonProcessingException {
+		return mapper.writeValueAsString(SolicitudDetalle.de(solicitud));
+	}
+
+	@Benchmark
+	public String tareaEntidad() throws JsonProcessingException {
+		return mapper.writeValueAsString(tarea);
+	}
+
+	@Benchmark
+	public String tareaDetalle() throws JsonProcessingException {
+		return mapper.writeValueAsString(TareaDetalle.de(tarea));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SerializacionJsonBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,83 @@
+package manyWorker.geo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+// rangosCercanos debe cubrir todo el círculo de búsqueda: se comprueba con puntos del interior y del borde
+// (cada grado de rumbo, a varias distancias), sobre todo donde la rejilla se deforma o da la vuelta
+class GeoCeldaTests {
+
+	private static final double[] FRACCIONES_RADIO = { 0, 0.25, 0.5, 0.75, 0.9999 };
+
+	// Celdas de todo el mundo: lo que devuelve rangosCercanos cuando no hay nivel de detalle más fino que sirva
+	private static final long TOTAL_CELDAS = 1L << (2 * GeoCelda.BITS_POR_EJE);
+
+	@Test
+	void cubreElCirculoJuntoAlAntimeridiano() {
+		comprobarCobertura(new Coordenadas(0, 179.999), 10);
+		comprobarCobertura(new Coordenadas(0, -179.999), 10);
+		comprobarCobertura(new Coordenadas(-16.5, 179.9), 50);
+		comprobarCobertura(new Coordenadas(65.0, -179.95), 25);
+		comprobarCobertura(new Coordenadas(-45.0, 180), 5);
+	}
+
+	// Junto al antimeridiano sigue bastando con la celda del centro y sus vecinas, no con el mundo entero
+	@Test
+	void antimeridianoSinRecurrirAlMundoEntero() {
+		List<long[]> rangos = GeoCelda.rangosCercanos(new Coordenadas(0, 179.999), 10);
+		assertTrue(celdas(rangos) < TOTAL_CELDAS / 1000, "Demasiadas celdas: " + celdas(rangos));
+		assertTrue(rangos.size() > 1, "El círculo cruza el antimeridiano: hacen falta rangos a ambos lados");
+	}
+
+	@Test
+	void cubreElCirculoCercaDeLosPolos() {
+		comprobarCobertura(new Coordenadas(89.99, 0), 5);
+		comprobarCobertura(new Coordenadas(-89.95, 120), 20);
+		comprobarCobertura(new Coordenadas(85, 45), 100);
+		comprobarCobertura(new Coordenadas(80, 179.9), 50);
+		comprobarCobertura(new Coordenadas(-78, -170), 300);
+		comprobarCobertura(new Coordenadas(90, 0), 1);
+	}
+
+	@Test
+	void cubreElCirculoEnLatitudesMedias() {
+		comprobarCobertura(new Coordenadas(40.4168, -3.7038), 0.5);
+		comprobarCobertura(new Coordenadas(40.4168, -3.7038), 15);
+		comprobarCobertura(new Coordenadas(28.1235, -15.4363), 200);
+	}
+
+	private static void comprobarCobertura(Coordenadas centro, double radioKm) {
+		List<long[]> rangos = GeoCelda.rangosCercanos(centro, radioKm);
+		for (double fraccion : FRACCIONES_RADIO) {
+			for (int rumbo = 0; rumbo < 360; rumbo++) {
+				Coordenadas punto = destino(centro, radioKm * fraccion, rumbo);
+				long celda = GeoCelda.codificar(punto);
+				if (rangos.stream().noneMatch(r -> celda >= r[0] && celda <= r[1])) {
+					fail("Centro " + centro + ", radio " + radioKm + " km: el punto " + punto + " (a "
+							+ String.format("%.3f", centro.distanciaKm(punto)) + " km, rumbo " + rumbo + ") queda fuera");
+				}
+			}
+		}
+	}
+
+	// Punto a distanciaKm del origen siguiendo el rumbo indicado, sobre la esfera
+	private static Coordenadas destino(Coordenadas origen, double distanciaKm, double rumboGrados) {
+		double angulo = distanciaKm / Coordenadas.RADIO_TIERRA_KM;
+		double rumbo = Math.toRadians(rumboGrados);
+		double lat1 = Math.toRadians(origen.latitud());
+		double lon1 = Math.toRadians(origen.longitud());
+		double lat2 = Math.asin(Math.sin(lat1) * Math.cos(angulo) + Math.cos(lat1) * Math.sin(angulo) * Math.cos(rumbo));
+		double lon2 = lon1 + Math.atan2(Math.sin(rumbo) * Math.sin(angulo) * Math.cos(lat1),
+				Math.cos(angulo) - Math.sin(lat1) * Math.sin(lat2));
+		double longitud = (Math.toDegrees(lon2) + 540) % 360 - 180;
+		return new Coordenadas(Math.max(-90, Math.min(90, Math.toDegrees(lat2))), longitud);
+	}
+
+	private static long celdas(List<long[]> rangos) {
+		return rangos.stream().mapToLong(r -> r[1] - r[0] + 1).sum();
+	}
+}
@@ -0,0 +1,70 @@
+package manyWorker.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// Qué fuente gana cuando en una dirección encajan varias: coordenadas escritas, municipio o código postal
+class GeocodificadorLocalTests {
+
+	private static final Coordenadas MADRID = new Coordenadas(40.4168, -3.7038);
+	private static final Coordenadas BARCELONA = new Coordenadas(41.3874, 2.1686);
+	private static final Coordenadas SALAMANCA = new Coordenadas(40.9701, -5.6635);
+	private static final Coordenadas SEVILLA = new Coordenadas(37.3891, -5.9845);
+	private static final Coordenadas VALENCIA = new Coordenadas(39.4699, -0.3763);
+	private static final Coordenadas GETAFE = new Coordenadas(40.3083, -3.7327);
+	private static final Coordenadas ALCORCON = new Coordenadas(40.3458, -3.8249);
+	private static final Coordenadas DOS_HERMANAS = new Coordenadas(37.2836, -5.9209);
+
+	private static GeocodificadorLocal geocodificador;
+
+	@BeforeAll
+	static void cargar() throws IOException {
+		geocodificador = new GeocodificadorLocal();
+		geocodificador.cargar();
+	}
+
+	@Test
+	void lasCoordenadasEscritasGananAlMunicipioYAlCodigoPostal() {
+		assertEquals(Optional.of(BARCELONA), geocodificador.geocodificar("Calle Mayor 1, 28013 Madrid (41.3874, 2.1686)"));
+	}
+
+	@Test
+	void coordenadasNoValidasSeIgnoran() {
+		assertEquals(Optional.of(SEVILLA), geocodificador.geocodificar("Nave 95.5, 200.25 Polígono Norte, Sevilla"));
+	}
+
+	// El municipio que aparece más al final es el de la dirección; los anteriores suelen ser nombres de calle
+	@Test
+	void ganaElMunicipioMasAlFinal() {
+		assertEquals(Optional.of(VALENCIA), geocodificador.geocodificar("Calle Sevilla 3, Valencia"));
+		assertEquals(Optional.of(GETAFE), geocodificador.geocodificar("Avenida de Madrid 10, Getafe"));
+		assertEquals(Optional.of(SEVILLA), geocodificador.geocodificar("Calle Valencia 7, SEVILLA"));
+	}
+
+	// Con código postal solo cuentan los municipios de su provincia, aunque otro aparezca más al final
+	@Test
+	void elCodigoPostalLimitaLosMunicipios() {
+		assertEquals(Optional.of(ALCORCON), geocodificador.geocodificar("Calle Valencia 2, 28921 Alcorcón"));
+		assertEquals(Optional.of(DOS_HERMANAS), geocodificador.geocodificar("Calle Madrid 1, 41700 Dos Hermanas"));
+		assertEquals(Optional.of(MADRID), geocodificador.geocodificar("Calle Toledo 5, 28005"));
+	}
+
+	// Si ningún municipio de la provincia del código postal aparece, se usa su capital
+	@Test
+	void sinMunicipioDeLaProvinciaSeUsaLaCapital() {
+		assertEquals(Optional.of(SALAMANCA), geocodificador.geocodificar("Plaza Mayor 1, 37002 Madrid"));
+	}
+
+	@Test
+	void sinNingunaFuente() {
+		assertTrue(geocodificador.geocodificar("Calle Falsa 123").isEmpty());
+		assertTrue(geocodificador.geocodificar("   ").isEmpty());
+		assertTrue(geocodificador.geocodificar(null).isEmpty());
+	}
+}
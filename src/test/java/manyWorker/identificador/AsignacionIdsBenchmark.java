@@ -0,0 +1,97 @@
+package manyWorker.identificador;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Mide filas/segundo según el tamaño de bloque de la secuencia en los dos caminos que más ids consumen:
+// - broadcast: INSERT ... SELECT por lotes de destinatarios con el mismo SQL que genera Hibernate para pooled-lo
+//   (un nextval cada <bloque> filas y el resto de ids por row_number);
+// - solicitud: una inserción por transacción, como POST /solicitudes, pidiendo un bloque a la secuencia cuando se agota.
+// Necesita una base de datos PostgreSQL; por defecto la de application.properties:
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=manyWorker.identificador.AsignacionIdsBenchmark
+//     [-Dfilas=200000] [-Dlote=1000] [-Durl=jdbc:postgresql://localhost:5432/manyWorker] [-Dusuario=postgres] [-Dclave=password]
+public class AsignacionIdsBenchmark {
+
+	private static final int[] BLOQUES = { 1, 50, 500, 1000 };
+
+	public static void main(String[] args) throws SQLException {
+		int filas = Integer.getInteger("filas", 200_000);
+		int lote = Integer.getInteger("lote", 1000);
+		String url = System.getProperty("url", "jdbc:postgresql://localhost:5432/manyWorker");
+		try (Connection conexion = DriverManager.getConnection(url, System.getProperty("usuario", "postgres"),
+				System.getProperty("clave", "password"))) {
+			conexion.setAutoCommit(false);
+			for (int bloque : BLOQUES) {
+				preparar(conexion, bloque);
+				double broadcast = broadcast(conexion, bloque, filas, lote);
+				preparar(conexion, bloque);
+				// Una transacción por fila es mucho más lenta; basta con una fracción para ver la tendencia
+				double solicitud = solicitud(conexion, filas / 10);
+				System.out.printf("bloque %5d: broadcast %,10.0f filas/s, solicitud %,8.0f filas/s%n", bloque,
+						broadcast, solicitud);
+			}
+			ejecutar(conexion, "DROP TABLE IF EXISTS bench_ids", "DROP SEQUENCE IF EXISTS bench_ids_seq");
+		}
+	}
+
+	private static void preparar(Connection conexion, int bloque) throws SQLException {
+		ejecutar(conexion, "DROP TABLE IF EXISTS bench_ids", "DROP SEQUENCE IF EXISTS bench_ids_seq",
+				"CREATE SEQUENCE bench_ids_seq INCREMENT BY " + bloque,
+				"CREATE UNLOGGED TABLE bench_ids (id integer PRIMARY KEY, destinatario integer, asunto varchar(255))");
+	}
+
+	private static double broadcast(Connection conexion, int bloque, int filas, int lote) throws SQLException {
+		String sql = "WITH base AS MATERIALIZED (SELECT g AS destinatario, row_number() OVER () AS rn FROM generate_series(?, ?) g), "
+				+ "siguientes AS MATERIALIZED (SELECT rn, nextval('bench_ids_seq') AS id FROM base WHERE (rn - 1) % " + bloque + " = 0) "
+				+ "INSERT INTO bench_ids SELECT s.id + (b.rn - s.rn), b.destinatario, 'broadcast' "
+				+ "FROM base b JOIN siguientes s ON b.rn - (b.rn - 1) % " + bloque + " = s.rn";
+		long inicio = System.nanoTime();
+		try (PreparedStatement insert = conexion.prepareStatement(sql)) {
+			for (int desde = 1; desde <= filas; desde += lote) {
+				insert.setInt(1, desde);
+				insert.setInt(2, Math.min(filas, desde + lote - 1));
+				insert.executeUpdate();
+				conexion.commit();
+			}
+		}
+		return filas / ((System.nanoTime() - inicio) / 1e9);
+	}
+
+	private static double solicitud(Connection conexion, int filas) throws SQLException {
+		int siguiente = 0;
+		int restantes = 0;
+		long inicio = System.nanoTime();
+		try (PreparedStatement nextval = conexion.prepareStatement("SELECT nextval('bench_ids_seq'), "
+				+ "(SELECT increment_by FROM pg_sequences WHERE sequencename = 'bench_ids_seq')");
+				PreparedStatement insert = conexion.prepareStatement("INSERT INTO bench_ids VALUES (?, ?, 'solicitud')")) {
+			for (int i = 1; i <= filas; i++) {
+				if (restantes == 0) {
+					try (ResultSet rs = nextval.executeQuery()) {
+						rs.next();
+						siguiente = rs.getInt(1);
+						restantes = rs.getInt(2);
+					}
+				}
+				insert.setInt(1, siguiente++);
+				insert.setInt(2, i);
+				insert.executeUpdate();
+				restantes--;
+				conexion.commit();
+			}
+		}
+		return filas / ((System.nanoTime() - inicio) / 1e9);
+	}
+
+	private static void ejecutar(Connection conexion, String... sentencias) throws SQLException {
+		try (Statement st = conexion.createStatement()) {
+			for (String sentencia : sentencias) {
+				st.execute(sentencia);
+			}
+		}
+		conexion.commit();
+	}
+}
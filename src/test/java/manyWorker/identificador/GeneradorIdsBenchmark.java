@@ -0,0 +1,77 @@
+package manyWorker.identificador;
+
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import manyWorker.entity.Categoria;
+import manyWorker.entity.Tarea;
+
+// Coste de generar un id con el esquema anterior (UUID aleatorio) y con GeneradorIdsTemporal, con uno y con cuatro hilos,
+// y el @PrePersist completo de Tarea y Categoria con el generador por defecto de Identificadores.
+// Ejecutar con: mvn -Pbenchmarks test-compile exec:exec -Dbenchmarks.incluir=GeneradorIdsBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneradorIdsBenchmark {
+
+	private final GeneradorIds aleatorio = new GeneradorIdsAleatorio();
+
+	private final GeneradorIds temporal = new GeneradorIdsTemporal(1, ZoneId.systemDefault());
+
+	@Benchmark
+	public String aleatorio() {
+		return aleatorio.siguiente();
+	}
+
+	@Benchmark
+	public String temporal() {
+		return temporal.siguiente();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String aleatorioConcurrente() {
+		return aleatorio.siguiente();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public String temporalConcurrente() {
+		return temporal.siguiente();
+	}
+
+	@Benchmark
+	public String tarea() {
+		Tarea tarea = new Tarea();
+		tarea.generarId();
+		return tarea.getId();
+	}
+
+	@Benchmark
+	public String categoria() {
+		Categoria categoria = new Categoria();
+		categoria.generarId();
+		return categoria.getId();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GeneradorIdsBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,104 @@
+package manyWorker.identificador;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class GeneradorIdsTemporalTests {
+
+	private static final ZoneId MADRID = ZoneId.of("Europe/Madrid");
+
+	// Varios hilos a la vez: cada uno recibe ids crecientes y ninguno se repite entre hilos
+	@Test
+	void idsUnicosYCrecientesConVariosHilos() throws Exception {
+		GeneradorIdsTemporal generador = new GeneradorIdsTemporal(7, MADRID);
+		int hilos = 8;
+		int porHilo = 20_000;
+		ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+		try {
+			List<Callable<List<String>>> tareas = new ArrayList<>();
+			for (int h = 0; h < hilos; h++) {
+				tareas.add(() -> {
+					List<String> ids = new ArrayList<>(porHilo);
+					for (int i = 0; i < porHilo; i++) {
+						ids.add(generador.siguiente());
+					}
+					return ids;
+				});
+			}
+			Set<String> todos = new HashSet<>();
+			for (Future<List<String>> resultado : ejecutor.invokeAll(tareas)) {
+				List<String> ids = resultado.get();
+				for (int i = 1; i < ids.size(); i++) {
+					assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+				}
+				todos.addAll(ids);
+			}
+			assertEquals(hilos * porHilo, todos.size());
+		} finally {
+			ejecutor.shutdownNow();
+		}
+	}
+
+	// Si el reloj retrocede se sigue desde el último id entregado, en el mismo milisegundo, hasta que lo alcanza
+	@Test
+	void relojQueRetrocede() {
+		AtomicLong ahora = new AtomicLong(Instant.parse("2025-06-01T10:00:00Z").toEpochMilli());
+		GeneradorIdsTemporal generador = new GeneradorIdsTemporal(1, MADRID, ahora::get);
+
+		String antes = generador.siguiente();
+		ahora.addAndGet(-5_000);
+		String retrocedido = generador.siguiente();
+		assertTrue(antes.compareTo(retrocedido) < 0, antes + " >= " + retrocedido);
+		assertEquals(GeneradorIdsTemporal.instante(antes), GeneradorIdsTemporal.instante(retrocedido));
+
+		ahora.addAndGet(10_000);
+		String recuperado = generador.siguiente();
+		assertTrue(retrocedido.compareTo(recuperado) < 0, retrocedido + " >= " + recuperado);
+		assertEquals(Instant.ofEpochMilli(ahora.get()), GeneradorIdsTemporal.instante(recuperado));
+	}
+
+	// Agotadas las 4096 secuencias de un milisegundo se pasa al siguiente sin esperar al reloj
+	@Test
+	void secuenciasAgotadasEnUnMilisegundo() {
+		long ms = Instant.parse("2025-06-01T10:00:00Z").toEpochMilli();
+		GeneradorIdsTemporal generador = new GeneradorIdsTemporal(1, MADRID, () -> ms);
+
+		String anterior = generador.siguiente();
+		for (int i = 1; i < 4096; i++) {
+			String id = generador.siguiente();
+			assertTrue(anterior.compareTo(id) < 0, anterior + " >= " + id);
+			anterior = id;
+		}
+		assertEquals(Instant.ofEpochMilli(ms), GeneradorIdsTemporal.instante(anterior));
+		String siguiente = generador.siguiente();
+		assertTrue(anterior.compareTo(siguiente) < 0, anterior + " >= " + siguiente);
+		assertEquals(Instant.ofEpochMilli(ms + 1), GeneradorIdsTemporal.instante(siguiente));
+	}
+
+	// instante() devuelve el milisegundo con el que se generó el id, y el prefijo es su fecha en la zona indicada
+	@Test
+	void instanteIdaYVuelta() {
+		for (String texto : List.of("2024-01-01T00:00:00Z", "2025-03-29T23:30:00.123Z", "2026-10-17T21:59:59.999Z",
+				"2069-09-06T15:47:35.551Z")) {
+			Instant instante = Instant.parse(texto);
+			String id = new GeneradorIdsTemporal(GeneradorIdsTemporal.MAX_NODO, MADRID, instante::toEpochMilli).siguiente();
+			assertEquals(instante, GeneradorIdsTemporal.instante(id), id);
+			String fecha = instante.atZone(MADRID).toLocalDate().toString();
+			assertEquals(fecha.substring(2, 4) + fecha.substring(5, 7) + fecha.substring(8, 10) + "-", id.substring(0, 7), id);
+		}
+	}
+}
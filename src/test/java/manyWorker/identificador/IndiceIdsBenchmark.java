@@ -0,0 +1,58 @@
+package manyWorker.identificador;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneId;
+
+// Inserta las mismas filas en dos tablas temporales con clave primaria de texto, una con cada generador,
+// y compara filas/segundo, tamaño del índice y colisiones de clave (el esquema anterior solo tiene 2^24 valores por día).
+// Necesita una base de datos PostgreSQL; por defecto la de application.properties:
+// mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=manyWorker.identificador.IndiceIdsBenchmark
+//     [-Dfilas=1000000] [-Durl=jdbc:postgresql://localhost:5432/manyWorker] [-Dusuario=postgres] [-Dclave=password]
+public class IndiceIdsBenchmark {
+
+	private static final int LOTE = 1000;
+
+	public static void main(String[] args) throws SQLException {
+		int filas = Integer.getInteger("filas", 1_000_000);
+		String url = System.getProperty("url", "jdbc:postgresql://localhost:5432/manyWorker");
+		try (Connection conexion = DriverManager.getConnection(url, System.getProperty("usuario", "postgres"),
+				System.getProperty("clave", "password"))) {
+			conexion.setAutoCommit(false);
+			medir(conexion, "aleatorio", new GeneradorIdsAleatorio(), filas);
+			medir(conexion, "temporal", new GeneradorIdsTemporal(1, ZoneId.systemDefault()), filas);
+		}
+	}
+
+	private static void medir(Connection conexion, String nombre, GeneradorIds generador, int filas) throws SQLException {
+		try (Statement st = conexion.createStatement()) {
+			st.execute("CREATE TEMP TABLE ids_" + nombre + " (id varchar(255) PRIMARY KEY, relleno varchar(100)) ON COMMIT DROP");
+		}
+		int colisiones = 0;
+		long inicio = System.nanoTime();
+		try (PreparedStatement insert = conexion.prepareStatement(
+				"INSERT INTO ids_" + nombre + " VALUES (?, 'tarea de prueba') ON CONFLICT DO NOTHING")) {
+			for (int i = 1; i <= filas; i++) {
+				insert.setString(1, generador.siguiente());
+				insert.addBatch();
+				if (i % LOTE == 0 || i == filas) {
+					for (int resultado : insert.executeBatch()) {
+						colisiones += resultado == 0 ? 1 : 0;
+					}
+				}
+			}
+		}
+		double segundos = (System.nanoTime() - inicio) / 1e9;
+		try (Statement st = conexion.createStatement();
+				ResultSet rs = st.executeQuery("SELECT pg_relation_size('ids_" + nombre + "_pkey')")) {
+			rs.next();
+			System.out.printf("%-10s %,10d filas en %6.2f s (%,9.0f filas/s), índice %,8d KB, colisiones %,d%n", nombre,
+					filas, segundos, filas / segundos, rs.getLong(1) / 1024, colisiones);
+		}
+		conexion.commit();
+	}
+}
@@ -0,0 +1,74 @@
+package manyWorker.monitorizacion;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import manyWorker.PostgresEmbebido;
+import manyWorker.repository.ClienteRepository;
+
+// Presupuesto SQL estricto de extremo a extremo, con un presupuesto de una sentencia por petición:
+// - el login de un usuario que no existe hace una sola consulta y responde con normalidad;
+// - el alta de un cliente necesita varias: la sentencia que se pasa falla, la petición termina en error y la
+//   transacción se deshace sin dejar el cliente guardado.
+// Corre sobre PostgresEmbebido, no sobre la base de datos de application.properties.
+@SpringBootTest(properties = { "manyworker.sql.presupuesto=1", "manyworker.sql.presupuesto-estricto=true" })
+@AutoConfigureMockMvc
+class PresupuestoSqlTests {
+
+	@DynamicPropertySource
+	static void baseDeDatos(DynamicPropertyRegistry registro) {
+		PostgresEmbebido.configurar(registro);
+	}
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private ClienteRepository clienteRepository;
+
+	@Test
+	void peticionDentroDelPresupuesto() throws Exception {
+		mockMvc.perform(post("/actor/login").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + usernameNuevo() + "\",\"password\":\"pw\"}"))
+				.andExpect(status().isUnauthorized());
+
+		assertEquals(1, registry.get("manyworker.sql.sentencias")
+				.tags("controlador", "ActorController", "metodo", "login").summary().max());
+	}
+
+	@Test
+	void peticionQueExcedeElPresupuesto() throws Exception {
+		String username = usernameNuevo();
+		mockMvc.perform(post("/cliente").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"pw\",\"nombre\":\"Ana\",\"apellido\":\"Ruiz\","
+						+ "\"correo\":\"" + username + "@example.com\",\"telefono\":\"600000000\","
+						+ "\"direccion\":\"Calle Mayor 1\"}"))
+				.andExpect(status().isInternalServerError())
+				.andExpect(content().string(containsString("Presupuesto SQL excedido")));
+
+		assertTrue(clienteRepository.findByUsername(username).isEmpty(), "El alta no debe quedar guardada");
+	}
+
+	private static String usernameNuevo() {
+		return "presupuesto" + ThreadLocalRandom.current().nextInt(1_000_000);
+	}
+}
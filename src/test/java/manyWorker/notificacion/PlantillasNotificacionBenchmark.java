@@ -0,0 +1,63 @@
+package manyWorker.notificacion;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+// Construcción de los mensajes de un cambio de estado de solicitud, como SolicitudService.notificarCambioEstado:
+// asunto y cuerpo para el cliente y para el trabajador a partir de las plantillas compiladas.
+// Ejecutar con: mvn -Pbenchmarks test-compile exec:exec -Dbenchmarks.incluir=PlantillasNotificacionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlantillasNotificacionBenchmark {
+
+	private RegistroPlantillas registro;
+
+	private String[] valores;
+
+	@Setup
+	public void setup() throws Exception {
+		registro = new RegistroPlantillas();
+		ReflectionTestUtils.setField(registro, "localePorDefecto", "es");
+		registro.cargar();
+
+		valores = VariablePlantilla.valores();
+		valores[VariablePlantilla.NOMBRE_CLIENTE.ordinal()] = "María García";
+		valores[VariablePlantilla.NOMBRE_TRABAJADOR.ordinal()] = "Juan Pérez";
+		valores[VariablePlantilla.DESCRIPCION_TAREA.ordinal()] = "Reparar la persiana del salón, que no sube del todo";
+		valores[VariablePlantilla.PRECIO.ordinal()] = "85.0";
+		valores[VariablePlantilla.COMENTARIO.ordinal()] = "Puedo ir mañana por la tarde con el motor de repuesto";
+	}
+
+	@Benchmark
+	public void cambioEstado(Blackhole bh) {
+		for (ReceptorNotificacion receptor : ReceptorNotificacion.values()) {
+			if (registro.tiene(TipoNotificacion.SOLICITUD_ACEPTADA, receptor)) {
+				bh.consume(registro.asunto(TipoNotificacion.SOLICITUD_ACEPTADA, receptor, null, valores));
+				bh.consume(registro.cuerpo(TipoNotificacion.SOLICITUD_ACEPTADA, receptor, null, valores));
+			}
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PlantillasNotificacionBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,60 @@
+package manyWorker.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Coste de BCrypt según el factor de trabajo: comprobar es lo que paga cada login, codificar cada alta o cambio
+// de contraseña. SecurityConfiguration usa el valor por defecto (10); cada punto más duplica el tiempo.
+// Ejecutar con: mvn -Pbenchmarks test-compile exec:exec -Dbenchmarks.incluir=BCryptBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+	private static final String CLAVE = "clave-de-prueba-2024";
+
+	@Param({ "8", "10", "12" })
+	private int coste;
+
+	private BCryptPasswordEncoder encoder;
+
+	private String hash;
+
+	@Setup
+	public void setup() {
+		encoder = new BCryptPasswordEncoder(coste);
+		hash = encoder.encode(CLAVE);
+	}
+
+	@Benchmark
+	public boolean comprobar() {
+		return encoder.matches(CLAVE, hash);
+	}
+
+	@Benchmark
+	public String codificar() {
+		return encoder.encode(CLAVE);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BCryptBenchmark.class.getSimpleName()).build()).run();
+	}
+}
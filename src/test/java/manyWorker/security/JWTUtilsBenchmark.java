@@ -0,0 +1,85 @@
+package manyWorker.security;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+
+// Compara el doble parseo anterior (validateToken + getUsernameOfToken) con JWTUtils.verificar,
+// y mide generateToken (el token del login; no depende de claimsExtra).
+// Ejecutar con: mvn -Pbenchmarks test-compile exec:exec -Dbenchmarks.incluir=JWTUtilsBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTUtilsBenchmark {
+
+	private static final String JWT_FIRMA = "ManyWorker";
+
+	// 0 = token real de login (sub, iat, exp, rol); el resto añade claims para simular tokens más grandes
+	@Param({ "0", "8", "32" })
+	private int claimsExtra;
+
+	private String token;
+
+	private JWTUtils jwtUtils;
+
+	private Authentication authentication;
+
+	@Setup
+	public void setup() {
+		Date ahora = new Date();
+		JwtBuilder builder = Jwts.builder().setSubject("trabajador_benchmark").setIssuedAt(ahora)
+				.setExpiration(new Date(ahora.getTime() + 86400 * 1000L)).claim("rol", "TRABAJADOR");
+		for (int i = 0; i < claimsExtra; i++) {
+			builder.claim("extra" + i, "valor-de-relleno-" + i);
+		}
+		token = builder.signWith(SignatureAlgorithm.HS512, JWT_FIRMA).compact();
+		jwtUtils = new JWTUtils();
+		authentication = new UsernamePasswordAuthenticationToken("trabajador_benchmark", null,
+				List.of(new SimpleGrantedAuthority("TRABAJADOR")));
+	}
+
+	@Benchmark
+	public String dobleParseo() {
+		Jwts.parser().setSigningKey(JWT_FIRMA).parseClaimsJws(token);
+		return Jwts.parser().setSigningKey(JWT_FIRMA).parseClaimsJws(token).getBody().getSubject();
+	}
+
+	@Benchmark
+	public String parseoUnico() {
+		return jwtUtils.verificar(token).getUsername();
+	}
+
+	@Benchmark
+	public String generar() {
+		return jwtUtils.generateToken(authentication);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JWTUtilsBenchmark.class.getSimpleName()).build()).run();
+	}
+}